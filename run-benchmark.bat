@@ -14,7 +14,7 @@ if %ERRORLEVEL% NEQ 0 (
 )
 
 REM Build the project
-echo [1/3] Building project...
+echo [1/4] Building project...
 call mvn clean package -q
 
 if %ERRORLEVEL% NEQ 0 (
@@ -26,7 +26,7 @@ echo [SUCCESS] Build successful
 echo.
 
 REM Run benchmarks
-echo [2/3] Running benchmarks...
+echo [2/4] Running benchmarks...
 echo This may take several minutes...
 echo.
 
@@ -34,7 +34,7 @@ REM Create results directory if not exists
 if not exist results mkdir results
 
 REM Run all benchmarks and save results
-java -jar target/benchmarks.jar -rf json -rff results/benchmark-results.json
+java -jar target/benchmarks.jar -prof gc -rf json -rff results/benchmark-results.json
 
 if %ERRORLEVEL% NEQ 0 (
     echo Benchmark execution failed.
@@ -45,15 +45,29 @@ echo.
 echo [SUCCESS] Benchmarks completed
 echo.
 
+REM Compare allocations with the stored baseline, or create the baseline on the first run
+echo [3/4] Checking allocations...
+set BASELINE_EXISTED=0
+if exist results\allocation-baseline.json set BASELINE_EXISTED=1
+java -cp target/benchmarks.jar com.easyquery.benchmark.report.AllocationReport results/benchmark-results.json
+set ALLOCATION_STATUS=%ERRORLEVEL%
+echo.
+
 REM Display results summary
-echo [3/3] Results saved to:
+echo [4/4] Results saved to:
 echo   - results/benchmark-results.json
+if %BASELINE_EXISTED%==1 (
+    echo   - results/allocation-comparison.json
+) else if %ALLOCATION_STATUS%==0 (
+    echo   - results/allocation-baseline.json ^(baseline created, nothing compared^)
+)
 echo.
 echo To view detailed results:
 echo   1. Visit http://jmh.morethan.io/
 echo   2. Upload results/benchmark-results.json
 echo.
 echo Done!
+exit /b %ALLOCATION_STATUS%
 
 
 
@@ -20,7 +20,7 @@ then
 fi
 
 # Build the project
-echo -e "${BLUE}[1/3] Building project...${NC}"
+echo -e "${BLUE}[1/4] Building project...${NC}"
 mvn clean package -q
 
 if [ $? -ne 0 ]; then
@@ -32,7 +32,7 @@ echo -e "${GREEN}✓ Build successful${NC}"
 echo ""
 
 # Run benchmarks
-echo -e "${BLUE}[2/3] Running benchmarks...${NC}"
+echo -e "${BLUE}[2/4] Running benchmarks...${NC}"
 echo "This may take several minutes..."
 echo ""
 
@@ -40,7 +40,7 @@ echo ""
 mkdir -p results
 
 # Run all benchmarks and save results
-java -jar target/benchmarks.jar -rf json -rff results/benchmark-results.json
+java -jar target/benchmarks.jar -prof gc -rf json -rff results/benchmark-results.json
 
 if [ $? -ne 0 ]; then
     echo "Benchmark execution failed."
@@ -51,15 +51,32 @@ echo ""
 echo -e "${GREEN}✓ Benchmarks completed${NC}"
 echo ""
 
+# Compare allocations with the stored baseline, or create the baseline on the first run
+echo -e "${BLUE}[3/4] Checking allocations...${NC}"
+if [ -f results/allocation-baseline.json ]; then
+    BASELINE_EXISTED=1
+else
+    BASELINE_EXISTED=0
+fi
+java -cp target/benchmarks.jar com.easyquery.benchmark.report.AllocationReport results/benchmark-results.json
+ALLOCATION_STATUS=$?
+echo ""
+
 # Display results summary
-echo -e "${BLUE}[3/3] Results saved to:${NC}"
+echo -e "${BLUE}[4/4] Results saved to:${NC}"
 echo "  - results/benchmark-results.json"
+if [ $BASELINE_EXISTED -eq 1 ]; then
+    echo "  - results/allocation-comparison.json"
+elif [ $ALLOCATION_STATUS -eq 0 ]; then
+    echo "  - results/allocation-baseline.json (baseline created, nothing compared)"
+fi
 echo ""
 echo "To view detailed results:"
 echo "  1. Visit http://jmh.morethan.io/"
 echo "  2. Upload results/benchmark-results.json"
 echo ""
 echo -e "${GREEN}Done!${NC}"
+exit $ALLOCATION_STATUS
 
 
 
@@ -0,0 +1,304 @@
+package com.easyquery.benchmark;
+
+import com.easyquery.benchmark.dto.AgeReport;
+import com.easyquery.benchmark.dto.TopOrder;
+import com.easyquery.benchmark.dto.UserOrderStats;
+import com.easyquery.benchmark.entity.Order;
+import com.easyquery.benchmark.hibernate.HibernateUtil;
+import com.easyquery.benchmark.jdbc.JdbcCounters;
+import com.easyquery.benchmark.jdbc.PoolType;
+import com.easy.query.api.proxy.client.DefaultEasyEntityQuery;
+import com.easy.query.core.proxy.sql.GroupKeys;
+import com.easy.query.core.proxy.sql.Select;
+import jakarta.persistence.EntityManager;
+import org.jooq.CommonTableExpression;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record2;
+import org.jooq.Record4;
+import org.jooq.Table;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.easyquery.benchmark.jooq.generated.Tables.T_ORDER;
+import static com.easyquery.benchmark.jooq.generated.Tables.T_USER;
+import static org.jooq.impl.DSL.avg;
+import static org.jooq.impl.DSL.count;
+import static org.jooq.impl.DSL.max;
+import static org.jooq.impl.DSL.name;
+import static org.jooq.impl.DSL.partitionBy;
+import static org.jooq.impl.DSL.rowNumber;
+import static org.jooq.impl.DSL.select;
+import static org.jooq.impl.DSL.sum;
+
+/**
+ * Dashboard style queries over t_user and t_order, each mapped into a DTO:
+ * <ul>
+ *   <li>{@code GroupByHaving}: order count, sum and average per user for users with at least 4 orders,
+ *   the 20 largest totals</li>
+ *   <li>{@code TopOrdersPerUser}: the 2 largest orders of every user of one age, ranked with
+ *   {@code ROW_NUMBER() OVER (PARTITION BY user_id ...)}</li>
+ *   <li>{@code CteReport}: a {@code WITH} clause computes the total per user, the report aggregates the
+ *   totals per age</li>
+ * </ul>
+ * easy-query's typed API has no window functions or CTEs, so it runs those two as native SQL.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 10, time = 3)
+@Fork(3)
+@Threads(1)
+public class AnalyticsBenchmark {
+
+    private static final long MIN_ORDERS = 4;
+    private static final int TOP_USERS = 20;
+    private static final int TOP_ORDERS = 2;
+    private static final int AGE = 30;
+
+    private static final String GROUP_BY_HAVING_SQL =
+            "SELECT user_id, COUNT(*) AS order_count, SUM(amount) AS total_amount, AVG(amount) AS avg_amount " +
+            "FROM t_order GROUP BY user_id HAVING COUNT(*) >= ? ORDER BY SUM(amount) DESC LIMIT ?";
+    private static final String TOP_ORDERS_SQL =
+            "SELECT user_id, order_no, amount, order_rank FROM (" +
+            "SELECT o.user_id, o.order_no, o.amount, " +
+            "ROW_NUMBER() OVER (PARTITION BY o.user_id ORDER BY o.amount DESC) AS order_rank " +
+            "FROM t_order o INNER JOIN t_user u ON u.id = o.user_id WHERE u.age = ?) ranked " +
+            "WHERE order_rank <= ?";
+    private static final String CTE_REPORT_SQL =
+            "WITH user_totals AS (SELECT user_id, SUM(amount) AS total FROM t_order GROUP BY user_id) " +
+            "SELECT u.age, COUNT(*) AS user_count, AVG(t.total) AS avg_total, MAX(t.total) AS max_total " +
+            "FROM t_user u INNER JOIN user_totals t ON t.user_id = u.id GROUP BY u.age ORDER BY u.age";
+
+    /**
+     * Number of users in t_user, each with 3.5 orders on average.
+     */
+    @Param({"1000", "10000", "100000"})
+    public int userCount;
+
+    /**
+     * Installs the framework listeners that feed the phase timing profiler
+     * ({@code -prof com.easyquery.benchmark.phase.PhaseProfiler}).
+     */
+    @Param({"false"})
+    public boolean phaseTiming;
+
+    /**
+     * Connection pool behind {@link DatabaseInitializer#getDataSource()}, see {@link PoolType}.
+     */
+    @Param({"HIKARI"})
+    public PoolType pool;
+
+    /**
+     * Maximum number of pooled connections, ignored by {@link PoolType#UNPOOLED}.
+     */
+    @Param({"10"})
+    public int poolSize;
+
+    private DataSource dataSource;
+    private DefaultEasyEntityQuery easyEntityQuery;
+    private DSLContext jooqDsl;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private EntityManager entityManager;
+
+        @Setup(Level.Trial)
+        public void setup(AnalyticsBenchmark benchmark) {
+            entityManager = HibernateUtil.createEntityManager(benchmark.phaseTiming);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (entityManager != null && entityManager.isOpen()) {
+                entityManager.close();
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        DatabaseInitializer.configurePool(pool, poolSize);
+        DatabaseInitializer.getDataSource();
+        DatabaseInitializer.clearData();
+
+        easyEntityQuery = BenchmarkClients.easyEntityQuery(DatabaseInitializer.getDataSource(), phaseTiming);
+
+        jooqDsl = BenchmarkClients.jooq(DatabaseInitializer.getDataSource(), phaseTiming);
+
+        dataSource = DatabaseInitializer.getDataSource();
+
+        FixtureLoader.loadUsersAndOrders(userCount, i -> 20 + (i % 50));
+    }
+
+    @Benchmark
+    public List<UserOrderStats> easyQueryGroupByHaving(JdbcCounters counters) {
+        return easyEntityQuery.queryable(Order.class)
+                .groupBy(o -> GroupKeys.of(o.userId()))
+                .having(group -> group.count().ge(MIN_ORDERS))
+                .orderBy(group -> group.groupTable().amount().sum().desc())
+                .limit(TOP_USERS)
+                .select(UserOrderStats.class, group -> Select.of(
+                        group.key1().as(UserOrderStats::getUserId),
+                        group.count().as(UserOrderStats::getOrderCount),
+                        group.groupTable().amount().sum().as(UserOrderStats::getTotalAmount),
+                        group.groupTable().amount().avg().as(UserOrderStats::getAvgAmount)))
+                .toList();
+    }
+
+    @Benchmark
+    public List<TopOrder> easyQueryTopOrdersPerUser(JdbcCounters counters) {
+        return easyEntityQuery.sqlQuery(TOP_ORDERS_SQL, TopOrder.class, List.<Object>of(AGE, TOP_ORDERS));
+    }
+
+    @Benchmark
+    public List<AgeReport> easyQueryCteReport(JdbcCounters counters) {
+        return easyEntityQuery.sqlQuery(CTE_REPORT_SQL, AgeReport.class);
+    }
+
+    @Benchmark
+    public List<UserOrderStats> jooqGroupByHaving(JdbcCounters counters) {
+        return jooqDsl.select(
+                        T_ORDER.USER_ID,
+                        count().as("order_count"),
+                        sum(T_ORDER.AMOUNT).as("total_amount"),
+                        avg(T_ORDER.AMOUNT).as("avg_amount"))
+                .from(T_ORDER)
+                .groupBy(T_ORDER.USER_ID)
+                .having(count().ge((int) MIN_ORDERS))
+                .orderBy(sum(T_ORDER.AMOUNT).desc())
+                .limit(TOP_USERS)
+                .fetchInto(UserOrderStats.class);
+    }
+
+    @Benchmark
+    public List<TopOrder> jooqTopOrdersPerUser(JdbcCounters counters) {
+        Table<Record4<String, String, BigDecimal, Integer>> ranked = select(
+                        T_ORDER.USER_ID,
+                        T_ORDER.ORDER_NO,
+                        T_ORDER.AMOUNT,
+                        rowNumber().over(partitionBy(T_ORDER.USER_ID).orderBy(T_ORDER.AMOUNT.desc())).as("order_rank"))
+                .from(T_ORDER)
+                .join(T_USER).on(T_USER.ID.eq(T_ORDER.USER_ID))
+                .where(T_USER.AGE.eq(AGE))
+                .asTable("ranked");
+        return jooqDsl.selectFrom(ranked)
+                .where(ranked.field("order_rank", Integer.class).le(TOP_ORDERS))
+                .fetchInto(TopOrder.class);
+    }
+
+    @Benchmark
+    public List<AgeReport> jooqCteReport(JdbcCounters counters) {
+        CommonTableExpression<Record2<String, BigDecimal>> totals = name("user_totals").fields("user_id", "total")
+                .as(select(T_ORDER.USER_ID, sum(T_ORDER.AMOUNT))
+                        .from(T_ORDER)
+                        .groupBy(T_ORDER.USER_ID));
+        Field<BigDecimal> total = totals.field("total", BigDecimal.class);
+        return jooqDsl.with(totals)
+                .select(
+                        T_USER.AGE,
+                        count().as("user_count"),
+                        avg(total).as("avg_total"),
+                        max(total).as("max_total"))
+                .from(T_USER)
+                .join(totals).on(totals.field("user_id", String.class).eq(T_USER.ID))
+                .groupBy(T_USER.AGE)
+                .orderBy(T_USER.AGE)
+                .fetchInto(AgeReport.class);
+    }
+
+    @Benchmark
+    public List<UserOrderStats> hibernateGroupByHaving(ThreadState threadState, JdbcCounters counters) {
+        return threadState.entityManager.createQuery(
+                        "SELECT new com.easyquery.benchmark.dto.UserOrderStats(o.userId, COUNT(o), SUM(o.amount), AVG(o.amount)) " +
+                        "FROM HibernateOrder o GROUP BY o.userId HAVING COUNT(o) >= :minOrders ORDER BY SUM(o.amount) DESC",
+                        UserOrderStats.class)
+                .setParameter("minOrders", MIN_ORDERS)
+                .setMaxResults(TOP_USERS)
+                .getResultList();
+    }
+
+    @Benchmark
+    public List<TopOrder> hibernateTopOrdersPerUser(ThreadState threadState, JdbcCounters counters) {
+        return threadState.entityManager.createQuery(
+                        "SELECT new com.easyquery.benchmark.dto.TopOrder(r.userId, r.orderNo, r.amount, r.orderRank) FROM (" +
+                        "SELECT o.userId AS userId, o.orderNo AS orderNo, o.amount AS amount, " +
+                        "ROW_NUMBER() OVER (PARTITION BY o.userId ORDER BY o.amount DESC) AS orderRank " +
+                        "FROM HibernateOrder o JOIN HibernateUser u ON u.id = o.userId WHERE u.age = :age) r " +
+                        "WHERE r.orderRank <= :topOrders",
+                        TopOrder.class)
+                .setParameter("age", AGE)
+                .setParameter("topOrders", (long) TOP_ORDERS)
+                .getResultList();
+    }
+
+    @Benchmark
+    public List<AgeReport> hibernateCteReport(ThreadState threadState, JdbcCounters counters) {
+        return threadState.entityManager.createQuery(
+                        "WITH userTotals AS (SELECT o.userId AS userId, SUM(o.amount) AS total FROM HibernateOrder o GROUP BY o.userId) " +
+                        "SELECT new com.easyquery.benchmark.dto.AgeReport(u.age, COUNT(u), AVG(t.total), MAX(t.total)) " +
+                        "FROM userTotals t JOIN HibernateUser u ON u.id = t.userId GROUP BY u.age ORDER BY u.age",
+                        AgeReport.class)
+                .getResultList();
+    }
+
+    @Benchmark
+    public List<UserOrderStats> jdbcGroupByHaving(JdbcCounters counters) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(GROUP_BY_HAVING_SQL)) {
+            pstmt.setLong(1, MIN_ORDERS);
+            pstmt.setInt(2, TOP_USERS);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<UserOrderStats> stats = new ArrayList<>();
+                while (rs.next()) {
+                    stats.add(new UserOrderStats(rs.getString(1), rs.getLong(2), rs.getBigDecimal(3), rs.getDouble(4)));
+                }
+                return stats;
+            }
+        }
+    }
+
+    @Benchmark
+    public List<TopOrder> jdbcTopOrdersPerUser(JdbcCounters counters) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(TOP_ORDERS_SQL)) {
+            pstmt.setInt(1, AGE);
+            pstmt.setInt(2, TOP_ORDERS);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<TopOrder> orders = new ArrayList<>();
+                while (rs.next()) {
+                    orders.add(new TopOrder(rs.getString(1), rs.getString(2), rs.getBigDecimal(3), rs.getLong(4)));
+                }
+                return orders;
+            }
+        }
+    }
+
+    @Benchmark
+    public List<AgeReport> jdbcCteReport(JdbcCounters counters) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(CTE_REPORT_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+            List<AgeReport> report = new ArrayList<>();
+            while (rs.next()) {
+                report.add(new AgeReport(rs.getInt(1), rs.getLong(2), rs.getDouble(3), rs.getBigDecimal(4)));
+            }
+            return report;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DatabaseInitializer.clearData();
+    }
+}
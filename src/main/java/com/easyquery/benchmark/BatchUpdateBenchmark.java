@@ -0,0 +1,291 @@
+package com.easyquery.benchmark;
+
+import com.easyquery.benchmark.entity.User;
+import com.easyquery.benchmark.jooq.generated.tables.records.TUserRecord;
+import com.easyquery.benchmark.hibernate.HibernateUser;
+import com.easyquery.benchmark.hibernate.HibernateUtil;
+import com.easyquery.benchmark.jdbc.JdbcCounters;
+import com.easyquery.benchmark.jdbc.PoolType;
+import com.easy.query.api.proxy.client.DefaultEasyEntityQuery;
+import com.easy.query.core.basic.jdbc.tx.Transaction;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.easyquery.benchmark.jooq.generated.Tables.T_USER;
+
+/**
+ * Updates {@link #entityCount} loaded users by primary key in one transaction, each to a different
+ * age, as opposed to the single set based statement of {@link UpdateBenchmark}'s batch update.
+ * The score is batches/s; the {@code updatedRows} secondary metric is the same throughput in rows/s,
+ * and {@link JdbcCounters} reports the statements and batch entries sent. The update counts are
+ * checked on every operation; a batch entry reported as {@link Statement#SUCCESS_NO_INFO} counts as
+ * one row, and Hibernate checks the counts of its own batches.
+ * <p>
+ * Every thread loads its own users once and changes them before every update:
+ * <ul>
+ *   <li>easy-query: {@code updatable(list).batch(true)}, which writes every column</li>
+ *   <li>jOOQ: {@code batchUpdate} of attached records, which writes the changed age only</li>
+ *   <li>Hibernate: {@code merge} of the detached entities and one flush, with the session's JDBC
+ *   batch size set to {@link #entityCount} and {@code hibernate.order_updates}. Merge selects every
+ *   entity that is not in the persistence context, so {@code MultiLoad} first loads them all with
+ *   one {@code multiLoad} query.</li>
+ *   <li>JDBC: one {@code UPDATE t_user SET age = ? WHERE id = ?} batch</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 10, time = 3)
+@Fork(3)
+@Threads(1)
+public class BatchUpdateBenchmark {
+
+    private static final int MIN_AGE = 20;
+    private static final int AGE_COUNT = 100;
+
+    /**
+     * Users updated per operation.
+     */
+    @Param({"10", "100", "1000"})
+    public int entityCount;
+
+    /**
+     * Number of users in t_user. Every thread updates its own {@link #entityCount} of them.
+     */
+    @Param({"10000"})
+    public int userCount;
+
+    /**
+     * Installs the framework listeners that feed the phase timing profiler
+     * ({@code -prof com.easyquery.benchmark.phase.PhaseProfiler}).
+     */
+    @Param({"false"})
+    public boolean phaseTiming;
+
+    /**
+     * Connection pool behind {@link DatabaseInitializer#getDataSource()}, see {@link PoolType}.
+     */
+    @Param({"HIKARI"})
+    public PoolType pool;
+
+    /**
+     * Maximum number of pooled connections, ignored by {@link PoolType#UNPOOLED}.
+     */
+    @Param({"10"})
+    public int poolSize;
+
+    private DataSource dataSource;
+    private DefaultEasyEntityQuery easyEntityQuery;
+    private DSLContext jooqDsl;
+
+    /**
+     * Per-thread state so the benchmark can be run with more than one thread:
+     * every thread owns its EntityManager and the users it updates.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private EntityManager entityManager;
+        private List<String> userIds;
+        private List<User> users;
+        private List<TUserRecord> jooqRecords;
+        private List<HibernateUser> hibernateUsers;
+        // Shifts the age of every user on every operation
+        private int round;
+
+        @Setup(Level.Trial)
+        public void setup(BatchUpdateBenchmark benchmark, ThreadParams threadParams) {
+            // The benchmark state is injected so that it is always set up before the thread state
+            int first = threadParams.getThreadIndex() * benchmark.entityCount;
+            if (first + benchmark.entityCount > benchmark.userCount) {
+                throw new IllegalArgumentException("userCount " + benchmark.userCount + " is too small for "
+                        + threadParams.getThreadCount() + " threads of " + benchmark.entityCount + " users");
+            }
+            userIds = new ArrayList<>(benchmark.entityCount);
+            for (int i = first; i < first + benchmark.entityCount; i++) {
+                userIds.add(FixtureLoader.userId(i));
+            }
+
+            users = benchmark.easyEntityQuery.queryable(User.class)
+                    .where(u -> u.id().in(userIds))
+                    .toList();
+            jooqRecords = benchmark.jooqDsl.selectFrom(T_USER)
+                    .where(T_USER.ID.in(userIds))
+                    .fetch();
+
+            entityManager = HibernateUtil.createEntityManager(benchmark.phaseTiming);
+            // The session level equivalent of hibernate.jdbc.batch_size
+            entityManager.unwrap(Session.class).setJdbcBatchSize(benchmark.entityCount);
+            hibernateUsers = entityManager.createQuery("SELECT u FROM HibernateUser u WHERE u.id IN :ids", HibernateUser.class)
+                    .setParameter("ids", userIds)
+                    .getResultList();
+            entityManager.clear();
+        }
+
+        /**
+         * Age of the user at the given position in the next operation, different from the age of the
+         * previous one. Only {@link #AGE_COUNT} ages exist, so users that far apart share an age.
+         */
+        private int nextAge(int index) {
+            return MIN_AGE + (round + index) % AGE_COUNT;
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (entityManager != null && entityManager.isOpen()) {
+                entityManager.close();
+            }
+        }
+    }
+
+    /**
+     * Rows updated by this thread. JMH reports the counter as a rate, i.e. rows/s.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rows {
+        public long updatedRows;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        DatabaseInitializer.configurePool(pool, poolSize);
+        DatabaseInitializer.getDataSource();
+        DatabaseInitializer.clearData();
+
+        easyEntityQuery = BenchmarkClients.easyEntityQuery(DatabaseInitializer.getDataSource(), phaseTiming);
+
+        jooqDsl = BenchmarkClients.jooq(DatabaseInitializer.getDataSource(), phaseTiming);
+
+        dataSource = DatabaseInitializer.getDataSource();
+
+        FixtureLoader.loadUsers(userCount, i -> MIN_AGE + (i % AGE_COUNT));
+    }
+
+    private void count(Rows rows, long updated) {
+        if (updated != entityCount) {
+            throw new IllegalStateException("Updated " + updated + " rows instead of " + entityCount);
+        }
+        rows.updatedRows += updated;
+    }
+
+    private void count(Rows rows, int[] result) {
+        long updated = 0;
+        for (int entry : result) {
+            if (entry == Statement.SUCCESS_NO_INFO) {
+                updated++;
+            } else if (entry != Statement.EXECUTE_FAILED) {
+                updated += entry;
+            }
+        }
+        count(rows, updated);
+    }
+
+    @Benchmark
+    public long easyQueryUpdateBatch(ThreadState threadState, Rows rows, JdbcCounters counters) {
+        threadState.round++;
+        for (int i = 0; i < entityCount; i++) {
+            threadState.users.get(i).setAge(threadState.nextAge(i));
+        }
+        try (Transaction transaction = easyEntityQuery.beginTransaction()) {
+            long result = easyEntityQuery.updatable(threadState.users).batch(true).executeRows();
+            transaction.commit();
+            count(rows, result);
+            return result;
+        }
+    }
+
+    @Benchmark
+    public int[] jooqUpdateBatch(ThreadState threadState, Rows rows, JdbcCounters counters) {
+        threadState.round++;
+        for (int i = 0; i < entityCount; i++) {
+            threadState.jooqRecords.get(i).setAge(threadState.nextAge(i));
+        }
+        int[] result = jooqDsl.transactionResult(configuration -> {
+            return DSL.using(configuration).batchUpdate(threadState.jooqRecords).execute();
+        });
+        count(rows, result);
+        return result;
+    }
+
+    @Benchmark
+    public void hibernateUpdateBatch(ThreadState threadState, Rows rows, JdbcCounters counters) {
+        hibernateMerge(threadState, rows, false);
+    }
+
+    @Benchmark
+    public void hibernateUpdateBatchMultiLoad(ThreadState threadState, Rows rows, JdbcCounters counters) {
+        hibernateMerge(threadState, rows, true);
+    }
+
+    private void hibernateMerge(ThreadState threadState, Rows rows, boolean multiLoad) {
+        threadState.round++;
+        for (int i = 0; i < entityCount; i++) {
+            threadState.hibernateUsers.get(i).setAge(threadState.nextAge(i));
+        }
+        EntityManager entityManager = threadState.entityManager;
+        entityManager.getTransaction().begin();
+        try {
+            if (multiLoad) {
+                entityManager.unwrap(Session.class)
+                        .byMultipleIds(HibernateUser.class)
+                        .multiLoad(threadState.userIds);
+            }
+            for (HibernateUser user : threadState.hibernateUsers) {
+                entityManager.merge(user);
+            }
+            entityManager.flush();
+            entityManager.clear();
+            entityManager.getTransaction().commit();
+        } catch (Exception e) {
+            if (entityManager.getTransaction().isActive()) {
+                entityManager.getTransaction().rollback();
+            }
+            entityManager.clear();
+            throw e;
+        }
+        rows.updatedRows += entityCount;
+    }
+
+    @Benchmark
+    public int[] jdbcUpdateBatch(ThreadState threadState, Rows rows, JdbcCounters counters) throws SQLException {
+        threadState.round++;
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement("UPDATE t_user SET age = ? WHERE id = ?")) {
+                for (int i = 0; i < entityCount; i++) {
+                    pstmt.setInt(1, threadState.nextAge(i));
+                    pstmt.setString(2, threadState.userIds.get(i));
+                    pstmt.addBatch();
+                }
+                int[] result = pstmt.executeBatch();
+                conn.commit();
+                count(rows, result);
+                return result;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DatabaseInitializer.clearData();
+    }
+}
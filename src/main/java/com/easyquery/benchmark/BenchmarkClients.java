@@ -0,0 +1,45 @@
+package com.easyquery.benchmark;
+
+import com.easyquery.benchmark.phase.EasyQueryPhaseListener;
+import com.easyquery.benchmark.phase.JooqPhaseListener;
+import com.easy.query.api.proxy.client.DefaultEasyEntityQuery;
+import com.easy.query.core.basic.extension.listener.JdbcExecutorListener;
+import com.easy.query.core.bootstrapper.EasyQueryBootstrapper;
+import com.easy.query.core.bootstrapper.EasyQueryBuilderConfiguration;
+import com.easy.query.h2.config.H2DatabaseConfiguration;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+
+import javax.sql.DataSource;
+
+/**
+ * Builds the easy-query and jOOQ clients of the H2 benchmarks, optionally with the phase timing
+ * listeners installed (see {@link com.easyquery.benchmark.phase.PhaseProfiler}).
+ */
+public class BenchmarkClients {
+
+    public static DefaultEasyEntityQuery easyEntityQuery(DataSource dataSource, boolean phaseTiming) {
+        EasyQueryBuilderConfiguration builder = EasyQueryBootstrapper.defaultBuilderConfiguration()
+                .setDefaultDataSource(dataSource)
+                .optionConfigure(op -> {
+                    op.setPrintSql(false);
+                })
+                .useDatabaseConfigure(new H2DatabaseConfiguration());
+        if (phaseTiming) {
+            builder.replaceService(JdbcExecutorListener.class, EasyQueryPhaseListener.class);
+        }
+        return new DefaultEasyEntityQuery(builder.build());
+    }
+
+    public static DSLContext jooq(DataSource dataSource, boolean phaseTiming) {
+        if (!phaseTiming) {
+            return DSL.using(dataSource, SQLDialect.H2);
+        }
+        return DSL.using(new DefaultConfiguration()
+                .set(dataSource)
+                .set(SQLDialect.H2)
+                .set(new JooqPhaseListener()));
+    }
+}
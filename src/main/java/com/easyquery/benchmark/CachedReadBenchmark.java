@@ -0,0 +1,373 @@
+package com.easyquery.benchmark;
+
+import com.easyquery.benchmark.cache.HibernateCacheRegions;
+import com.easyquery.benchmark.cache.JooqResultCache;
+import com.easyquery.benchmark.entity.User;
+import com.easyquery.benchmark.jooq.generated.tables.pojos.TUser;
+import com.easyquery.benchmark.jooq.generated.tables.records.TUserRecord;
+import com.easyquery.benchmark.hibernate.HibernateUser;
+import com.easyquery.benchmark.hibernate.HibernateUtil;
+import com.easyquery.benchmark.jdbc.JdbcCounters;
+import com.easyquery.benchmark.jdbc.PoolType;
+import com.easyquery.benchmark.phase.HibernatePhaseListener;
+import com.easy.query.api.proxy.client.DefaultEasyEntityQuery;
+import com.easy.query.core.basic.jdbc.tx.Transaction;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.HibernateHints;
+import org.jooq.DSLContext;
+import org.jooq.ResultQuery;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.easyquery.benchmark.jooq.generated.Tables.T_USER;
+
+/**
+ * The reads of {@link QueryBenchmark} behind a cache, with Zipf distributed keys:
+ * <ul>
+ *   <li>{@code SelectById}: one user by id, drawn from all {@link #userCount} users</li>
+ *   <li>{@code SelectList}: the first 10 users of one age by username, drawn from the 50 ages</li>
+ * </ul>
+ * The keys and the operations that write are drawn once in setup, and every thread walks them with its
+ * own cursor. Every cache is sized to hold the hottest keys that make up {@link #hitRatio} of the reads
+ * (see {@link Zipfian#capacityFor(double)}):
+ * <ul>
+ *   <li>Hibernate: the second-level cache for {@link HibernateUser} and the query cache, as Caffeine
+ *   caches behind JCache ({@link HibernateCacheRegions})</li>
+ *   <li>jOOQ: a result cache on a MockConnection for the users and one for the lists
+ *   ({@link JooqResultCache})</li>
+ *   <li>easy-query: a Caffeine cache in front of the queries (cache-aside)</li>
+ * </ul>
+ * With {@link #writePercent} that share of the operations first updates the age of the drawn user with
+ * the statement of {@link UpdateBenchmark}. Every framework then evicts the same entries: the updated
+ * user and all cached lists. The {@code statements} counter of {@link JdbcCounters} counts the misses.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 10, time = 3)
+@Fork(3)
+@Threads(1)
+public class CachedReadBenchmark {
+
+    private static final int AGE_COUNT = 50;
+    private static final int MIN_AGE = 20;
+    private static final int LIST_SIZE = 10;
+    // Not the seed of KeyDistribution, so that the writes do not follow the hot keys
+    private static final long WRITE_SEED = 7;
+
+    @Param({"100000"})
+    public int userCount;
+
+    /**
+     * Reads through the caches, or with {@code false} the same reads without any cache.
+     */
+    @Param({"true"})
+    public boolean cache;
+
+    /**
+     * Share of the reads that the hottest keys in the caches serve.
+     */
+    @Param({"0.5", "0.9", "0.99"})
+    public double hitRatio;
+
+    /**
+     * Percentage of the operations that update the drawn user before reading.
+     */
+    @Param({"0", "1"})
+    public int writePercent;
+
+    /**
+     * Installs the framework listeners that feed the phase timing profiler
+     * ({@code -prof com.easyquery.benchmark.phase.PhaseProfiler}).
+     */
+    @Param({"false"})
+    public boolean phaseTiming;
+
+    /**
+     * Connection pool behind {@link DatabaseInitializer#getDataSource()}, see {@link PoolType}.
+     */
+    @Param({"HIKARI"})
+    public PoolType pool;
+
+    /**
+     * Maximum number of pooled connections, ignored by {@link PoolType#UNPOOLED}.
+     */
+    @Param({"10"})
+    public int poolSize;
+
+    private int[] userKeys;
+    private int[] ageKeys;
+    private boolean[] writes;
+
+    private DefaultEasyEntityQuery easyEntityQuery;
+    private Cache<String, User> easyQueryUsers;
+    private Cache<Integer, List<User>> easyQueryLists;
+
+    private DSLContext jooqDsl;
+    private JooqResultCache jooqUsers;
+    private JooqResultCache jooqLists;
+    private DSLContext jooqUserDsl;
+    private DSLContext jooqListDsl;
+
+    private HibernateCacheRegions hibernateCacheRegions;
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Per-thread cursor over the drawn keys, so the benchmark can be run with more than one thread.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private int startIndex;
+        private int keyIndex;
+
+        @Setup(Level.Trial)
+        public void setup(CachedReadBenchmark benchmark, ThreadParams threadParams) {
+            // Spread the cursors so that concurrent threads do not hit the same row in lock step
+            startIndex = threadParams.getThreadIndex() * KeyDistribution.SAMPLES / threadParams.getThreadCount();
+        }
+
+        @Setup(Level.Iteration)
+        public void setupIteration() {
+            keyIndex = startIndex;
+        }
+
+        private int next() {
+            return (keyIndex++) % KeyDistribution.SAMPLES;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        DatabaseInitializer.configurePool(pool, poolSize);
+        DatabaseInitializer.getDataSource();
+        DatabaseInitializer.clearData();
+
+        FixtureLoader.loadUsers(userCount, i -> MIN_AGE + (i % AGE_COUNT));
+        userKeys = KeyDistribution.ZIPFIAN.sample(userCount, KeyDistribution.SAMPLES);
+        ageKeys = KeyDistribution.ZIPFIAN.sample(AGE_COUNT, KeyDistribution.SAMPLES);
+        writes = new boolean[KeyDistribution.SAMPLES];
+        SplittableRandom random = new SplittableRandom(WRITE_SEED);
+        for (int i = 0; i < writes.length; i++) {
+            writes[i] = random.nextInt(100) < writePercent;
+        }
+        int maxUsers = new Zipfian(userCount).capacityFor(hitRatio);
+        int maxLists = new Zipfian(AGE_COUNT).capacityFor(hitRatio);
+
+        easyEntityQuery = BenchmarkClients.easyEntityQuery(DatabaseInitializer.getDataSource(), phaseTiming);
+
+        jooqDsl = BenchmarkClients.jooq(DatabaseInitializer.getDataSource(), phaseTiming);
+        jooqUserDsl = jooqDsl;
+        jooqListDsl = jooqDsl;
+
+        Properties properties = new Properties();
+        if (phaseTiming) {
+            properties.put("hibernate.session.events.auto", HibernatePhaseListener.class.getName());
+        }
+
+        if (cache) {
+            easyQueryUsers = Caffeine.newBuilder().maximumSize(maxUsers).build();
+            easyQueryLists = Caffeine.newBuilder().maximumSize(maxLists).build();
+
+            jooqUsers = new JooqResultCache(jooqDsl, maxUsers);
+            jooqLists = new JooqResultCache(jooqDsl, maxLists);
+            jooqUserDsl = jooqUsers.dsl();
+            jooqListDsl = jooqLists.dsl();
+
+            hibernateCacheRegions = new HibernateCacheRegions(maxUsers, maxLists);
+            properties.putAll(hibernateCacheRegions.properties());
+        }
+        entityManagerFactory = HibernateUtil.createEntityManagerFactory(DatabaseInitializer.getDataSource(), properties);
+    }
+
+    private static int age(int userIndex) {
+        return MIN_AGE + (userIndex % AGE_COUNT);
+    }
+
+    @Benchmark
+    public User easyQuerySelectById(ThreadState threadState, JdbcCounters counters) {
+        int key = threadState.next();
+        int index = userKeys[key];
+        String userId = FixtureLoader.userId(index);
+        if (writes[key]) {
+            easyQueryUpdate(userId, age(index));
+        }
+        return easyQueryUsers != null
+                ? easyQueryUsers.get(userId, this::easyQueryFindUser)
+                : easyQueryFindUser(userId);
+    }
+
+    @Benchmark
+    public List<User> easyQuerySelectList(ThreadState threadState, JdbcCounters counters) {
+        int key = threadState.next();
+        if (writes[key]) {
+            int index = userKeys[key];
+            easyQueryUpdate(FixtureLoader.userId(index), age(index));
+        }
+        int age = MIN_AGE + ageKeys[key];
+        return easyQueryLists != null
+                ? easyQueryLists.get(age, this::easyQueryFindUsers)
+                : easyQueryFindUsers(age);
+    }
+
+    private User easyQueryFindUser(String userId) {
+        return easyEntityQuery.queryable(User.class)
+                .where(u -> u.id().eq(userId))
+                .firstOrNull();
+    }
+
+    private List<User> easyQueryFindUsers(int age) {
+        return easyEntityQuery.queryable(User.class)
+                .where(u -> u.age().eq(age))
+                .orderBy(u -> u.username().asc())
+                .limit(LIST_SIZE)
+                .toList();
+    }
+
+    private void easyQueryUpdate(String userId, int age) {
+        try (Transaction transaction = easyEntityQuery.beginTransaction()) {
+            easyEntityQuery.updatable(User.class)
+                    .setColumns(u -> {
+                        u.age().set(age);
+                    })
+                    .where(u -> u.id().eq(userId))
+                    .executeRows();
+            transaction.commit();
+        }
+        if (easyQueryUsers != null) {
+            easyQueryUsers.invalidate(userId);
+            easyQueryLists.invalidateAll();
+        }
+    }
+
+    @Benchmark
+    public TUser jooqSelectById(ThreadState threadState, JdbcCounters counters) {
+        int key = threadState.next();
+        int index = userKeys[key];
+        String userId = FixtureLoader.userId(index);
+        if (writes[key]) {
+            jooqUpdate(userId, age(index));
+        }
+        return jooqFindUser(userId).fetchOneInto(TUser.class);
+    }
+
+    @Benchmark
+    public List<TUser> jooqSelectList(ThreadState threadState, JdbcCounters counters) {
+        int key = threadState.next();
+        if (writes[key]) {
+            int index = userKeys[key];
+            jooqUpdate(FixtureLoader.userId(index), age(index));
+        }
+        int age = MIN_AGE + ageKeys[key];
+        return jooqListDsl.selectFrom(T_USER)
+                .where(T_USER.AGE.eq(age))
+                .orderBy(T_USER.USERNAME)
+                .limit(LIST_SIZE)
+                .fetchInto(TUser.class);
+    }
+
+    private ResultQuery<TUserRecord> jooqFindUser(String userId) {
+        return jooqUserDsl.selectFrom(T_USER)
+                .where(T_USER.ID.eq(userId));
+    }
+
+    private void jooqUpdate(String userId, int age) {
+        jooqDsl.transaction(configuration -> {
+            DSL.using(configuration)
+                    .update(T_USER)
+                    .set(T_USER.AGE, age)
+                    .where(T_USER.ID.eq(userId))
+                    .execute();
+        });
+        if (jooqUsers != null) {
+            jooqUsers.invalidate(jooqFindUser(userId));
+            jooqLists.invalidateAll();
+        }
+    }
+
+    @Benchmark
+    public HibernateUser hibernateSelectById(ThreadState threadState, JdbcCounters counters) {
+        int key = threadState.next();
+        int index = userKeys[key];
+        String userId = FixtureLoader.userId(index);
+        if (writes[key]) {
+            hibernateUpdate(userId, age(index));
+        }
+        // A persistence context per read as in a request: the second-level cache only serves entries
+        // that were cached before the session started, and the first-level cache must not serve any
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            return entityManager.find(HibernateUser.class, userId);
+        }
+    }
+
+    @Benchmark
+    public List<HibernateUser> hibernateSelectList(ThreadState threadState, JdbcCounters counters) {
+        int key = threadState.next();
+        if (writes[key]) {
+            int index = userKeys[key];
+            hibernateUpdate(FixtureLoader.userId(index), age(index));
+        }
+        int age = MIN_AGE + ageKeys[key];
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            return entityManager.createQuery(
+                            "SELECT u FROM HibernateUser u WHERE u.age = :age ORDER BY u.username",
+                            HibernateUser.class)
+                    .setParameter("age", age)
+                    .setMaxResults(LIST_SIZE)
+                    .setHint(HibernateHints.HINT_CACHEABLE, cache)
+                    .getResultList();
+        }
+    }
+
+    private void hibernateUpdate(String userId, int age) {
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            entityManager.getTransaction().begin();
+            try {
+                // In SQL, as a bulk HQL update would evict the whole user region. Loading the user and
+                // setting its age writes nothing, as the age does not change.
+                entityManager.unwrap(Session.class).doWork(connection -> {
+                    try (PreparedStatement pstmt = connection.prepareStatement("UPDATE t_user SET age = ? WHERE id = ?")) {
+                        pstmt.setInt(1, age);
+                        pstmt.setString(2, userId);
+                        pstmt.executeUpdate();
+                    }
+                });
+                entityManager.getTransaction().commit();
+            } catch (Exception e) {
+                if (entityManager.getTransaction().isActive()) {
+                    entityManager.getTransaction().rollback();
+                }
+                throw e;
+            }
+        }
+        if (cache) {
+            org.hibernate.Cache hibernateCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+            hibernateCache.evictEntityData(HibernateUser.class, userId);
+            hibernateCache.evictDefaultQueryRegion();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (entityManagerFactory != null && entityManagerFactory.isOpen()) {
+            entityManagerFactory.close();
+        }
+        if (hibernateCacheRegions != null) {
+            hibernateCacheRegions.close();
+            hibernateCacheRegions = null;
+        }
+        DatabaseInitializer.clearData();
+    }
+}
@@ -5,20 +5,22 @@ import com.easyquery.benchmark.entity.User;
 import com.easyquery.benchmark.jooq.generated.tables.pojos.TUser;
 import com.easyquery.benchmark.hibernate.HibernateUser;
 import com.easyquery.benchmark.hibernate.HibernateUtil;
+import com.easyquery.benchmark.jdbc.JdbcCounters;
+import com.easyquery.benchmark.jdbc.PoolType;
 import com.easy.query.api.proxy.client.DefaultEasyEntityQuery;
-import com.easy.query.core.api.client.EasyQueryClient;
-import com.easy.query.core.bootstrapper.EasyQueryBootstrapper;
-import com.easy.query.h2.config.H2DatabaseConfiguration;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import org.jooq.DSLContext;
-import org.jooq.SQLDialect;
-import org.jooq.impl.DSL;
 import org.openjdk.jmh.annotations.*;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 import static com.easyquery.benchmark.jooq.generated.Tables.T_ORDER;
@@ -35,27 +37,68 @@ import static com.easyquery.benchmark.jooq.generated.Tables.T_USER;
 public class
 ComplexQueryBenchmark {
 
+    /**
+     * Number of users in t_user; every user has 2-5 orders (3.5 on average) in t_order.
+     */
+    @Param({"1000"})
+    public int userCount;
+
+    /**
+     * Installs the framework listeners that feed the phase timing profiler
+     * ({@code -prof com.easyquery.benchmark.phase.PhaseProfiler}).
+     */
+    @Param({"false"})
+    public boolean phaseTiming;
+
+    /**
+     * Connection pool behind {@link DatabaseInitializer#getDataSource()}, see {@link PoolType}.
+     */
+    @Param({"HIKARI"})
+    public PoolType pool;
+
+    /**
+     * Maximum number of pooled connections, ignored by {@link PoolType#UNPOOLED}.
+     */
+    @Param({"10"})
+    public int poolSize;
+
+    private DataSource dataSource;
     private DefaultEasyEntityQuery easyEntityQuery;
     private DSLContext jooqDsl;
-    private EntityManager entityManager;
+
+    /**
+     * Per-thread state so the benchmark can be run with more than one thread:
+     * an EntityManager must never be shared between threads.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private EntityManager entityManager;
+
+        @Setup(Level.Trial)
+        public void setup(ComplexQueryBenchmark benchmark) {
+            // The benchmark state is injected so that it is always set up before the thread state
+            entityManager = HibernateUtil.createEntityManager(benchmark.phaseTiming);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (entityManager != null && entityManager.isOpen()) {
+                entityManager.close();
+            }
+        }
+    }
 
     @Setup(Level.Trial)
     public void setup() {
+        DatabaseInitializer.configurePool(pool, poolSize);
         DatabaseInitializer.getDataSource();
         DatabaseInitializer.clearData();
 
-        EasyQueryClient easyQueryClient = EasyQueryBootstrapper.defaultBuilderConfiguration()
-                .setDefaultDataSource(DatabaseInitializer.getDataSource())
-                .optionConfigure(op->{
-                    op.setPrintSql(false);
-                })
-                .useDatabaseConfigure(new H2DatabaseConfiguration())
-                .build();
-        easyEntityQuery = new DefaultEasyEntityQuery(easyQueryClient);
+        easyEntityQuery = BenchmarkClients.easyEntityQuery(DatabaseInitializer.getDataSource(), phaseTiming);
 
-        jooqDsl = DSL.using(DatabaseInitializer.getDataSource(), SQLDialect.H2);
+        jooqDsl = BenchmarkClients.jooq(DatabaseInitializer.getDataSource(), phaseTiming);
 
-        entityManager = HibernateUtil.createEntityManager();
+        dataSource = DatabaseInitializer.getDataSource();
 
         insertTestData();
     }
@@ -65,27 +108,11 @@ ComplexQueryBenchmark {
     }
 
     private void insertTestData() {
-        for (int i = 0; i < 500; i++) {
-            String userId = UUID.randomUUID().toString();
-            DatabaseInitializer.insertUserWithJdbc(userId, "user_" + i, "user" + i + "@example.com", 20 + (i % 50), "1234567890", "Address " + i);
-
-            int orderCount = 2 + (i % 4);
-            for (int j = 0; j < orderCount; j++) {
-                String orderId = UUID.randomUUID().toString();
-                DatabaseInitializer.insertOrderWithJdbc(
-                        orderId,
-                        userId,
-                        "ORDER_" + i + "_" + j,
-                        new BigDecimal((100 + i * 10 + j * 5) + ".50"),
-                        j % 3,
-                        "Order remark " + i + "_" + j
-                );
-            }
-        }
+        FixtureLoader.loadUsersAndOrders(userCount, i -> 20 + (i % 50));
     }
 
     @Benchmark
-    public List<User> easyQueryJoinQuery() {
+    public List<User> easyQueryJoinQuery(JdbcCounters counters) {
         return easyEntityQuery.queryable(User.class)
                 .innerJoin(Order.class, (u, o) -> u.id().eq(o.userId()))
                 .where((u, o) -> {
@@ -98,7 +125,7 @@ ComplexQueryBenchmark {
     }
 
     @Benchmark
-    public List<TUser> jooqJoinQuery() {
+    public List<TUser> jooqJoinQuery(JdbcCounters counters) {
         return jooqDsl.selectDistinct(T_USER.fields())
                 .from(T_USER)
                 .join(T_ORDER).on(T_USER.ID.eq(T_ORDER.USER_ID))
@@ -109,14 +136,14 @@ ComplexQueryBenchmark {
     }
 
     @Benchmark
-    public long easyQueryAggregation() {
+    public long easyQueryAggregation(JdbcCounters counters) {
         return easyEntityQuery.queryable(Order.class)
                 .where(o -> o.status().eq(1))
                 .count();
     }
 
     @Benchmark
-    public long jooqAggregation() {
+    public long jooqAggregation(JdbcCounters counters) {
         Integer count = jooqDsl.selectCount()
                 .from(T_ORDER)
                 .where(T_ORDER.STATUS.eq(1))
@@ -125,8 +152,8 @@ ComplexQueryBenchmark {
     }
 
     @Benchmark
-    public List<HibernateUser> hibernateJoinQuery() {
-        TypedQuery<HibernateUser> query = entityManager.createQuery(
+    public List<HibernateUser> hibernateJoinQuery(ThreadState threadState, JdbcCounters counters) {
+        TypedQuery<HibernateUser> query = threadState.entityManager.createQuery(
                 "SELECT DISTINCT u FROM HibernateUser u " +
                 "JOIN HibernateOrder o ON u.id = o.userId " +
                 "WHERE o.status = :status AND o.amount >= :minAmount",
@@ -138,19 +165,58 @@ ComplexQueryBenchmark {
     }
 
     @Benchmark
-    public long hibernateAggregation() {
-        TypedQuery<Long> query = entityManager.createQuery(
+    public long hibernateAggregation(ThreadState threadState, JdbcCounters counters) {
+        TypedQuery<Long> query = threadState.entityManager.createQuery(
                 "SELECT COUNT(o) FROM HibernateOrder o WHERE o.status = :status",
                 Long.class);
         query.setParameter("status", 1);
         return query.getSingleResult();
     }
 
+    @Benchmark
+    public List<User> jdbcJoinQuery(JdbcCounters counters) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT DISTINCT u.id, u.username, u.email, u.age, u.phone, u.address FROM t_user u " +
+                     "INNER JOIN t_order o ON u.id = o.user_id " +
+                     "WHERE o.status = ? AND o.amount >= ? LIMIT ?")) {
+            pstmt.setInt(1, 1);
+            pstmt.setBigDecimal(2, new BigDecimal("100"));
+            pstmt.setInt(3, 20);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<User> users = new ArrayList<>();
+                while (rs.next()) {
+                    users.add(mapUser(rs));
+                }
+                return users;
+            }
+        }
+    }
+
+    @Benchmark
+    public long jdbcAggregation(JdbcCounters counters) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT COUNT(*) FROM t_order WHERE status = ?")) {
+            pstmt.setInt(1, 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private static User mapUser(ResultSet rs) throws SQLException {
+        return new User(
+                rs.getString(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getInt(4),
+                rs.getString(5),
+                rs.getString(6));
+    }
+
     @TearDown(Level.Trial)
     public void tearDown() {
-        if (entityManager != null && entityManager.isOpen()) {
-            entityManager.close();
-        }
         DatabaseInitializer.clearData();
     }
 }
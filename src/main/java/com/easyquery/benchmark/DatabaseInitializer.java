@@ -1,40 +1,105 @@
 package com.easyquery.benchmark;
 
-import com.zaxxer.hikari.HikariConfig;
-import com.zaxxer.hikari.HikariDataSource;
+import com.easyquery.benchmark.hibernate.HibernateUtil;
+import com.easyquery.benchmark.jdbc.CountingDataSource;
+import com.easyquery.benchmark.jdbc.PoolType;
 
 import javax.sql.DataSource;
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
 import java.sql.Statement;
 
 
 public class DatabaseInitializer {
     
+    private static final String URL = "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE";
+    private static final String USERNAME = "sa";
+    private static final String PASSWORD = "";
+    private static final String SNAPSHOT_SCHEMA = "fixture_snapshot";
+    private static final String[] TABLES = {"t_user", "t_order"};
+
     private static volatile DataSource dataSource;
+    private static DataSource pool;
+    private static PoolType poolType = PoolType.HIKARI;
+    private static int poolSize = 10;
+    private static boolean schemaCreated;
+    
+    /**
+     * Selects the pool behind {@link #getDataSource()}; call it before the first {@code getDataSource()}
+     * of a benchmark. A pool of another type or size is closed and replaced, together with the Hibernate
+     * factories built on it.
+     */
+    public static synchronized void configurePool(PoolType type, int size) {
+        if (type == poolType && size == poolSize) {
+            return;
+        }
+        poolType = type;
+        poolSize = size;
+        if (dataSource != null) {
+            HibernateUtil.shutdown();
+            closePool();
+            dataSource = null;
+        }
+    }
     
     public static DataSource getDataSource() {
         if (dataSource == null) {
             synchronized (DatabaseInitializer.class) {
                 if (dataSource == null) {
-                    HikariConfig config = new HikariConfig();
-                    config.setJdbcUrl("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE");
-                    config.setUsername("sa");
-                    config.setPassword("");
-                    config.setMaximumPoolSize(10);
-                    config.setMinimumIdle(5);
-                    dataSource = new HikariDataSource(config);
-                    initDatabase();
+                    if (!schemaCreated) {
+                        initDatabase();
+                        schemaCreated = true;
+                    }
+                    try {
+                        pool = poolType.create(URL, USERNAME, PASSWORD, poolSize);
+                    } catch (Exception e) {
+                        throw new RuntimeException("Failed to create the " + poolType + " pool", e);
+                    }
+                    dataSource = CountingDataSource.wrap(pool);
                 }
             }
         }
         return dataSource;
     }
     
+    /**
+     * Creates a second pool of the configured type and size whose H2 sessions use extra settings, e.g.
+     * {@code LAZY_QUERY_EXECUTION=TRUE}. It is not counted and not shared: the caller wraps and closes it.
+     */
+    public static synchronized DataSource createDataSource(String sessionSettings) {
+        getDataSource();
+        try {
+            return poolType.create(URL + ";" + sessionSettings, USERNAME, PASSWORD, poolSize);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to create the " + poolType + " pool", e);
+        }
+    }
+    
+    /**
+     * Opens a connection outside of the benchmark pool, for fixture loading and table maintenance.
+     * A small pool under test can then neither stall nor time out the setup.
+     */
+    public static Connection openConnection() throws SQLException {
+        return DriverManager.getConnection(URL, USERNAME, PASSWORD);
+    }
+    
+    private static void closePool() {
+        if (pool instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to close the " + poolType + " pool", e);
+            }
+        }
+        pool = null;
+    }
+    
     private static void initDatabase() {
-        try (Connection conn = dataSource.getConnection();
+        try (Connection conn = openConnection();
              Statement stmt = conn.createStatement()) {
             
             InputStream is = DatabaseInitializer.class.getClassLoader().getResourceAsStream("schema.sql");
@@ -63,7 +128,7 @@ public class DatabaseInitializer {
     }
     
     public static void clearData() {
-        try (Connection conn = dataSource.getConnection();
+        try (Connection conn = openConnection();
              Statement stmt = conn.createStatement()) {
             stmt.execute("DELETE FROM t_order");
             stmt.execute("DELETE FROM t_user");
@@ -71,39 +136,55 @@ public class DatabaseInitializer {
             throw new RuntimeException("Failed to clear data", e);
         }
     }
-    
-    public static void insertUserWithJdbc(String id, String username, String email, Integer age, String phone, String address) {
-        String sql = "INSERT INTO t_user (id, username, email, age, phone, address) VALUES (?, ?, ?, ?, ?, ?)";
-        try (Connection conn = dataSource.getConnection();
-             java.sql.PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, id);
-            pstmt.setString(2, username);
-            pstmt.setString(3, email);
-            pstmt.setInt(4, age);
-            pstmt.setString(5, phone);
-            pstmt.setString(6, address);
-            pstmt.executeUpdate();
+
+    /**
+     * Empties the benchmark tables with TRUNCATE, which throws away the table and index storage instead
+     * of deleting row by row, so every iteration starts without leftovers of earlier ones.
+     */
+    public static void truncateData() {
+        try (Connection conn = openConnection();
+             Statement stmt = conn.createStatement()) {
+            for (String table : TABLES) {
+                stmt.execute("TRUNCATE TABLE " + table);
+            }
         } catch (Exception e) {
-            throw new RuntimeException("Failed to insert user with JDBC", e);
+            throw new RuntimeException("Failed to truncate data", e);
         }
     }
-    
-    public static void insertOrderWithJdbc(String id, String userId, String orderNo, java.math.BigDecimal amount, Integer status, String remark) {
-        String sql = "INSERT INTO t_order (id, user_id, order_no, amount, status, remark) VALUES (?, ?, ?, ?, ?, ?)";
-        try (Connection conn = dataSource.getConnection();
-             java.sql.PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, id);
-            pstmt.setString(2, userId);
-            pstmt.setString(3, orderNo);
-            pstmt.setBigDecimal(4, amount);
-            pstmt.setInt(5, status);
-            pstmt.setString(6, remark);
-            pstmt.executeUpdate();
+
+    /**
+     * Copies the current content of the benchmark tables into a separate schema, so that
+     * {@link #restoreSnapshot()} can bring the tables back to exactly this state.
+     * Take the snapshot once per fork, after the fixture has been loaded.
+     */
+    public static void takeSnapshot() {
+        try (Connection conn = openConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE SCHEMA IF NOT EXISTS " + SNAPSHOT_SCHEMA);
+            for (String table : TABLES) {
+                stmt.execute("DROP TABLE IF EXISTS " + SNAPSHOT_SCHEMA + "." + table);
+                stmt.execute("CREATE TABLE " + SNAPSHOT_SCHEMA + "." + table + " AS SELECT * FROM " + table);
+            }
         } catch (Exception e) {
-            throw new RuntimeException("Failed to insert order with JDBC", e);
+            throw new RuntimeException("Failed to take snapshot", e);
         }
     }
-}
-
-
 
+    /**
+     * Restores the state captured by {@link #takeSnapshot()}. TRUNCATE throws away the table and index
+     * storage instead of deleting row by row, and the rows are copied back inside the database in primary
+     * key order, so every restore starts from the same physical state without leftovers of earlier
+     * iterations.
+     */
+    public static void restoreSnapshot() {
+        try (Connection conn = openConnection();
+             Statement stmt = conn.createStatement()) {
+            for (String table : TABLES) {
+                stmt.execute("TRUNCATE TABLE " + table);
+                stmt.execute("INSERT INTO " + table + " SELECT * FROM " + SNAPSHOT_SCHEMA + "." + table + " ORDER BY id");
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to restore snapshot", e);
+        }
+    }
+}
@@ -2,24 +2,38 @@ package com.easyquery.benchmark;
 
 import com.easyquery.benchmark.entity.User;
 import com.easyquery.benchmark.hibernate.HibernateUtil;
+import com.easyquery.benchmark.jdbc.JdbcCounters;
+import com.easyquery.benchmark.jdbc.PoolType;
 import com.easy.query.api.proxy.client.DefaultEasyEntityQuery;
-import com.easy.query.core.api.client.EasyQueryClient;
 import com.easy.query.core.basic.jdbc.tx.Transaction;
-import com.easy.query.core.bootstrapper.EasyQueryBootstrapper;
-import com.easy.query.h2.config.H2DatabaseConfiguration;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import org.jooq.DSLContext;
-import org.jooq.SQLDialect;
 import org.jooq.impl.DSL;
 import org.openjdk.jmh.annotations.*;
 
-import java.util.UUID;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.easyquery.benchmark.jooq.generated.Tables.T_USER;
 
-
+/**
+ * Deletes that always remove a known number of rows:
+ * <ul>
+ *   <li>{@code DeleteById}: one user by primary key</li>
+ *   <li>{@code DeleteByCondition}: the {@link #deleteRows} users of one age, through {@code idx_user_age}</li>
+ * </ul>
+ * Every benchmark thread deletes its own block of {@link #CHUNK} users, which it loads in an invocation
+ * setup as soon as the block cannot serve the next operation. The load stays out of the measurement,
+ * only the two timestamps around every invocation are added to it. Every fixture user has a unique
+ * id and its group of {@link #deleteRows} users has its own age, so no operation ever deletes a row
+ * that another one should have deleted. An operation that deletes a different number of rows fails
+ * the benchmark, and the {@code deletedRows} counter reports the deleted rows/s.
+ */
 @BenchmarkMode(Mode.Throughput)
 @OutputTimeUnit(TimeUnit.SECONDS)
 @State(Scope.Benchmark)
@@ -29,81 +43,256 @@ import static com.easyquery.benchmark.jooq.generated.Tables.T_USER;
 @Threads(1)
 public class DeleteBenchmark {
 
+    /**
+     * Users loaded at once for one thread. Every {@link #deleteRows} must divide it.
+     */
+    static final int CHUNK = 5_000;
+
+    /**
+     * Users deleted by one {@code DeleteByCondition}, the delete by id always deletes one.
+     */
+    @Param({"10"})
+    public int deleteRows;
+
+    /**
+     * Installs the framework listeners that feed the phase timing profiler
+     * ({@code -prof com.easyquery.benchmark.phase.PhaseProfiler}).
+     */
+    @Param({"false"})
+    public boolean phaseTiming;
+
+    /**
+     * Connection pool behind {@link DatabaseInitializer#getDataSource()}, see {@link PoolType}.
+     */
+    @Param({"HIKARI"})
+    public PoolType pool;
+
+    /**
+     * Maximum number of pooled connections, ignored by {@link PoolType#UNPOOLED}.
+     */
+    @Param({"10"})
+    public int poolSize;
+
+    private DataSource dataSource;
     private DefaultEasyEntityQuery easyEntityQuery;
     private DSLContext jooqDsl;
-    private EntityManager entityManager;
+    // Index of the first user of the next chunk
+    private final AtomicInteger nextChunk = new AtomicInteger();
+
+    /**
+     * Per-thread state so the benchmark can be run with more than one thread:
+     * every thread owns its EntityManager and the chunk of users that it deletes.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private DeleteBenchmark benchmark;
+        private EntityManager entityManager;
+        // Next user to delete and the end of the loaded chunk
+        private int next;
+        private int end;
+
+        @Setup(Level.Trial)
+        public void setup(DeleteBenchmark benchmark) {
+            // The benchmark state is injected so that it is always set up before the thread state
+            this.benchmark = benchmark;
+            entityManager = HibernateUtil.createEntityManager(benchmark.phaseTiming);
+        }
+
+        @Setup(Level.Iteration)
+        public void setupIteration() {
+            // The chunk was removed with the truncate of the benchmark state
+            next = 0;
+            end = 0;
+        }
+
+        @Setup(Level.Invocation)
+        public void replenish() {
+            if (next + benchmark.deleteRows > end) {
+                int deleteRows = benchmark.deleteRows;
+                next = benchmark.nextChunk.getAndAdd(CHUNK);
+                end = next + CHUNK;
+                FixtureLoader.loadUsers(next, end, i -> i / deleteRows);
+            }
+        }
+
+        String nextUserId() {
+            return FixtureLoader.userId(next++);
+        }
+
+        /**
+         * The age of the next {@link #deleteRows} users.
+         */
+        int nextAge() {
+            int age = next / benchmark.deleteRows;
+            next += benchmark.deleteRows;
+            return age;
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (entityManager != null && entityManager.isOpen()) {
+                entityManager.close();
+            }
+        }
+    }
+
+    /**
+     * Rows deleted by this thread. JMH reports the counter as a rate, i.e. rows/s.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rows {
+        public long deletedRows;
+    }
 
     @Setup(Level.Trial)
     public void setup() {
+        if (deleteRows < 1 || CHUNK % deleteRows != 0) {
+            throw new IllegalArgumentException("deleteRows must divide " + CHUNK + ": " + deleteRows);
+        }
+        DatabaseInitializer.configurePool(pool, poolSize);
         DatabaseInitializer.getDataSource();
 
-        EasyQueryClient easyQueryClient = EasyQueryBootstrapper.defaultBuilderConfiguration()
-                .setDefaultDataSource(DatabaseInitializer.getDataSource())
-                .optionConfigure(op->{
-                    op.setPrintSql(false);
-                })
-                .useDatabaseConfigure(new H2DatabaseConfiguration())
-                .build();
-        easyEntityQuery = new DefaultEasyEntityQuery(easyQueryClient);
+        easyEntityQuery = BenchmarkClients.easyEntityQuery(DatabaseInitializer.getDataSource(), phaseTiming);
 
-        jooqDsl = DSL.using(DatabaseInitializer.getDataSource(), SQLDialect.H2);
+        jooqDsl = BenchmarkClients.jooq(DatabaseInitializer.getDataSource(), phaseTiming);
 
-        entityManager = HibernateUtil.createEntityManager();
+        dataSource = DatabaseInitializer.getDataSource();
     }
 
     @Setup(Level.Iteration)
     public void setupIteration() {
-        DatabaseInitializer.clearData();
-        for (int i = 0; i < 50; i++) {
-            String id = UUID.randomUUID().toString();
-            DatabaseInitializer.insertUserWithJdbc(id, "user_" + i, "user" + i + "@example.com", 20 + i, "1234567890", "Address " + i);
+        // The threads load their chunks as they go, so every iteration starts from empty tables
+        DatabaseInitializer.truncateData();
+        nextChunk.set(0);
+    }
+
+    private static void count(Rows rows, long deleted, int expected) {
+        if (deleted != expected) {
+            throw new IllegalStateException("Deleted " + deleted + " rows instead of " + expected);
         }
+        rows.deletedRows += deleted;
     }
 
     @Benchmark
-    public long easyQueryDeleteByCondition() {
+    public long easyQueryDeleteById(ThreadState threadState, Rows rows, JdbcCounters counters) {
+        String userId = threadState.nextUserId();
         try (Transaction transaction = easyEntityQuery.beginTransaction()) {
             long result = easyEntityQuery.deletable(User.class)
                     .allowDeleteStatement(true)
-                    .where(u -> u.age().ge(40))
+                    .where(u -> u.id().eq(userId))
                     .executeRows();
             transaction.commit();
+            count(rows, result, 1);
             return result;
         }
     }
 
     @Benchmark
-    public int jooqDeleteByCondition() {
-        return jooqDsl.transactionResult(configuration -> {
+    public long easyQueryDeleteByCondition(ThreadState threadState, Rows rows, JdbcCounters counters) {
+        int age = threadState.nextAge();
+        try (Transaction transaction = easyEntityQuery.beginTransaction()) {
+            long result = easyEntityQuery.deletable(User.class)
+                    .allowDeleteStatement(true)
+                    .where(u -> u.age().eq(age))
+                    .executeRows();
+            transaction.commit();
+            count(rows, result, deleteRows);
+            return result;
+        }
+    }
+
+    @Benchmark
+    public int jooqDeleteById(ThreadState threadState, Rows rows, JdbcCounters counters) {
+        String userId = threadState.nextUserId();
+        int result = jooqDsl.transactionResult(configuration -> {
             return DSL.using(configuration)
                     .deleteFrom(T_USER)
-                    .where(T_USER.AGE.ge(40))
+                    .where(T_USER.ID.eq(userId))
                     .execute();
         });
+        count(rows, result, 1);
+        return result;
+    }
+
+    @Benchmark
+    public int jooqDeleteByCondition(ThreadState threadState, Rows rows, JdbcCounters counters) {
+        int age = threadState.nextAge();
+        int result = jooqDsl.transactionResult(configuration -> {
+            return DSL.using(configuration)
+                    .deleteFrom(T_USER)
+                    .where(T_USER.AGE.eq(age))
+                    .execute();
+        });
+        count(rows, result, deleteRows);
+        return result;
+    }
+
+    @Benchmark
+    public int hibernateDeleteById(ThreadState threadState, Rows rows, JdbcCounters counters) {
+        Query query = threadState.entityManager.createQuery("DELETE FROM HibernateUser u WHERE u.id = :id");
+        query.setParameter("id", threadState.nextUserId());
+        int result = hibernateDelete(threadState, query);
+        count(rows, result, 1);
+        return result;
     }
 
     @Benchmark
-    public int hibernateDeleteByCondition() {
-        entityManager.getTransaction().begin();
+    public int hibernateDeleteByCondition(ThreadState threadState, Rows rows, JdbcCounters counters) {
+        Query query = threadState.entityManager.createQuery("DELETE FROM HibernateUser u WHERE u.age = :age");
+        query.setParameter("age", threadState.nextAge());
+        int result = hibernateDelete(threadState, query);
+        count(rows, result, deleteRows);
+        return result;
+    }
+
+    private static int hibernateDelete(ThreadState threadState, Query query) {
+        threadState.entityManager.getTransaction().begin();
         try {
-            Query query = entityManager.createQuery("DELETE FROM HibernateUser u WHERE u.age >= :minAge");
-            query.setParameter("minAge", 40);
             int result = query.executeUpdate();
-            entityManager.getTransaction().commit();
+            threadState.entityManager.getTransaction().commit();
             return result;
         } catch (Exception e) {
-            if (entityManager.getTransaction().isActive()) {
-                entityManager.getTransaction().rollback();
+            if (threadState.entityManager.getTransaction().isActive()) {
+                threadState.entityManager.getTransaction().rollback();
             }
             throw e;
         }
     }
 
+    @Benchmark
+    public int jdbcDeleteById(ThreadState threadState, Rows rows, JdbcCounters counters) throws SQLException {
+        int result = jdbcDelete("DELETE FROM t_user WHERE id = ?", threadState.nextUserId());
+        count(rows, result, 1);
+        return result;
+    }
+
+    @Benchmark
+    public int jdbcDeleteByCondition(ThreadState threadState, Rows rows, JdbcCounters counters) throws SQLException {
+        int result = jdbcDelete("DELETE FROM t_user WHERE age = ?", threadState.nextAge());
+        count(rows, result, deleteRows);
+        return result;
+    }
+
+    private int jdbcDelete(String sql, Object parameter) throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setObject(1, parameter);
+                int result = pstmt.executeUpdate();
+                conn.commit();
+                return result;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
     @TearDown(Level.Trial)
     public void tearDown() {
-        if (entityManager != null && entityManager.isOpen()) {
-            entityManager.close();
-        }
         DatabaseInitializer.clearData();
     }
 }
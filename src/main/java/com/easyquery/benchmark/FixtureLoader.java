@@ -0,0 +1,171 @@
+package com.easyquery.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Bulk loader for the benchmark fixtures.
+ * <p>
+ * Rows are generated on the fly and streamed through batched PreparedStatements on a single
+ * connection per table, committing in chunks instead of auto-committing every row. Users and
+ * orders are loaded in parallel. Ids are derived from the row index, so a benchmark can compute
+ * the id of any fixture row with {@link #userId(long)} without keeping all of them in memory.
+ */
+public class FixtureLoader {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int COMMIT_SIZE = 100_000;
+    // Small per-iteration fixtures are not worth a log line
+    private static final int REPORT_THRESHOLD = 10_000;
+
+    private static final String INSERT_USER = "INSERT INTO t_user (id, username, email, age, phone, address) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ORDER = "INSERT INTO t_order (id, user_id, order_no, amount, status, remark) VALUES (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * UUID formatted id of the user with the given index. The high bits are scrambled so the keys
+     * are spread over the primary key index like random UUIDs.
+     */
+    public static String userId(long index) {
+        return new UUID(mix(index), index).toString();
+    }
+
+    public static String orderId(long userIndex, int orderIndex) {
+        long index = (userIndex << 3) | orderIndex;
+        return new UUID(mix(~index), index).toString();
+    }
+
+    /**
+     * Every user has 2-5 orders, 3.5 on average.
+     */
+    public static int orderCount(long userIndex) {
+        return 2 + (int) (userIndex % 4);
+    }
+
+    /**
+     * Loads users {@code [0, userCount)} into t_user.
+     *
+     * @param age age of the user with the given index
+     */
+    public static void loadUsers(int userCount, IntUnaryOperator age) {
+        long start = System.nanoTime();
+        long rows = insertUsers(0, userCount, age);
+        report(rows, 0, System.nanoTime() - start);
+    }
+
+    /**
+     * Loads users {@code [from, to)} into t_user, e.g. to replenish the rows that a benchmark deletes.
+     *
+     * @param age age of the user with the given index
+     */
+    public static void loadUsers(int from, int to, IntUnaryOperator age) {
+        long start = System.nanoTime();
+        long rows = insertUsers(from, to, age);
+        report(rows, 0, System.nanoTime() - start);
+    }
+
+    /**
+     * Loads users {@code [0, userCount)} into t_user and their orders into t_order, one thread per table.
+     *
+     * @param age age of the user with the given index
+     */
+    public static void loadUsersAndOrders(int userCount, IntUnaryOperator age) {
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<Long> users = CompletableFuture.supplyAsync(() -> insertUsers(0, userCount, age), executor);
+            CompletableFuture<Long> orders = CompletableFuture.supplyAsync(() -> insertOrders(0, userCount), executor);
+            report(users.join(), orders.join(), System.nanoTime() - start);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static long insertUsers(int from, int to, IntUnaryOperator age) {
+        try (Connection conn = DatabaseInitializer.openConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(INSERT_USER)) {
+                for (int i = from; i < to; i++) {
+                    pstmt.setString(1, userId(i));
+                    pstmt.setString(2, "user_" + i);
+                    pstmt.setString(3, "user" + i + "@example.com");
+                    pstmt.setInt(4, age.applyAsInt(i));
+                    pstmt.setString(5, "1234567890");
+                    pstmt.setString(6, "Address " + i);
+                    pstmt.addBatch();
+                    flush(conn, pstmt, i - from + 1);
+                }
+                pstmt.executeBatch();
+                conn.commit();
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            return to - from;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load users", e);
+        }
+    }
+
+    private static long insertOrders(int fromUser, int toUser) {
+        try (Connection conn = DatabaseInitializer.openConnection()) {
+            conn.setAutoCommit(false);
+            long rows = 0;
+            try (PreparedStatement pstmt = conn.prepareStatement(INSERT_ORDER)) {
+                for (int i = fromUser; i < toUser; i++) {
+                    String userId = userId(i);
+                    int orderCount = orderCount(i);
+                    for (int j = 0; j < orderCount; j++) {
+                        pstmt.setString(1, orderId(i, j));
+                        pstmt.setString(2, userId);
+                        pstmt.setString(3, "ORDER_" + i + "_" + j);
+                        // 100.50 + 10 per user + 5 per order, wrapping every 10,000 users to stay within DECIMAL(10, 2)
+                        pstmt.setBigDecimal(4, BigDecimal.valueOf(10050 + (i % 10000) * 1000L + j * 500L, 2));
+                        pstmt.setInt(5, j % 3);
+                        pstmt.setString(6, "Order remark " + i + "_" + j);
+                        pstmt.addBatch();
+                        flush(conn, pstmt, ++rows);
+                    }
+                }
+                pstmt.executeBatch();
+                conn.commit();
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            return rows;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load orders", e);
+        }
+    }
+
+    private static void flush(Connection conn, PreparedStatement pstmt, long rows) throws Exception {
+        if (rows % BATCH_SIZE == 0) {
+            pstmt.executeBatch();
+        }
+        if (rows % COMMIT_SIZE == 0) {
+            conn.commit();
+        }
+    }
+
+    private static void report(long users, long orders, long nanos) {
+        long rows = users + orders;
+        if (rows < REPORT_THRESHOLD) {
+            return;
+        }
+        double seconds = nanos / 1_000_000_000.0;
+        System.out.printf("Loaded %,d users and %,d orders in %.1f s (%,.0f rows/s)%n", users, orders, seconds, rows / seconds);
+    }
+
+    /**
+     * SplitMix64 finalizer, a bijection so distinct indexes never produce the same id.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
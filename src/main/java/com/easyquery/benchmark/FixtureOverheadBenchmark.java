@@ -0,0 +1,47 @@
+package com.easyquery.benchmark;
+
+import com.easyquery.benchmark.hibernate.HibernateUser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The harness cost that {@link FixturePool} takes out of the measurement of {@link InsertBenchmark} and
+ * {@link InsertBatchBenchmark}. {@code inlineUser} builds a user the way the insert methods used to,
+ * with a SecureRandom backed {@link UUID#randomUUID()} and the username concatenated in the measured
+ * method. {@code pooledUser} takes a pre-generated one. No database is involved.
+ * <p>
+ * Every iteration is one batch of {@link #ROWS} calls, because a pool can only be filled for a known
+ * number of rows: the score is the time per 100,000 rows. Run with {@code -prof gc} for the bytes.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 10, batchSize = FixtureOverheadBenchmark.ROWS)
+@Measurement(iterations = 20, batchSize = FixtureOverheadBenchmark.ROWS)
+@Fork(3)
+@Threads(1)
+public class FixtureOverheadBenchmark {
+
+    static final int ROWS = 100_000;
+
+    private final FixturePool<HibernateUser> users = new FixturePool<>(
+            (id, username, index) -> new HibernateUser(id, username, "user@example.com", 25, "1234567890", "Test Address"));
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        users.refill();
+    }
+
+    @Benchmark
+    public HibernateUser inlineUser() {
+        String id = UUID.randomUUID().toString();
+        return new HibernateUser(id, "user_" + id, "user@example.com", 25, "1234567890", "Test Address");
+    }
+
+    @Benchmark
+    public HibernateUser pooledUser() {
+        return users.next();
+    }
+}
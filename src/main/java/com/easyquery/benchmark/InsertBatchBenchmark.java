@@ -0,0 +1,315 @@
+package com.easyquery.benchmark;
+
+import com.easyquery.benchmark.entity.User;
+import com.easyquery.benchmark.jooq.generated.tables.pojos.TUser;
+import com.easyquery.benchmark.jooq.generated.tables.records.TUserRecord;
+import com.easyquery.benchmark.hibernate.HibernateUser;
+import com.easyquery.benchmark.hibernate.HibernateUtil;
+import com.easyquery.benchmark.jdbc.JdbcCounters;
+import com.easyquery.benchmark.jdbc.PoolType;
+import com.easy.query.core.basic.jdbc.tx.Transaction;
+import com.easy.query.api.proxy.client.DefaultEasyEntityQuery;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.jooq.DSLContext;
+import org.jooq.InsertValuesStep6;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.easyquery.benchmark.jooq.generated.Tables.T_USER;
+
+/**
+ * Inserts {@link #batchSize} users per operation in one transaction, to find the batch size at which
+ * the per-row cost stops falling. The score is batches/s; the {@code insertedRows} secondary metric
+ * is the same throughput in rows/s.
+ * <p>
+ * Each framework is measured with JDBC batching ({@code addBatch}/{@code executeBatch}), jOOQ and plain
+ * JDBC also with multi-row {@code INSERT ... VALUES (...), (...)} statements. H2 has no driver option
+ * that rewrites a batch into multi-row statements, so the multi-row variants stand in for it.
+ * easy-query has no multi-row insert, so it is measured with one statement per row instead, next to
+ * the same strategy in plain JDBC.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 10, time = 3)
+@Fork(3)
+@Threads(1)
+public class InsertBatchBenchmark {
+
+    /**
+     * Rows per multi-row INSERT statement: larger batches are split, since every row binds six
+     * parameters and the statement text grows with the row count.
+     */
+    static final int MULTI_ROW_CHUNK = 1000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO t_user (id, username, email, age, phone, address) VALUES (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Rows inserted per operation.
+     */
+    @Param({"1", "10", "100", "1000", "10000", "100000"})
+    public int batchSize;
+
+    /**
+     * Installs the framework listeners that feed the phase timing profiler
+     * ({@code -prof com.easyquery.benchmark.phase.PhaseProfiler}).
+     */
+    @Param({"false"})
+    public boolean phaseTiming;
+
+    /**
+     * Connection pool behind {@link DatabaseInitializer#getDataSource()}, see {@link PoolType}.
+     */
+    @Param({"HIKARI"})
+    public PoolType pool;
+
+    /**
+     * Maximum number of pooled connections, ignored by {@link PoolType#UNPOOLED}.
+     */
+    @Param({"10"})
+    public int poolSize;
+
+    private DataSource dataSource;
+    private DefaultEasyEntityQuery easyEntityQuery;
+    private DSLContext jooqDsl;
+    private String multiRowSql;
+
+    /**
+     * Per-thread state so the benchmark can be run with more than one thread:
+     * an EntityManager must never be shared between threads.
+     * The users to insert are generated outside the measurement, see {@link FixturePool}.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private EntityManager entityManager;
+        private final FixturePool<User> users = new FixturePool<>(
+                (id, username, index) -> new User(id, username, "user@example.com", age(index), "1234567890", "Test Address"));
+        private final FixturePool<TUser> jooqUsers = new FixturePool<>(
+                (id, username, index) -> new TUser(id, username, "user@example.com", age(index), "1234567890", "Test Address"));
+        private final FixturePool<TUserRecord> jooqRecords = new FixturePool<>(
+                (id, username, index) -> new TUserRecord(id, username, "user@example.com", age(index), "1234567890", "Test Address"));
+        private final FixturePool<HibernateUser> hibernateUsers = new FixturePool<>(
+                (id, username, index) -> new HibernateUser(id, username, "user@example.com", age(index), "1234567890", "Test Address"));
+
+        @Setup(Level.Trial)
+        public void setup(InsertBatchBenchmark benchmark) {
+            // The benchmark state is injected so that it is always set up before the thread state
+            entityManager = HibernateUtil.createEntityManager(benchmark.phaseTiming);
+            // The session level equivalent of hibernate.jdbc.batch_size
+            entityManager.unwrap(Session.class).setJdbcBatchSize(benchmark.batchSize);
+        }
+
+        @Setup(Level.Iteration)
+        public void setupIteration() {
+            users.refill();
+            jooqUsers.refill();
+            jooqRecords.refill();
+            hibernateUsers.refill();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (entityManager != null && entityManager.isOpen()) {
+                entityManager.close();
+            }
+        }
+    }
+
+    /**
+     * Rows written by this thread. JMH reports the counter as a rate, i.e. rows/s.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rows {
+        public long insertedRows;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        DatabaseInitializer.configurePool(pool, poolSize);
+        easyEntityQuery = BenchmarkClients.easyEntityQuery(DatabaseInitializer.getDataSource(), phaseTiming);
+
+        jooqDsl = BenchmarkClients.jooq(DatabaseInitializer.getDataSource(), phaseTiming);
+
+        dataSource = DatabaseInitializer.getDataSource();
+        multiRowSql = multiRowSql(Math.min(MULTI_ROW_CHUNK, batchSize));
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        DatabaseInitializer.truncateData();
+    }
+
+    private static int age(int index) {
+        return 25 + (index % 50);
+    }
+
+    @Benchmark
+    public void easyQueryInsertBatch(ThreadState threadState, Rows rows, JdbcCounters counters) {
+        List<User> users = threadState.users.next(batchSize);
+        try (Transaction transaction = easyEntityQuery.beginTransaction()) {
+            easyEntityQuery.insertable(users).batch(true).executeRows();
+            transaction.commit();
+        }
+        rows.insertedRows += batchSize;
+    }
+
+    @Benchmark
+    public void easyQueryInsertRowByRow(ThreadState threadState, Rows rows, JdbcCounters counters) {
+        List<User> users = threadState.users.next(batchSize);
+        try (Transaction transaction = easyEntityQuery.beginTransaction()) {
+            easyEntityQuery.insertable(users).batch(false).executeRows();
+            transaction.commit();
+        }
+        rows.insertedRows += batchSize;
+    }
+
+    @Benchmark
+    public void jooqInsertBatch(ThreadState threadState, Rows rows, JdbcCounters counters) {
+        List<TUserRecord> records = threadState.jooqRecords.next(batchSize);
+
+        jooqDsl.transaction(configuration -> {
+            DSL.using(configuration).batchInsert(records).execute();
+        });
+        rows.insertedRows += batchSize;
+    }
+
+    @Benchmark
+    public void jooqInsertMultiRow(ThreadState threadState, Rows rows, JdbcCounters counters) {
+        List<TUser> users = threadState.jooqUsers.next(batchSize);
+        jooqDsl.transaction(configuration -> {
+            DSLContext dsl = DSL.using(configuration);
+            for (int start = 0; start < batchSize; start += MULTI_ROW_CHUNK) {
+                InsertValuesStep6<TUserRecord, String, String, String, Integer, String, String> insert = dsl
+                        .insertInto(T_USER, T_USER.ID, T_USER.USERNAME, T_USER.EMAIL, T_USER.AGE, T_USER.PHONE, T_USER.ADDRESS);
+                for (TUser user : users.subList(start, Math.min(start + MULTI_ROW_CHUNK, batchSize))) {
+                    insert = insert.values(user.getId(), user.getUsername(), user.getEmail(), user.getAge(), user.getPhone(), user.getAddress());
+                }
+                insert.execute();
+            }
+        });
+        rows.insertedRows += batchSize;
+    }
+
+    @Benchmark
+    public void hibernateInsertBatch(ThreadState threadState, Rows rows, JdbcCounters counters) {
+        List<HibernateUser> users = threadState.hibernateUsers.next(batchSize);
+        threadState.entityManager.getTransaction().begin();
+        try {
+            for (HibernateUser user : users) {
+                threadState.entityManager.persist(user);
+            }
+            threadState.entityManager.flush();
+            threadState.entityManager.clear();
+            threadState.entityManager.getTransaction().commit();
+        } catch (Exception e) {
+            if (threadState.entityManager.getTransaction().isActive()) {
+                threadState.entityManager.getTransaction().rollback();
+            }
+            throw e;
+        }
+        rows.insertedRows += batchSize;
+    }
+
+    @Benchmark
+    public int[] jdbcInsertBatch(ThreadState threadState, Rows rows, JdbcCounters counters) throws SQLException {
+        List<User> users = threadState.users.next(batchSize);
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
+                for (User user : users) {
+                    bindUser(pstmt, 0, user);
+                    pstmt.addBatch();
+                }
+                int[] result = pstmt.executeBatch();
+                conn.commit();
+                rows.insertedRows += batchSize;
+                return result;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    @Benchmark
+    public int jdbcInsertRowByRow(ThreadState threadState, Rows rows, JdbcCounters counters) throws SQLException {
+        List<User> users = threadState.users.next(batchSize);
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
+                int result = 0;
+                for (User user : users) {
+                    bindUser(pstmt, 0, user);
+                    result += pstmt.executeUpdate();
+                }
+                conn.commit();
+                rows.insertedRows += batchSize;
+                return result;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    @Benchmark
+    public int jdbcInsertMultiRow(ThreadState threadState, Rows rows, JdbcCounters counters) throws SQLException {
+        List<User> users = threadState.users.next(batchSize);
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int result = 0;
+                for (int start = 0; start < batchSize; start += MULTI_ROW_CHUNK) {
+                    int chunk = Math.min(MULTI_ROW_CHUNK, batchSize - start);
+                    try (PreparedStatement pstmt = conn.prepareStatement(
+                            chunk == MULTI_ROW_CHUNK || chunk == batchSize ? multiRowSql : multiRowSql(chunk))) {
+                        for (int row = 0; row < chunk; row++) {
+                            bindUser(pstmt, row * 6, users.get(start + row));
+                        }
+                        result += pstmt.executeUpdate();
+                    }
+                }
+                conn.commit();
+                rows.insertedRows += batchSize;
+                return result;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private static void bindUser(PreparedStatement pstmt, int offset, User user) throws SQLException {
+        pstmt.setString(offset + 1, user.getId());
+        pstmt.setString(offset + 2, user.getUsername());
+        pstmt.setString(offset + 3, user.getEmail());
+        pstmt.setInt(offset + 4, user.getAge());
+        pstmt.setString(offset + 5, user.getPhone());
+        pstmt.setString(offset + 6, user.getAddress());
+    }
+
+    private static String multiRowSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_SQL);
+        for (int i = 1; i < rows; i++) {
+            sql.append(", (?, ?, ?, ?, ?, ?)");
+        }
+        return sql.toString();
+    }
+}
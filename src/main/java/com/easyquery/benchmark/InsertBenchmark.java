@@ -2,23 +2,21 @@ package com.easyquery.benchmark;
 
 import com.easyquery.benchmark.entity.User;
 import com.easyquery.benchmark.jooq.generated.tables.pojos.TUser;
-import com.easyquery.benchmark.jooq.generated.tables.records.TUserRecord;
 import com.easyquery.benchmark.hibernate.HibernateUser;
 import com.easyquery.benchmark.hibernate.HibernateUtil;
-import com.easy.query.core.api.client.EasyQueryClient;
+import com.easyquery.benchmark.jdbc.JdbcCounters;
+import com.easyquery.benchmark.jdbc.PoolType;
 import com.easy.query.core.basic.jdbc.tx.Transaction;
-import com.easy.query.core.bootstrapper.EasyQueryBootstrapper;
-import com.easy.query.h2.config.H2DatabaseConfiguration;
 import com.easy.query.api.proxy.client.DefaultEasyEntityQuery;
 import jakarta.persistence.EntityManager;
 import org.jooq.DSLContext;
-import org.jooq.SQLDialect;
 import org.jooq.impl.DSL;
 import org.openjdk.jmh.annotations.*;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.concurrent.TimeUnit;
 
 import static com.easyquery.benchmark.jooq.generated.Tables.T_USER;
@@ -33,134 +31,146 @@ import static com.easyquery.benchmark.jooq.generated.Tables.T_USER;
 @Threads(1)
 public class InsertBenchmark {
 
+    /**
+     * Installs the framework listeners that feed the phase timing profiler
+     * ({@code -prof com.easyquery.benchmark.phase.PhaseProfiler}).
+     */
+    @Param({"false"})
+    public boolean phaseTiming;
+
+    /**
+     * Connection pool behind {@link DatabaseInitializer#getDataSource()}, see {@link PoolType}.
+     */
+    @Param({"HIKARI"})
+    public PoolType pool;
+
+    /**
+     * Maximum number of pooled connections, ignored by {@link PoolType#UNPOOLED}.
+     */
+    @Param({"10"})
+    public int poolSize;
+
+    private DataSource dataSource;
     private DefaultEasyEntityQuery easyEntityQuery;
     private DSLContext jooqDsl;
-    private EntityManager entityManager;
+
+    /**
+     * Per-thread state so the benchmark can be run with more than one thread:
+     * an EntityManager must never be shared between threads.
+     * The users to insert are generated outside the measurement, see {@link FixturePool}.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private EntityManager entityManager;
+        private final FixturePool<User> users = new FixturePool<>(InsertBenchmark::user);
+        private final FixturePool<TUser> jooqUsers = new FixturePool<>(
+                (id, username, index) -> new TUser(id, username, "user@example.com", 25, "1234567890", "Test Address"));
+        private final FixturePool<HibernateUser> hibernateUsers = new FixturePool<>(
+                (id, username, index) -> new HibernateUser(id, username, "user@example.com", 25, "1234567890", "Test Address"));
+
+        @Setup(Level.Trial)
+        public void setup(InsertBenchmark benchmark) {
+            // The benchmark state is injected so that it is always set up before the thread state
+            entityManager = HibernateUtil.createEntityManager(benchmark.phaseTiming);
+        }
+
+        @Setup(Level.Iteration)
+        public void setupIteration() {
+            users.refill();
+            jooqUsers.refill();
+            hibernateUsers.refill();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (entityManager != null && entityManager.isOpen()) {
+                entityManager.close();
+            }
+        }
+    }
 
     @Setup(Level.Trial)
     public void setup() {
-        EasyQueryClient easyQueryClient = EasyQueryBootstrapper.defaultBuilderConfiguration()
-                .setDefaultDataSource(DatabaseInitializer.getDataSource())
-                .optionConfigure(op->{
-                    op.setPrintSql(false);
-                })
-                .useDatabaseConfigure(new H2DatabaseConfiguration())
-                .build();
-        easyEntityQuery = new DefaultEasyEntityQuery(easyQueryClient);
-
-        jooqDsl = DSL.using(DatabaseInitializer.getDataSource(), SQLDialect.H2);
-
-        entityManager = HibernateUtil.createEntityManager();
+        DatabaseInitializer.configurePool(pool, poolSize);
+        easyEntityQuery = BenchmarkClients.easyEntityQuery(DatabaseInitializer.getDataSource(), phaseTiming);
+
+        jooqDsl = BenchmarkClients.jooq(DatabaseInitializer.getDataSource(), phaseTiming);
+
+        dataSource = DatabaseInitializer.getDataSource();
     }
 
     @Setup(Level.Iteration)
     public void setupIteration() {
-        DatabaseInitializer.clearData();
+        DatabaseInitializer.truncateData();
+    }
+
+    private static User user(String id, String username, int index) {
+        return new User(id, username, "user@example.com", 25, "1234567890", "Test Address");
     }
 
     @Benchmark
-    public void easyQueryInsertSingle() {
+    public void easyQueryInsertSingle(ThreadState threadState, JdbcCounters counters) {
+        User user = threadState.users.next();
         try (Transaction transaction = easyEntityQuery.beginTransaction()) {
-            String id = UUID.randomUUID().toString();
-            User user = new User(id, "user_" + id, "user@example.com", 25, "1234567890", "Test Address");
             easyEntityQuery.insertable(user).executeRows();
             transaction.commit();
         }
     }
 
     @Benchmark
-    public void jooqInsertSingle() {
-        String id = UUID.randomUUID().toString();
-        
+    public void jooqInsertSingle(ThreadState threadState, JdbcCounters counters) {
+        TUser user = threadState.jooqUsers.next();
+
         jooqDsl.transaction(configuration -> {
             DSL.using(configuration)
                     .insertInto(T_USER)
-                    .set(T_USER.ID, id)
-                    .set(T_USER.USERNAME, "user_" + id)
-                    .set(T_USER.EMAIL, "user@example.com")
-                    .set(T_USER.AGE, 25)
-                    .set(T_USER.PHONE, "1234567890")
-                    .set(T_USER.ADDRESS, "Test Address")
+                    .set(T_USER.ID, user.getId())
+                    .set(T_USER.USERNAME, user.getUsername())
+                    .set(T_USER.EMAIL, user.getEmail())
+                    .set(T_USER.AGE, user.getAge())
+                    .set(T_USER.PHONE, user.getPhone())
+                    .set(T_USER.ADDRESS, user.getAddress())
                     .execute();
         });
     }
 
-
     @Benchmark
-    public void easyQueryInsertBatch1000() {
-        try (Transaction transaction = easyEntityQuery.beginTransaction()) {
-            List<User> users = new ArrayList<>();
-            for (int i = 0; i < 1000; i++) {
-                String id = UUID.randomUUID().toString();
-                User user = new User(id, "user_" + id, "user@example.com", 25 + (i % 50), "1234567890", "Test Address");
-                users.add(user);
-            }
-            easyEntityQuery.insertable(users).batch(true).executeRows();
-            transaction.commit();
-        }
-    }
-
-
-    @Benchmark
-    public void jooqInsertBatch1000() {
-        List<TUserRecord> records = new ArrayList<>();
-        for (int i = 0; i < 1000; i++) {
-            String id = UUID.randomUUID().toString();
-            TUserRecord record = new TUserRecord();
-            record.setId(id);
-            record.setUsername("user_" + id);
-            record.setEmail("user@example.com");
-            record.setAge(25 + (i % 50));
-            record.setPhone("1234567890");
-            record.setAddress("Test Address");
-            records.add(record);
-        }
-        
-        jooqDsl.transaction(configuration -> {
-            DSL.using(configuration).batchInsert(records).execute();
-        });
-    }
-
-    @Benchmark
-    public void hibernateInsertSingle() {
-        entityManager.getTransaction().begin();
+    public void hibernateInsertSingle(ThreadState threadState, JdbcCounters counters) {
+        HibernateUser user = threadState.hibernateUsers.next();
+        threadState.entityManager.getTransaction().begin();
         try {
-            String id = UUID.randomUUID().toString();
-            HibernateUser user = new HibernateUser(id, "user_" + id, "user@example.com", 25, "1234567890", "Test Address");
-            entityManager.persist(user);
-            entityManager.getTransaction().commit();
+            threadState.entityManager.persist(user);
+            threadState.entityManager.getTransaction().commit();
         } catch (Exception e) {
-            if (entityManager.getTransaction().isActive()) {
-                entityManager.getTransaction().rollback();
+            if (threadState.entityManager.getTransaction().isActive()) {
+                threadState.entityManager.getTransaction().rollback();
             }
             throw e;
         }
     }
 
     @Benchmark
-    public void hibernateInsertBatch1000() {
-        entityManager.getTransaction().begin();
-        try {
-            for (int i = 0; i < 1000; i++) {
-                String id = UUID.randomUUID().toString();
-                HibernateUser user = new HibernateUser(id, "user_" + id, "user@example.com", 25 + (i % 50), "1234567890", "Test Address");
-                entityManager.persist(user);
-            }
-            entityManager.flush();
-            entityManager.clear();
-            entityManager.getTransaction().commit();
-        } catch (Exception e) {
-            if (entityManager.getTransaction().isActive()) {
-                entityManager.getTransaction().rollback();
+    public int jdbcInsertSingle(ThreadState threadState, JdbcCounters counters) throws SQLException {
+        User user = threadState.users.next();
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO t_user (id, username, email, age, phone, address) VALUES (?, ?, ?, ?, ?, ?)")) {
+                pstmt.setString(1, user.getId());
+                pstmt.setString(2, user.getUsername());
+                pstmt.setString(3, user.getEmail());
+                pstmt.setInt(4, user.getAge());
+                pstmt.setString(5, user.getPhone());
+                pstmt.setString(6, user.getAddress());
+                int result = pstmt.executeUpdate();
+                conn.commit();
+                return result;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
-            throw e;
-        }
-    }
-
-    @TearDown(Level.Trial)
-    public void tearDown() {
-        if (entityManager != null && entityManager.isOpen()) {
-            entityManager.close();
         }
     }
 }
@@ -0,0 +1,77 @@
+package com.easyquery.benchmark;
+
+import java.util.SplittableRandom;
+
+/**
+ * How the point lookups and updates pick their keys from the {@code [0, keyCount)} fixture rows.
+ * <p>
+ * The keys are drawn once in setup with {@link #sample(int, int)}, so generating them costs nothing
+ * during the measurement. The hot keys of {@link #ZIPFIAN} and {@link #HOT_SET} are the lowest
+ * indexes, which {@link FixtureLoader#userId(long)} scatters over the primary key index.
+ */
+public enum KeyDistribution {
+
+    /**
+     * Every key equally likely, so the lookups spread over the whole primary key index.
+     */
+    UNIFORM,
+
+    /**
+     * Zipf distributed with the YCSB skew of 0.99 (see {@link Zipfian}).
+     */
+    ZIPFIAN,
+
+    /**
+     * 90% of the draws hit 10% of the keys, the rest is uniform over the others.
+     */
+    HOT_SET;
+
+    /**
+     * Keys drawn per benchmark, which the threads then visit in turn.
+     */
+    public static final int SAMPLES = 1 << 16;
+
+    private static final double HOT_KEYS = 0.1;
+    private static final double HOT_DRAWS = 0.9;
+    // Same keys in every fork, so the forks measure the same workload
+    private static final long SEED = 42;
+
+    public int[] sample(int keyCount, int samples) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        int[] keys = new int[samples];
+        switch (this) {
+            case UNIFORM -> {
+                for (int i = 0; i < samples; i++) {
+                    keys[i] = random.nextInt(keyCount);
+                }
+            }
+            case ZIPFIAN -> {
+                Zipfian zipfian = new Zipfian(keyCount);
+                for (int i = 0; i < samples; i++) {
+                    keys[i] = zipfian.next(random);
+                }
+            }
+            case HOT_SET -> {
+                int hotKeys = Math.max(1, (int) (keyCount * HOT_KEYS));
+                for (int i = 0; i < samples; i++) {
+                    keys[i] = random.nextDouble() < HOT_DRAWS || hotKeys == keyCount
+                            ? random.nextInt(hotKeys)
+                            : hotKeys + random.nextInt(keyCount - hotKeys);
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * The ids of {@link #SAMPLES} drawn fixture users.
+     */
+    public String[] sampleUserIds(int userCount) {
+        int[] keys = sample(userCount, SAMPLES);
+        String[] ids = new String[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            ids[i] = FixtureLoader.userId(keys[i]);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,239 @@
+package com.easyquery.benchmark;
+
+import com.easyquery.benchmark.entity.User;
+import com.easyquery.benchmark.entity.WideUser;
+import com.easyquery.benchmark.jooq.generated.tables.pojos.TUser;
+import com.easyquery.benchmark.jooq.generated.tables.pojos.TWideUser;
+import com.easyquery.benchmark.hibernate.HibernateUser;
+import com.easyquery.benchmark.hibernate.HibernateWideUser;
+import com.easyquery.benchmark.hibernate.HibernateUtil;
+import com.easyquery.benchmark.stub.CannedResult;
+import com.easyquery.benchmark.stub.StubDataSource;
+import com.easy.query.api.proxy.client.DefaultEasyEntityQuery;
+import com.easy.query.core.api.client.EasyQueryClient;
+import com.easy.query.core.bootstrapper.EasyQueryBootstrapper;
+import com.easy.query.h2.config.H2DatabaseConfiguration;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.concurrent.TimeUnit;
+
+import static com.easyquery.benchmark.jooq.generated.Tables.T_USER;
+import static com.easyquery.benchmark.jooq.generated.Tables.T_WIDE_USER;
+
+/**
+ * Result mapping without a database: every framework runs against a {@link StubDataSource} that
+ * answers each query with {@code rowCount} pre-built t_user rows, so the score is the cost of
+ * rendering the query and materializing the rows into entities and nothing else.
+ * <p>
+ * The column count is the second dimension: the {@code MapList} methods read the 6 columns of t_user,
+ * the {@code MapWideList} methods the 24 columns of t_wide_user ({@link WideUser}), with the same
+ * t_user values plus text, number and amount columns.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 10, time = 3)
+@Fork(3)
+@Threads(1)
+public class MappingBenchmark {
+
+    // Hibernate selects the id followed by the other attributes in alphabetical order and reads them by position
+    private static final String[] SCHEMA_COLUMNS = {"id", "username", "email", "age", "phone", "address"};
+    private static final String[] HIBERNATE_COLUMNS = {"id", "address", "age", "email", "phone", "username"};
+    private static final String[] WIDE_SCHEMA_COLUMNS = Stream.of(
+            Arrays.stream(SCHEMA_COLUMNS), columns("text", 8), columns("number", 6), columns("amount", 4))
+            .flatMap(columns -> columns)
+            .toArray(String[]::new);
+    private static final String WIDE_SELECT = "SELECT " + String.join(", ", WIDE_SCHEMA_COLUMNS) + " FROM t_wide_user";
+    private static final String[] HIBERNATE_WIDE_COLUMNS = Stream.concat(
+            Stream.of("id"), Arrays.stream(WIDE_SCHEMA_COLUMNS).filter(column -> !column.equals("id")).sorted())
+            .toArray(String[]::new);
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int rowCount;
+
+    private DataSource dataSource;
+    private DefaultEasyEntityQuery easyEntityQuery;
+    private DSLContext jooqDsl;
+    private EntityManagerFactory entityManagerFactory;
+
+    private DataSource wideDataSource;
+    private DefaultEasyEntityQuery easyEntityQueryWide;
+    private DSLContext jooqDslWide;
+    private EntityManagerFactory entityManagerFactoryWide;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private EntityManager entityManager;
+        private EntityManager wideEntityManager;
+
+        @Setup(Level.Trial)
+        public void setup(MappingBenchmark benchmark) {
+            entityManager = benchmark.entityManagerFactory.createEntityManager();
+            wideEntityManager = benchmark.entityManagerFactoryWide.createEntityManager();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (entityManager != null && entityManager.isOpen()) {
+                entityManager.close();
+            }
+            if (wideEntityManager != null && wideEntityManager.isOpen()) {
+                wideEntityManager.close();
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        CannedResult users = CannedResult.users(rowCount, SCHEMA_COLUMNS);
+        dataSource = new StubDataSource(users);
+        easyEntityQuery = easyEntityQuery(dataSource);
+        jooqDsl = DSL.using(dataSource, SQLDialect.H2);
+        entityManagerFactory = HibernateUtil.createEntityManagerFactory(
+                new StubDataSource(CannedResult.users(rowCount, HIBERNATE_COLUMNS)));
+
+        wideDataSource = new StubDataSource(CannedResult.wideUsers(rowCount, WIDE_SCHEMA_COLUMNS));
+        easyEntityQueryWide = easyEntityQuery(wideDataSource);
+        jooqDslWide = DSL.using(wideDataSource, SQLDialect.H2);
+        entityManagerFactoryWide = HibernateUtil.createEntityManagerFactory(
+                new StubDataSource(CannedResult.wideUsers(rowCount, HIBERNATE_WIDE_COLUMNS)));
+    }
+
+    private static DefaultEasyEntityQuery easyEntityQuery(DataSource dataSource) {
+        EasyQueryClient easyQueryClient = EasyQueryBootstrapper.defaultBuilderConfiguration()
+                .setDefaultDataSource(dataSource)
+                .optionConfigure(op -> {
+                    op.setPrintSql(false);
+                })
+                .useDatabaseConfigure(new H2DatabaseConfiguration())
+                .build();
+        return new DefaultEasyEntityQuery(easyQueryClient);
+    }
+
+    private static Stream<String> columns(String prefix, int count) {
+        return Stream.iterate(1, i -> i + 1).limit(count).map(i -> prefix + i);
+    }
+
+    @Benchmark
+    public List<User> easyQueryMapList() {
+        return easyEntityQuery.queryable(User.class)
+                .toList();
+    }
+
+    @Benchmark
+    public List<TUser> jooqMapList() {
+        return jooqDsl.selectFrom(T_USER)
+                .fetchInto(TUser.class);
+    }
+
+    @Benchmark
+    public List<HibernateUser> hibernateMapList(ThreadState threadState) {
+        // The stub returns the same ids on every call, the entities must not be found in the persistence context
+        threadState.entityManager.clear();
+        return threadState.entityManager.createQuery("SELECT u FROM HibernateUser u", HibernateUser.class)
+                .getResultList();
+    }
+
+    @Benchmark
+    public List<User> jdbcMapList() throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT id, username, email, age, phone, address FROM t_user");
+             ResultSet rs = pstmt.executeQuery()) {
+            List<User> users = new ArrayList<>();
+            while (rs.next()) {
+                users.add(new User(
+                        rs.getString(1),
+                        rs.getString(2),
+                        rs.getString(3),
+                        rs.getInt(4),
+                        rs.getString(5),
+                        rs.getString(6)));
+            }
+            return users;
+        }
+    }
+
+    @Benchmark
+    public List<WideUser> easyQueryMapWideList() {
+        return easyEntityQueryWide.queryable(WideUser.class)
+                .toList();
+    }
+
+    @Benchmark
+    public List<TWideUser> jooqMapWideList() {
+        return jooqDslWide.selectFrom(T_WIDE_USER)
+                .fetchInto(TWideUser.class);
+    }
+
+    @Benchmark
+    public List<HibernateWideUser> hibernateMapWideList(ThreadState threadState) {
+        threadState.wideEntityManager.clear();
+        return threadState.wideEntityManager.createQuery("SELECT u FROM HibernateWideUser u", HibernateWideUser.class)
+                .getResultList();
+    }
+
+    @Benchmark
+    public List<WideUser> jdbcMapWideList() throws SQLException {
+        try (Connection conn = wideDataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(WIDE_SELECT);
+             ResultSet rs = pstmt.executeQuery()) {
+            List<WideUser> users = new ArrayList<>();
+            while (rs.next()) {
+                WideUser user = new WideUser();
+                user.setId(rs.getString(1));
+                user.setUsername(rs.getString(2));
+                user.setEmail(rs.getString(3));
+                user.setAge(rs.getInt(4));
+                user.setPhone(rs.getString(5));
+                user.setAddress(rs.getString(6));
+                user.setText1(rs.getString(7));
+                user.setText2(rs.getString(8));
+                user.setText3(rs.getString(9));
+                user.setText4(rs.getString(10));
+                user.setText5(rs.getString(11));
+                user.setText6(rs.getString(12));
+                user.setText7(rs.getString(13));
+                user.setText8(rs.getString(14));
+                user.setNumber1(rs.getInt(15));
+                user.setNumber2(rs.getInt(16));
+                user.setNumber3(rs.getInt(17));
+                user.setNumber4(rs.getInt(18));
+                user.setNumber5(rs.getInt(19));
+                user.setNumber6(rs.getInt(20));
+                user.setAmount1(rs.getBigDecimal(21));
+                user.setAmount2(rs.getBigDecimal(22));
+                user.setAmount3(rs.getBigDecimal(23));
+                user.setAmount4(rs.getBigDecimal(24));
+                users.add(user);
+            }
+            return users;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (entityManagerFactory != null && entityManagerFactory.isOpen()) {
+            entityManagerFactory.close();
+        }
+        if (entityManagerFactoryWide != null && entityManagerFactoryWide.isOpen()) {
+            entityManagerFactoryWide.close();
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.easyquery.benchmark;
+
+import com.easyquery.benchmark.entity.User;
+import com.easyquery.benchmark.jooq.generated.tables.pojos.TUser;
+import com.easyquery.benchmark.jooq.generated.tables.records.TUserRecord;
+import com.easyquery.benchmark.hibernate.HibernateUser;
+import com.easyquery.benchmark.hibernate.HibernateUtil;
+import com.easyquery.benchmark.jdbc.JdbcCounters;
+import com.easyquery.benchmark.jdbc.PoolType;
+import com.easy.query.api.proxy.client.DefaultEasyEntityQuery;
+import com.easy.query.core.api.pagination.EasyPageResult;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.jooq.DSLContext;
+import org.jooq.ResultQuery;
+import org.jooq.SelectSeekStep1;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.easyquery.benchmark.jooq.generated.Tables.T_USER;
+
+/**
+ * Fetches page {@link #page} of the users with {@code age >= 25} ordered by username descending, the list
+ * of {@link QueryBenchmark}, in three ways:
+ * <ul>
+ *   <li>{@code OffsetPage}: {@code LIMIT 10 OFFSET (page - 1) * 10}, the database reads and discards all
+ *   earlier rows</li>
+ *   <li>{@code KeysetPage}: {@code username < ?} with the last username of the previous page, which seeks
+ *   into {@code idx_user_username}</li>
+ *   <li>{@code PageWithCount}: the offset page together with the total count a paged API returns</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 10, time = 3)
+@Fork(3)
+@Threads(1)
+public class PaginationBenchmark {
+
+    // 90% of the users are 25 or older, enough for 10,000 full pages
+    private static final int USER_COUNT = 120_000;
+    private static final int PAGE_SIZE = 10;
+    private static final int MIN_AGE = 25;
+
+    /**
+     * The 1-based page to fetch.
+     */
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int page;
+
+    /**
+     * Installs the framework listeners that feed the phase timing profiler
+     * ({@code -prof com.easyquery.benchmark.phase.PhaseProfiler}).
+     */
+    @Param({"false"})
+    public boolean phaseTiming;
+
+    /**
+     * Connection pool behind {@link DatabaseInitializer#getDataSource()}, see {@link PoolType}.
+     */
+    @Param({"HIKARI"})
+    public PoolType pool;
+
+    /**
+     * Maximum number of pooled connections, ignored by {@link PoolType#UNPOOLED}.
+     */
+    @Param({"10"})
+    public int poolSize;
+
+    private DataSource dataSource;
+    private DefaultEasyEntityQuery easyEntityQuery;
+    private DSLContext jooqDsl;
+    private int offset;
+    // Last username of the previous page as a client would send it back, null for the first page
+    private String cursor;
+
+    /**
+     * A page and the total number of rows, as returned by a paged API.
+     */
+    public record Page<T>(List<T> rows, long total) {
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private EntityManager entityManager;
+
+        @Setup(Level.Trial)
+        public void setup(PaginationBenchmark benchmark) {
+            entityManager = HibernateUtil.createEntityManager(benchmark.phaseTiming);
+        }
+
+        @Setup(Level.Iteration)
+        public void setupIteration() {
+            // Clear Hibernate's first-level cache to ensure fair comparison
+            entityManager.clear();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (entityManager != null && entityManager.isOpen()) {
+                entityManager.close();
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        DatabaseInitializer.configurePool(pool, poolSize);
+        DatabaseInitializer.getDataSource();
+        DatabaseInitializer.clearData();
+
+        easyEntityQuery = BenchmarkClients.easyEntityQuery(DatabaseInitializer.getDataSource(), phaseTiming);
+
+        jooqDsl = BenchmarkClients.jooq(DatabaseInitializer.getDataSource(), phaseTiming);
+
+        dataSource = DatabaseInitializer.getDataSource();
+
+        FixtureLoader.loadUsers(USER_COUNT, i -> 20 + (i % 50));
+        offset = (page - 1) * PAGE_SIZE;
+        cursor = offset > 0 ? lastUsernameBefore(offset) : null;
+    }
+
+    private static String lastUsernameBefore(int offset) throws SQLException {
+        try (Connection conn = DatabaseInitializer.openConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT username FROM t_user WHERE age >= ? ORDER BY username DESC LIMIT 1 OFFSET ?")) {
+            pstmt.setInt(1, MIN_AGE);
+            pstmt.setInt(2, offset - 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IllegalStateException("Fewer than " + offset + " users to page through");
+                }
+                return rs.getString(1);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<User> easyQueryOffsetPage(JdbcCounters counters) {
+        return easyEntityQuery.queryable(User.class)
+                .where(u -> u.age().ge(MIN_AGE))
+                .orderBy(u -> u.username().desc())
+                .limit(offset, PAGE_SIZE)
+                .toList();
+    }
+
+    @Benchmark
+    public List<User> easyQueryKeysetPage(JdbcCounters counters) {
+        return easyEntityQuery.queryable(User.class)
+                .where(u -> u.age().ge(MIN_AGE))
+                .where(cursor != null, u -> u.username().lt(cursor))
+                .orderBy(u -> u.username().desc())
+                .limit(PAGE_SIZE)
+                .toList();
+    }
+
+    @Benchmark
+    public EasyPageResult<User> easyQueryPageWithCount(JdbcCounters counters) {
+        return easyEntityQuery.queryable(User.class)
+                .where(u -> u.age().ge(MIN_AGE))
+                .orderBy(u -> u.username().desc())
+                .toPageResult(page, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<TUser> jooqOffsetPage(JdbcCounters counters) {
+        return jooqDsl.selectFrom(T_USER)
+                .where(T_USER.AGE.ge(MIN_AGE))
+                .orderBy(T_USER.USERNAME.desc())
+                .limit(PAGE_SIZE)
+                .offset(offset)
+                .fetchInto(TUser.class);
+    }
+
+    @Benchmark
+    public List<TUser> jooqKeysetPage(JdbcCounters counters) {
+        SelectSeekStep1<TUserRecord, String> ordered = jooqDsl.selectFrom(T_USER)
+                .where(T_USER.AGE.ge(MIN_AGE))
+                .orderBy(T_USER.USERNAME.desc());
+        ResultQuery<TUserRecord> query = cursor != null
+                ? ordered.seek(cursor).limit(PAGE_SIZE)
+                : ordered.limit(PAGE_SIZE);
+        return query.fetchInto(TUser.class);
+    }
+
+    @Benchmark
+    public Page<TUser> jooqPageWithCount(JdbcCounters counters) {
+        long total = jooqDsl.fetchCount(T_USER, T_USER.AGE.ge(MIN_AGE));
+        return new Page<>(jooqOffsetPage(counters), total);
+    }
+
+    @Benchmark
+    public List<HibernateUser> hibernateOffsetPage(ThreadState threadState, JdbcCounters counters) {
+        TypedQuery<HibernateUser> query = threadState.entityManager.createQuery(
+                "SELECT u FROM HibernateUser u WHERE u.age >= :age ORDER BY u.username DESC",
+                HibernateUser.class);
+        query.setParameter("age", MIN_AGE);
+        query.setFirstResult(offset);
+        query.setMaxResults(PAGE_SIZE);
+        return query.getResultList();
+    }
+
+    @Benchmark
+    public List<HibernateUser> hibernateKeysetPage(ThreadState threadState, JdbcCounters counters) {
+        TypedQuery<HibernateUser> query;
+        if (cursor != null) {
+            query = threadState.entityManager.createQuery(
+                    "SELECT u FROM HibernateUser u WHERE u.age >= :age AND u.username < :cursor ORDER BY u.username DESC",
+                    HibernateUser.class);
+            query.setParameter("cursor", cursor);
+        } else {
+            query = threadState.entityManager.createQuery(
+                    "SELECT u FROM HibernateUser u WHERE u.age >= :age ORDER BY u.username DESC",
+                    HibernateUser.class);
+        }
+        query.setParameter("age", MIN_AGE);
+        query.setMaxResults(PAGE_SIZE);
+        return query.getResultList();
+    }
+
+    @Benchmark
+    public Page<HibernateUser> hibernatePageWithCount(ThreadState threadState, JdbcCounters counters) {
+        TypedQuery<Long> count = threadState.entityManager.createQuery(
+                "SELECT COUNT(u) FROM HibernateUser u WHERE u.age >= :age", Long.class);
+        count.setParameter("age", MIN_AGE);
+        long total = count.getSingleResult();
+        return new Page<>(hibernateOffsetPage(threadState, counters), total);
+    }
+
+    @Benchmark
+    public List<User> jdbcOffsetPage(JdbcCounters counters) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT id, username, email, age, phone, address FROM t_user WHERE age >= ? ORDER BY username DESC LIMIT ? OFFSET ?")) {
+            pstmt.setInt(1, MIN_AGE);
+            pstmt.setInt(2, PAGE_SIZE);
+            pstmt.setInt(3, offset);
+            return mapUsers(pstmt);
+        }
+    }
+
+    @Benchmark
+    public List<User> jdbcKeysetPage(JdbcCounters counters) throws SQLException {
+        String sql = cursor != null
+                ? "SELECT id, username, email, age, phone, address FROM t_user WHERE age >= ? AND username < ? ORDER BY username DESC LIMIT ?"
+                : "SELECT id, username, email, age, phone, address FROM t_user WHERE age >= ? ORDER BY username DESC LIMIT ?";
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            pstmt.setInt(index++, MIN_AGE);
+            if (cursor != null) {
+                pstmt.setString(index++, cursor);
+            }
+            pstmt.setInt(index, PAGE_SIZE);
+            return mapUsers(pstmt);
+        }
+    }
+
+    @Benchmark
+    public Page<User> jdbcPageWithCount(JdbcCounters counters) throws SQLException {
+        long total;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT COUNT(*) FROM t_user WHERE age >= ?")) {
+            pstmt.setInt(1, MIN_AGE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                total = rs.getLong(1);
+            }
+        }
+        return new Page<>(jdbcOffsetPage(counters), total);
+    }
+
+    private static List<User> mapUsers(PreparedStatement pstmt) throws SQLException {
+        try (ResultSet rs = pstmt.executeQuery()) {
+            List<User> users = new ArrayList<>();
+            while (rs.next()) {
+                users.add(new User(
+                        rs.getString(1),
+                        rs.getString(2),
+                        rs.getString(3),
+                        rs.getInt(4),
+                        rs.getString(5),
+                        rs.getString(6)));
+            }
+            return users;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DatabaseInitializer.clearData();
+    }
+}
@@ -0,0 +1,349 @@
+package com.easyquery.benchmark;
+
+import com.easyquery.benchmark.dto.OrderSummary;
+import com.easyquery.benchmark.dto.UserName;
+import com.easyquery.benchmark.entity.Order;
+import com.easyquery.benchmark.entity.User;
+import com.easyquery.benchmark.jooq.generated.tables.pojos.TOrder;
+import com.easyquery.benchmark.jooq.generated.tables.pojos.TUser;
+import com.easyquery.benchmark.hibernate.HibernateOrder;
+import com.easyquery.benchmark.hibernate.HibernateUser;
+import com.easyquery.benchmark.hibernate.HibernateUtil;
+import com.easyquery.benchmark.jdbc.JdbcCounters;
+import com.easyquery.benchmark.jdbc.PoolType;
+import com.easy.query.api.proxy.client.DefaultEasyEntityQuery;
+import com.easy.query.core.proxy.sql.Select;
+import jakarta.persistence.EntityManager;
+import org.jooq.DSLContext;
+import org.jooq.Records;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.easyquery.benchmark.jooq.generated.Tables.T_ORDER;
+import static com.easyquery.benchmark.jooq.generated.Tables.T_USER;
+
+/**
+ * Reads the same rows once as full entities and once as a DTO of only the columns a caller needs:
+ * <ul>
+ *   <li>{@code FullUsers} / {@code UserNames}: {@link #rowCount} users with {@code age >= 25} ordered by
+ *   username, all six columns versus id and username</li>
+ *   <li>{@code FullOrders} / {@code OrderSummaries}: {@link #rowCount} orders of the users aged 30, joined
+ *   to t_user, all order columns versus order number, amount and the username of the join</li>
+ * </ul>
+ * Setup pads address and remark to their declared width of 200 and 500 characters, which is what the
+ * projections leave out. Run with {@code -prof gc} to compare the bytes allocated per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 10, time = 3)
+@Fork(3)
+@Threads(1)
+public class ProjectionBenchmark {
+
+    // 200 users aged 30 with about 700 orders
+    private static final int USER_COUNT = 10_000;
+    private static final int MIN_AGE = 25;
+    private static final int AGE = 30;
+
+    private static final String FULL_USERS_SQL =
+            "SELECT id, username, email, age, phone, address FROM t_user WHERE age >= ? ORDER BY username LIMIT ?";
+    private static final String USER_NAMES_SQL =
+            "SELECT id, username FROM t_user WHERE age >= ? ORDER BY username LIMIT ?";
+    private static final String FULL_ORDERS_SQL =
+            "SELECT o.id, o.user_id, o.order_no, o.amount, o.status, o.remark FROM t_order o " +
+            "INNER JOIN t_user u ON u.id = o.user_id WHERE u.age = ? ORDER BY o.order_no LIMIT ?";
+    private static final String ORDER_SUMMARIES_SQL =
+            "SELECT u.username, o.order_no, o.amount FROM t_order o " +
+            "INNER JOIN t_user u ON u.id = o.user_id WHERE u.age = ? ORDER BY o.order_no LIMIT ?";
+
+    /**
+     * Rows returned per query.
+     */
+    @Param({"10", "500"})
+    public int rowCount;
+
+    /**
+     * Installs the framework listeners that feed the phase timing profiler
+     * ({@code -prof com.easyquery.benchmark.phase.PhaseProfiler}).
+     */
+    @Param({"false"})
+    public boolean phaseTiming;
+
+    /**
+     * Connection pool behind {@link DatabaseInitializer#getDataSource()}, see {@link PoolType}.
+     */
+    @Param({"HIKARI"})
+    public PoolType pool;
+
+    /**
+     * Maximum number of pooled connections, ignored by {@link PoolType#UNPOOLED}.
+     */
+    @Param({"10"})
+    public int poolSize;
+
+    private DataSource dataSource;
+    private DefaultEasyEntityQuery easyEntityQuery;
+    private DSLContext jooqDsl;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private EntityManager entityManager;
+
+        @Setup(Level.Trial)
+        public void setup(ProjectionBenchmark benchmark) {
+            entityManager = HibernateUtil.createEntityManager(benchmark.phaseTiming);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (entityManager != null && entityManager.isOpen()) {
+                entityManager.close();
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        DatabaseInitializer.configurePool(pool, poolSize);
+        DatabaseInitializer.getDataSource();
+        DatabaseInitializer.clearData();
+
+        easyEntityQuery = BenchmarkClients.easyEntityQuery(DatabaseInitializer.getDataSource(), phaseTiming);
+
+        jooqDsl = BenchmarkClients.jooq(DatabaseInitializer.getDataSource(), phaseTiming);
+
+        dataSource = DatabaseInitializer.getDataSource();
+
+        FixtureLoader.loadUsersAndOrders(USER_COUNT, i -> 20 + (i % 50));
+        try (Connection conn = DatabaseInitializer.openConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("UPDATE t_user SET address = RPAD(address, 200, '.')");
+            stmt.executeUpdate("UPDATE t_order SET remark = RPAD(remark, 500, '.')");
+        }
+    }
+
+    @Benchmark
+    public List<User> easyQueryFullUsers(JdbcCounters counters) {
+        return easyEntityQuery.queryable(User.class)
+                .where(u -> u.age().ge(MIN_AGE))
+                .orderBy(u -> u.username().asc())
+                .limit(rowCount)
+                .toList();
+    }
+
+    @Benchmark
+    public List<UserName> easyQueryUserNames(JdbcCounters counters) {
+        return easyEntityQuery.queryable(User.class)
+                .where(u -> u.age().ge(MIN_AGE))
+                .orderBy(u -> u.username().asc())
+                .limit(rowCount)
+                .select(UserName.class)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Order> easyQueryFullOrders(JdbcCounters counters) {
+        return easyEntityQuery.queryable(Order.class)
+                .innerJoin(User.class, (o, u) -> o.userId().eq(u.id()))
+                .where((o, u) -> u.age().eq(AGE))
+                .orderBy((o, u) -> o.orderNo().asc())
+                .limit(rowCount)
+                .toList();
+    }
+
+    @Benchmark
+    public List<OrderSummary> easyQueryOrderSummaries(JdbcCounters counters) {
+        return easyEntityQuery.queryable(Order.class)
+                .innerJoin(User.class, (o, u) -> o.userId().eq(u.id()))
+                .where((o, u) -> u.age().eq(AGE))
+                .orderBy((o, u) -> o.orderNo().asc())
+                .limit(rowCount)
+                .select(OrderSummary.class, (o, u) -> Select.of(
+                        u.username().as(OrderSummary::getUsername),
+                        o.orderNo().as(OrderSummary::getOrderNo),
+                        o.amount().as(OrderSummary::getAmount)))
+                .toList();
+    }
+
+    @Benchmark
+    public List<TUser> jooqFullUsers(JdbcCounters counters) {
+        return jooqDsl.selectFrom(T_USER)
+                .where(T_USER.AGE.ge(MIN_AGE))
+                .orderBy(T_USER.USERNAME)
+                .limit(rowCount)
+                .fetchInto(TUser.class);
+    }
+
+    @Benchmark
+    public List<UserName> jooqUserNames(JdbcCounters counters) {
+        return jooqDsl.select(T_USER.ID, T_USER.USERNAME)
+                .from(T_USER)
+                .where(T_USER.AGE.ge(MIN_AGE))
+                .orderBy(T_USER.USERNAME)
+                .limit(rowCount)
+                .fetch(Records.mapping(UserName::new));
+    }
+
+    @Benchmark
+    public List<TOrder> jooqFullOrders(JdbcCounters counters) {
+        return jooqDsl.select(T_ORDER.fields())
+                .from(T_ORDER)
+                .join(T_USER).on(T_USER.ID.eq(T_ORDER.USER_ID))
+                .where(T_USER.AGE.eq(AGE))
+                .orderBy(T_ORDER.ORDER_NO)
+                .limit(rowCount)
+                .fetchInto(TOrder.class);
+    }
+
+    @Benchmark
+    public List<OrderSummary> jooqOrderSummaries(JdbcCounters counters) {
+        return jooqDsl.select(T_USER.USERNAME, T_ORDER.ORDER_NO, T_ORDER.AMOUNT)
+                .from(T_ORDER)
+                .join(T_USER).on(T_USER.ID.eq(T_ORDER.USER_ID))
+                .where(T_USER.AGE.eq(AGE))
+                .orderBy(T_ORDER.ORDER_NO)
+                .limit(rowCount)
+                .fetch(Records.mapping(OrderSummary::new));
+    }
+
+    @Benchmark
+    public List<HibernateUser> hibernateFullUsers(ThreadState threadState, JdbcCounters counters) {
+        List<HibernateUser> users = threadState.entityManager.createQuery(
+                        "SELECT u FROM HibernateUser u WHERE u.age >= :age ORDER BY u.username",
+                        HibernateUser.class)
+                .setParameter("age", MIN_AGE)
+                .setMaxResults(rowCount)
+                .getResultList();
+        // Managed entities would otherwise be reused instead of materialized on the next call
+        threadState.entityManager.clear();
+        return users;
+    }
+
+    @Benchmark
+    public List<UserName> hibernateUserNames(ThreadState threadState, JdbcCounters counters) {
+        return threadState.entityManager.createQuery(
+                        "SELECT new com.easyquery.benchmark.dto.UserName(u.id, u.username) " +
+                        "FROM HibernateUser u WHERE u.age >= :age ORDER BY u.username",
+                        UserName.class)
+                .setParameter("age", MIN_AGE)
+                .setMaxResults(rowCount)
+                .getResultList();
+    }
+
+    @Benchmark
+    public List<HibernateOrder> hibernateFullOrders(ThreadState threadState, JdbcCounters counters) {
+        List<HibernateOrder> orders = threadState.entityManager.createQuery(
+                        "SELECT o FROM HibernateOrder o JOIN HibernateUser u ON u.id = o.userId " +
+                        "WHERE u.age = :age ORDER BY o.orderNo",
+                        HibernateOrder.class)
+                .setParameter("age", AGE)
+                .setMaxResults(rowCount)
+                .getResultList();
+        threadState.entityManager.clear();
+        return orders;
+    }
+
+    @Benchmark
+    public List<OrderSummary> hibernateOrderSummaries(ThreadState threadState, JdbcCounters counters) {
+        return threadState.entityManager.createQuery(
+                        "SELECT new com.easyquery.benchmark.dto.OrderSummary(u.username, o.orderNo, o.amount) " +
+                        "FROM HibernateOrder o JOIN HibernateUser u ON u.id = o.userId " +
+                        "WHERE u.age = :age ORDER BY o.orderNo",
+                        OrderSummary.class)
+                .setParameter("age", AGE)
+                .setMaxResults(rowCount)
+                .getResultList();
+    }
+
+    @Benchmark
+    public List<User> jdbcFullUsers(JdbcCounters counters) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FULL_USERS_SQL)) {
+            pstmt.setInt(1, MIN_AGE);
+            pstmt.setInt(2, rowCount);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<User> users = new ArrayList<>();
+                while (rs.next()) {
+                    users.add(new User(
+                            rs.getString(1),
+                            rs.getString(2),
+                            rs.getString(3),
+                            rs.getInt(4),
+                            rs.getString(5),
+                            rs.getString(6)));
+                }
+                return users;
+            }
+        }
+    }
+
+    @Benchmark
+    public List<UserName> jdbcUserNames(JdbcCounters counters) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(USER_NAMES_SQL)) {
+            pstmt.setInt(1, MIN_AGE);
+            pstmt.setInt(2, rowCount);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<UserName> users = new ArrayList<>();
+                while (rs.next()) {
+                    users.add(new UserName(rs.getString(1), rs.getString(2)));
+                }
+                return users;
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Order> jdbcFullOrders(JdbcCounters counters) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(FULL_ORDERS_SQL)) {
+            pstmt.setInt(1, AGE);
+            pstmt.setInt(2, rowCount);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<Order> orders = new ArrayList<>();
+                while (rs.next()) {
+                    orders.add(new Order(
+                            rs.getString(1),
+                            rs.getString(2),
+                            rs.getString(3),
+                            rs.getBigDecimal(4),
+                            rs.getInt(5),
+                            rs.getString(6)));
+                }
+                return orders;
+            }
+        }
+    }
+
+    @Benchmark
+    public List<OrderSummary> jdbcOrderSummaries(JdbcCounters counters) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(ORDER_SUMMARIES_SQL)) {
+            pstmt.setInt(1, AGE);
+            pstmt.setInt(2, rowCount);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<OrderSummary> summaries = new ArrayList<>();
+                while (rs.next()) {
+                    summaries.add(new OrderSummary(rs.getString(1), rs.getString(2), rs.getBigDecimal(3)));
+                }
+                return summaries;
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DatabaseInitializer.clearData();
+    }
+}
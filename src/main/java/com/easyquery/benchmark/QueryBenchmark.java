@@ -4,19 +4,22 @@ import com.easyquery.benchmark.entity.User;
 import com.easyquery.benchmark.jooq.generated.tables.pojos.TUser;
 import com.easyquery.benchmark.hibernate.HibernateUser;
 import com.easyquery.benchmark.hibernate.HibernateUtil;
+import com.easyquery.benchmark.jdbc.JdbcCounters;
+import com.easyquery.benchmark.jdbc.PoolType;
 import com.easy.query.api.proxy.client.DefaultEasyEntityQuery;
-import com.easy.query.core.api.client.EasyQueryClient;
-import com.easy.query.core.bootstrapper.EasyQueryBootstrapper;
-import com.easy.query.h2.config.H2DatabaseConfiguration;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import org.jooq.DSLContext;
-import org.jooq.SQLDialect;
-import org.jooq.impl.DSL;
 import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 import static com.easyquery.benchmark.jooq.generated.Tables.T_USER;
@@ -31,71 +34,112 @@ import static com.easyquery.benchmark.jooq.generated.Tables.T_USER;
 @Threads(1)
 public class QueryBenchmark {
 
+    /**
+     * Number of users in t_user, so the results can be plotted against table size.
+     */
+    @Param({"1000"})
+    public int userCount;
+
+    /**
+     * How the select by id picks its users from the whole table, see {@link KeyDistribution}.
+     */
+    @Param({"UNIFORM"})
+    public KeyDistribution keys;
+
+    /**
+     * Installs the framework listeners that feed the phase timing profiler
+     * ({@code -prof com.easyquery.benchmark.phase.PhaseProfiler}).
+     */
+    @Param({"false"})
+    public boolean phaseTiming;
+
+    /**
+     * Connection pool behind {@link DatabaseInitializer#getDataSource()}, see {@link PoolType}.
+     */
+    @Param({"HIKARI"})
+    public PoolType pool;
+
+    /**
+     * Maximum number of pooled connections, ignored by {@link PoolType#UNPOOLED}.
+     */
+    @Param({"10"})
+    public int poolSize;
+
+    private DataSource dataSource;
     private DefaultEasyEntityQuery easyEntityQuery;
     private DSLContext jooqDsl;
-    private EntityManager entityManager;
     private String[] testUserIds;
-    private int userIdIndex = 0;
+
+    /**
+     * Per-thread state so the benchmark can be run with more than one thread:
+     * every thread owns its EntityManager and its own cursor over the test ids.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private EntityManager entityManager;
+        private int startIndex;
+        private int userIdIndex;
+
+        @Setup(Level.Trial)
+        public void setup(QueryBenchmark benchmark, ThreadParams threadParams) {
+            entityManager = HibernateUtil.createEntityManager(benchmark.phaseTiming);
+            // Spread the cursors so that concurrent threads do not hit the same row in lock step
+            startIndex = threadParams.getThreadIndex() * benchmark.testUserIds.length / threadParams.getThreadCount();
+        }
+
+        @Setup(Level.Iteration)
+        public void setupIteration() {
+            userIdIndex = startIndex;
+            // Clear Hibernate's first-level cache to ensure fair comparison
+            entityManager.clear();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (entityManager != null && entityManager.isOpen()) {
+                entityManager.close();
+            }
+        }
+    }
 
     @Setup(Level.Trial)
     public void setup() {
+        DatabaseInitializer.configurePool(pool, poolSize);
         DatabaseInitializer.getDataSource();
         DatabaseInitializer.clearData();
 
-        EasyQueryClient easyQueryClient = EasyQueryBootstrapper.defaultBuilderConfiguration()
-                .setDefaultDataSource(DatabaseInitializer.getDataSource())
-                .optionConfigure(op->{
-                    op.setPrintSql(false);
-                })
-                .useDatabaseConfigure(new H2DatabaseConfiguration())
-                .build();
-        easyEntityQuery = new DefaultEasyEntityQuery(easyQueryClient);
+        easyEntityQuery = BenchmarkClients.easyEntityQuery(DatabaseInitializer.getDataSource(), phaseTiming);
 
-        jooqDsl = DSL.using(DatabaseInitializer.getDataSource(), SQLDialect.H2);
+        jooqDsl = BenchmarkClients.jooq(DatabaseInitializer.getDataSource(), phaseTiming);
 
-        entityManager = HibernateUtil.createEntityManager();
+        dataSource = DatabaseInitializer.getDataSource();
 
         insertTestData();
     }
 
-    @Setup(Level.Iteration)
-    public void setupIteration() {
-        userIdIndex = 0;
-        // Clear Hibernate's first-level cache to ensure fair comparison
-        if (entityManager != null && entityManager.isOpen()) {
-            entityManager.clear();
-        }
-    }
-
     private void insertTestData() {
-        testUserIds = new String[100];
-        for (int i = 0; i < 1000; i++) {
-            String id = UUID.randomUUID().toString();
-            if (i >= 400 && i < 500) {
-                testUserIds[i - 400] = id;
-            }
-            DatabaseInitializer.insertUserWithJdbc(id, "user_" + i, "user" + i + "@example.com", 20 + (i % 50), "1234567890", "Address " + i);
-        }
+        FixtureLoader.loadUsers(userCount, i -> 20 + (i % 50));
+        testUserIds = keys.sampleUserIds(userCount);
     }
 
     @Benchmark
-    public User easyQuerySelectById() {
-        String userId = testUserIds[(userIdIndex++) % testUserIds.length];
+    public User easyQuerySelectById(ThreadState threadState, JdbcCounters counters) {
+        String userId = testUserIds[(threadState.userIdIndex++) % testUserIds.length];
         return easyEntityQuery.queryable(User.class)
                 .where(u -> u.id().eq(userId))
                 .firstOrNull();
     }
 
     @Benchmark
-    public TUser jooqSelectById() {
-        String userId = testUserIds[(userIdIndex++) % testUserIds.length];
+    public TUser jooqSelectById(ThreadState threadState, JdbcCounters counters) {
+        String userId = testUserIds[(threadState.userIdIndex++) % testUserIds.length];
         return jooqDsl.selectFrom(T_USER)
                 .where(T_USER.ID.eq(userId))
                 .fetchOneInto(TUser.class);
     }
 
     @Benchmark
-    public List<User> easyQuerySelectList() {
+    public List<User> easyQuerySelectList(JdbcCounters counters) {
         return easyEntityQuery.queryable(User.class)
                 .where(u -> u.age().ge(25))
                 .orderBy(u -> u.username().desc())
@@ -104,7 +148,7 @@ public class QueryBenchmark {
     }
 
     @Benchmark
-    public List<TUser> jooqSelectList() {
+    public List<TUser> jooqSelectList(JdbcCounters counters) {
         return jooqDsl.selectFrom(T_USER)
                 .where(T_USER.AGE.ge(25))
                 .orderBy(T_USER.USERNAME.desc())
@@ -113,7 +157,7 @@ public class QueryBenchmark {
     }
 
     @Benchmark
-    public long easyQueryCount() {
+    public long easyQueryCount(JdbcCounters counters) {
         return easyEntityQuery.queryable(User.class)
                 .where(u -> {
                     u.age().ge(25);
@@ -123,7 +167,7 @@ public class QueryBenchmark {
     }
 
     @Benchmark
-    public Integer jooqCount() {
+    public Integer jooqCount(JdbcCounters counters) {
         return jooqDsl.selectCount()
                 .from(T_USER)
                 .where(T_USER.AGE.ge(25).and(T_USER.AGE.le(35)))
@@ -131,18 +175,18 @@ public class QueryBenchmark {
     }
 
     @Benchmark
-    public HibernateUser hibernateSelectById() {
-        String userId = testUserIds[(userIdIndex++) % testUserIds.length];
+    public HibernateUser hibernateSelectById(ThreadState threadState, JdbcCounters counters) {
+        String userId = testUserIds[(threadState.userIdIndex++) % testUserIds.length];
         // Use native query instead of find() to avoid first-level cache advantage
-        return (HibernateUser) entityManager.createNativeQuery(
+        return (HibernateUser) threadState.entityManager.createNativeQuery(
                 "SELECT * FROM t_user WHERE id = ?", HibernateUser.class)
                 .setParameter(1, userId)
                 .getSingleResult();
     }
 
     @Benchmark
-    public List<HibernateUser> hibernateSelectList() {
-        TypedQuery<HibernateUser> query = entityManager.createQuery(
+    public List<HibernateUser> hibernateSelectList(ThreadState threadState, JdbcCounters counters) {
+        TypedQuery<HibernateUser> query = threadState.entityManager.createQuery(
                 "SELECT u FROM HibernateUser u WHERE u.age >= :age ORDER BY u.username DESC",
                 HibernateUser.class);
         query.setParameter("age", 25);
@@ -151,8 +195,8 @@ public class QueryBenchmark {
     }
 
     @Benchmark
-    public long hibernateCount() {
-        TypedQuery<Long> query = entityManager.createQuery(
+    public long hibernateCount(ThreadState threadState, JdbcCounters counters) {
+        TypedQuery<Long> query = threadState.entityManager.createQuery(
                 "SELECT COUNT(u) FROM HibernateUser u WHERE u.age >= :minAge AND u.age <= :maxAge",
                 Long.class);
         query.setParameter("minAge", 25);
@@ -160,11 +204,61 @@ public class QueryBenchmark {
         return query.getSingleResult();
     }
 
+    @Benchmark
+    public User jdbcSelectById(ThreadState threadState, JdbcCounters counters) throws SQLException {
+        String userId = testUserIds[(threadState.userIdIndex++) % testUserIds.length];
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT id, username, email, age, phone, address FROM t_user WHERE id = ?")) {
+            pstmt.setString(1, userId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? mapUser(rs) : null;
+            }
+        }
+    }
+
+    @Benchmark
+    public List<User> jdbcSelectList(JdbcCounters counters) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT id, username, email, age, phone, address FROM t_user WHERE age >= ? ORDER BY username DESC LIMIT ?")) {
+            pstmt.setInt(1, 25);
+            pstmt.setInt(2, 10);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                List<User> users = new ArrayList<>();
+                while (rs.next()) {
+                    users.add(mapUser(rs));
+                }
+                return users;
+            }
+        }
+    }
+
+    @Benchmark
+    public long jdbcCount(JdbcCounters counters) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT COUNT(*) FROM t_user WHERE age >= ? AND age <= ?")) {
+            pstmt.setInt(1, 25);
+            pstmt.setInt(2, 35);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private static User mapUser(ResultSet rs) throws SQLException {
+        return new User(
+                rs.getString(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getInt(4),
+                rs.getString(5),
+                rs.getString(6));
+    }
+
     @TearDown(Level.Trial)
     public void tearDown() {
-        if (entityManager != null && entityManager.isOpen()) {
-            entityManager.close();
-        }
         DatabaseInitializer.clearData();
     }
 }
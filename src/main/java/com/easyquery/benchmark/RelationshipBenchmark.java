@@ -0,0 +1,349 @@
+package com.easyquery.benchmark;
+
+import com.easyquery.benchmark.entity.Order;
+import com.easyquery.benchmark.entity.User;
+import com.easyquery.benchmark.jooq.generated.tables.pojos.TOrder;
+import com.easyquery.benchmark.jooq.generated.tables.pojos.TUser;
+import com.easyquery.benchmark.jooq.generated.tables.records.TOrderRecord;
+import com.easyquery.benchmark.jooq.generated.tables.records.TUserRecord;
+import com.easyquery.benchmark.hibernate.HibernateUserWithOrders;
+import com.easyquery.benchmark.hibernate.HibernateUtil;
+import com.easyquery.benchmark.jdbc.JdbcCounters;
+import com.easyquery.benchmark.jdbc.PoolType;
+import com.easyquery.benchmark.phase.HibernatePhaseListener;
+import com.easy.query.api.proxy.client.DefaultEasyEntityQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static com.easyquery.benchmark.jooq.generated.Tables.T_ORDER;
+import static com.easyquery.benchmark.jooq.generated.Tables.T_USER;
+import static org.jooq.impl.DSL.multiset;
+import static org.jooq.impl.DSL.selectFrom;
+
+/**
+ * Loads {@link #userCount} users together with their 2-5 orders each, the most common ORM workload:
+ * <ul>
+ *   <li>{@code NPlusOne}: one query for the users and one per user for its orders</li>
+ *   <li>{@code BatchFetch}: one query for the users and one {@code user_id IN (...)} query for the orders
+ *   (easy-query {@code include}, Hibernate lazy loading with {@code hibernate.default_batch_fetch_size} 16)</li>
+ *   <li>{@code JoinFetch}: a single {@code LEFT JOIN}, users are repeated once per order</li>
+ *   <li>{@code Multiset}: a single query with the orders nested as a collection per user (jOOQ MULTISET)</li>
+ * </ul>
+ * The {@code statements} counter of {@link JdbcCounters} shows the statements per operation of each.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 10, time = 3)
+@Fork(3)
+@Threads(1)
+public class RelationshipBenchmark {
+
+    private static final int FIXTURE_USERS = 10_000;
+
+    /**
+     * Users loaded per operation.
+     */
+    @Param({"20", "200", "2000"})
+    public int userCount;
+
+    /**
+     * Installs the framework listeners that feed the phase timing profiler
+     * ({@code -prof com.easyquery.benchmark.phase.PhaseProfiler}).
+     */
+    @Param({"false"})
+    public boolean phaseTiming;
+
+    /**
+     * Connection pool behind {@link DatabaseInitializer#getDataSource()}, see {@link PoolType}.
+     */
+    @Param({"HIKARI"})
+    public PoolType pool;
+
+    /**
+     * Maximum number of pooled connections, ignored by {@link PoolType#UNPOOLED}.
+     */
+    @Param({"10"})
+    public int poolSize;
+
+    private DataSource dataSource;
+    private DefaultEasyEntityQuery easyEntityQuery;
+    private DSLContext jooqDsl;
+    // Hibernate without batch fetching, every lazy collection is loaded on its own
+    private EntityManagerFactory unbatchedEntityManagerFactory;
+    private List<String> userIds;
+    private String userIdPlaceholders;
+
+    /**
+     * A user with its orders, for the frameworks that do not map the association.
+     */
+    public record UserWithOrders<U, O>(U user, List<O> orders) {
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private EntityManager entityManager;
+        private EntityManager unbatchedEntityManager;
+
+        @Setup(Level.Trial)
+        public void setup(RelationshipBenchmark benchmark) {
+            entityManager = HibernateUtil.createEntityManager(benchmark.phaseTiming);
+            unbatchedEntityManager = benchmark.unbatchedEntityManagerFactory.createEntityManager();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (entityManager != null && entityManager.isOpen()) {
+                entityManager.close();
+            }
+            if (unbatchedEntityManager != null && unbatchedEntityManager.isOpen()) {
+                unbatchedEntityManager.close();
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        DatabaseInitializer.configurePool(pool, poolSize);
+        DatabaseInitializer.getDataSource();
+        DatabaseInitializer.clearData();
+
+        easyEntityQuery = BenchmarkClients.easyEntityQuery(DatabaseInitializer.getDataSource(), phaseTiming);
+
+        jooqDsl = BenchmarkClients.jooq(DatabaseInitializer.getDataSource(), phaseTiming);
+
+        dataSource = DatabaseInitializer.getDataSource();
+
+        Properties properties = new Properties();
+        properties.put("hibernate.default_batch_fetch_size", "1");
+        if (phaseTiming) {
+            properties.put("hibernate.session.events.auto", HibernatePhaseListener.class.getName());
+        }
+        unbatchedEntityManagerFactory = HibernateUtil.createEntityManagerFactory(dataSource, properties);
+
+        FixtureLoader.loadUsersAndOrders(FIXTURE_USERS, i -> 20 + (i % 50));
+        // Spread the loaded users evenly over the fixture
+        userIds = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            userIds.add(FixtureLoader.userId((long) i * FIXTURE_USERS / userCount));
+        }
+        userIdPlaceholders = String.join(", ", Collections.nCopies(userCount, "?"));
+    }
+
+    @Benchmark
+    public List<User> easyQueryNPlusOne(JdbcCounters counters) {
+        List<User> users = easyEntityQuery.queryable(User.class)
+                .where(u -> u.id().in(userIds))
+                .toList();
+        for (User user : users) {
+            user.setOrders(easyEntityQuery.queryable(Order.class)
+                    .where(o -> o.userId().eq(user.getId()))
+                    .toList());
+        }
+        return users;
+    }
+
+    @Benchmark
+    public List<User> easyQueryBatchFetch(JdbcCounters counters) {
+        return easyEntityQuery.queryable(User.class)
+                .include(u -> u.orders())
+                .where(u -> u.id().in(userIds))
+                .toList();
+    }
+
+    @Benchmark
+    public List<UserWithOrders<TUser, TOrder>> jooqNPlusOne(JdbcCounters counters) {
+        List<TUser> users = jooqDsl.selectFrom(T_USER)
+                .where(T_USER.ID.in(userIds))
+                .fetchInto(TUser.class);
+        List<UserWithOrders<TUser, TOrder>> result = new ArrayList<>(users.size());
+        for (TUser user : users) {
+            result.add(new UserWithOrders<>(user, jooqDsl.selectFrom(T_ORDER)
+                    .where(T_ORDER.USER_ID.eq(user.getId()))
+                    .fetchInto(TOrder.class)));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<UserWithOrders<TUser, TOrder>> jooqBatchFetch(JdbcCounters counters) {
+        List<TUser> users = jooqDsl.selectFrom(T_USER)
+                .where(T_USER.ID.in(userIds))
+                .fetchInto(TUser.class);
+        Map<String, List<TOrder>> orders = jooqDsl.selectFrom(T_ORDER)
+                .where(T_ORDER.USER_ID.in(userIds))
+                .fetchGroups(T_ORDER.USER_ID, TOrder.class);
+        List<UserWithOrders<TUser, TOrder>> result = new ArrayList<>(users.size());
+        for (TUser user : users) {
+            result.add(new UserWithOrders<>(user, orders.getOrDefault(user.getId(), List.of())));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<UserWithOrders<TUser, TOrder>> jooqJoinFetch(JdbcCounters counters) {
+        Map<String, UserWithOrders<TUser, TOrder>> users = new LinkedHashMap<>();
+        for (Record record : jooqDsl.select()
+                .from(T_USER)
+                .leftJoin(T_ORDER).on(T_ORDER.USER_ID.eq(T_USER.ID))
+                .where(T_USER.ID.in(userIds))
+                .fetch()) {
+            TUserRecord user = record.into(T_USER);
+            List<TOrder> orders = users.computeIfAbsent(user.getId(),
+                    id -> new UserWithOrders<>(user.into(TUser.class), new ArrayList<>())).orders();
+            TOrderRecord order = record.into(T_ORDER);
+            if (order.getId() != null) {
+                orders.add(order.into(TOrder.class));
+            }
+        }
+        return new ArrayList<>(users.values());
+    }
+
+    @Benchmark
+    public List<UserWithOrders<TUser, TOrder>> jooqMultiset(JdbcCounters counters) {
+        Field<List<TOrder>> orders = multiset(selectFrom(T_ORDER).where(T_ORDER.USER_ID.eq(T_USER.ID)))
+                .convertFrom(result -> result.into(TOrder.class));
+        return jooqDsl.select(T_USER, orders)
+                .from(T_USER)
+                .where(T_USER.ID.in(userIds))
+                .fetch(record -> new UserWithOrders<>(record.value1().into(TUser.class), record.value2()));
+    }
+
+    @Benchmark
+    public List<HibernateUserWithOrders> hibernateNPlusOne(ThreadState threadState, JdbcCounters counters) {
+        return hibernateLazyLoad(threadState.unbatchedEntityManager);
+    }
+
+    @Benchmark
+    public List<HibernateUserWithOrders> hibernateBatchFetch(ThreadState threadState, JdbcCounters counters) {
+        return hibernateLazyLoad(threadState.entityManager);
+    }
+
+    private List<HibernateUserWithOrders> hibernateLazyLoad(EntityManager entityManager) {
+        // Loaded users and their collections must not be found in the persistence context
+        entityManager.clear();
+        List<HibernateUserWithOrders> users = entityManager.createQuery(
+                        "SELECT u FROM HibernateUserWithOrders u WHERE u.id IN :ids", HibernateUserWithOrders.class)
+                .setParameter("ids", userIds)
+                .getResultList();
+        for (HibernateUserWithOrders user : users) {
+            user.getOrders().size();
+        }
+        return users;
+    }
+
+    @Benchmark
+    public List<HibernateUserWithOrders> hibernateJoinFetch(ThreadState threadState, JdbcCounters counters) {
+        threadState.entityManager.clear();
+        return threadState.entityManager.createQuery(
+                        "SELECT u FROM HibernateUserWithOrders u LEFT JOIN FETCH u.orders WHERE u.id IN :ids", HibernateUserWithOrders.class)
+                .setParameter("ids", userIds)
+                .getResultList();
+    }
+
+    @Benchmark
+    public List<UserWithOrders<User, Order>> jdbcBatchFetch(JdbcCounters counters) throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            Map<String, UserWithOrders<User, Order>> users = new LinkedHashMap<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "SELECT id, username, email, age, phone, address FROM t_user WHERE id IN (" + userIdPlaceholders + ")")) {
+                bindUserIds(pstmt);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        User user = mapUser(rs, 1);
+                        users.put(user.getId(), new UserWithOrders<>(user, new ArrayList<>()));
+                    }
+                }
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "SELECT id, user_id, order_no, amount, status, remark FROM t_order WHERE user_id IN (" + userIdPlaceholders + ")")) {
+                bindUserIds(pstmt);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        Order order = mapOrder(rs, 1);
+                        users.get(order.getUserId()).orders().add(order);
+                    }
+                }
+            }
+            return new ArrayList<>(users.values());
+        }
+    }
+
+    @Benchmark
+    public List<UserWithOrders<User, Order>> jdbcJoinFetch(JdbcCounters counters) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT u.id, u.username, u.email, u.age, u.phone, u.address, " +
+                     "o.id, o.user_id, o.order_no, o.amount, o.status, o.remark FROM t_user u " +
+                     "LEFT JOIN t_order o ON o.user_id = u.id WHERE u.id IN (" + userIdPlaceholders + ")")) {
+            bindUserIds(pstmt);
+            Map<String, UserWithOrders<User, Order>> users = new LinkedHashMap<>();
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String userId = rs.getString(1);
+                    UserWithOrders<User, Order> user = users.get(userId);
+                    if (user == null) {
+                        user = new UserWithOrders<>(mapUser(rs, 1), new ArrayList<>());
+                        users.put(userId, user);
+                    }
+                    if (rs.getString(7) != null) {
+                        user.orders().add(mapOrder(rs, 7));
+                    }
+                }
+            }
+            return new ArrayList<>(users.values());
+        }
+    }
+
+    private void bindUserIds(PreparedStatement pstmt) throws SQLException {
+        for (int i = 0; i < userIds.size(); i++) {
+            pstmt.setString(i + 1, userIds.get(i));
+        }
+    }
+
+    private static User mapUser(ResultSet rs, int column) throws SQLException {
+        return new User(
+                rs.getString(column),
+                rs.getString(column + 1),
+                rs.getString(column + 2),
+                rs.getInt(column + 3),
+                rs.getString(column + 4),
+                rs.getString(column + 5));
+    }
+
+    private static Order mapOrder(ResultSet rs, int column) throws SQLException {
+        return new Order(
+                rs.getString(column),
+                rs.getString(column + 1),
+                rs.getString(column + 2),
+                rs.getBigDecimal(column + 3),
+                rs.getInt(column + 4),
+                rs.getString(column + 5));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (unbatchedEntityManagerFactory != null && unbatchedEntityManagerFactory.isOpen()) {
+            unbatchedEntityManagerFactory.close();
+        }
+        DatabaseInitializer.clearData();
+    }
+}
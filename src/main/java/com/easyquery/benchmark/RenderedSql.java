@@ -0,0 +1,9 @@
+package com.easyquery.benchmark;
+
+import java.util.List;
+
+/**
+ * SQL text and bind values of one statement, as {@link SqlRenderBenchmark} renders it.
+ */
+public record RenderedSql(String sql, List<?> parameters) {
+}
@@ -0,0 +1,318 @@
+package com.easyquery.benchmark;
+
+import com.easyquery.benchmark.entity.Order;
+import com.easyquery.benchmark.entity.User;
+import com.easyquery.benchmark.hibernate.HibernateUser;
+import com.easyquery.benchmark.hibernate.HibernateUtil;
+import com.easyquery.benchmark.hibernate.HqlRenderer;
+import com.easyquery.benchmark.stub.CannedResult;
+import com.easyquery.benchmark.stub.StubDataSource;
+import com.easy.query.api.proxy.client.DefaultEasyEntityQuery;
+import com.easy.query.core.api.client.EasyQueryClient;
+import com.easy.query.core.bootstrapper.EasyQueryBootstrapper;
+import com.easy.query.h2.config.H2DatabaseConfiguration;
+import jakarta.persistence.EntityManagerFactory;
+import org.jooq.DSLContext;
+import org.jooq.Query;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.easyquery.benchmark.jooq.generated.Tables.T_ORDER;
+import static com.easyquery.benchmark.jooq.generated.Tables.T_USER;
+
+/**
+ * SQL generation only: every query shape of the other benchmarks is built from scratch and turned
+ * into SQL text, but never executed. easy-query and Hibernate are bootstrapped on the stub driver
+ * and jOOQ has no connection at all, so no benchmark can reach a database.
+ * <p>
+ * Every case ends with the SQL text and its bind values, which is what a framework hands to the
+ * driver: easy-query's {@code toSQLResult()}, jOOQ's {@code getSQL()} and {@code getBindValues()}, and
+ * for Hibernate the JDBC parameter bindings that {@link HqlRenderer} builds for the translation.
+ * <p>
+ * Hibernate's native SQL lookup by id and its insert (a statement generated once at boot) have
+ * nothing to translate and are left out.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 10, time = 3)
+@Fork(3)
+@Threads(1)
+public class SqlRenderBenchmark {
+
+    private static final String USER_ID = FixtureLoader.userId(42);
+
+    private DefaultEasyEntityQuery easyEntityQuery;
+    private DSLContext jooqDsl;
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * The renderer holds a Hibernate session, which must never be shared between threads.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private HqlRenderer hqlRenderer;
+
+        @Setup(Level.Trial)
+        public void setup(SqlRenderBenchmark benchmark) {
+            hqlRenderer = new HqlRenderer(benchmark.entityManagerFactory);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (hqlRenderer != null) {
+                hqlRenderer.close();
+            }
+        }
+    }
+
+    private static RenderedSql rendered(Query query) {
+        return new RenderedSql(query.getSQL(), query.getBindValues());
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StubDataSource dataSource = new StubDataSource(CannedResult.EMPTY);
+
+        EasyQueryClient easyQueryClient = EasyQueryBootstrapper.defaultBuilderConfiguration()
+                .setDefaultDataSource(dataSource)
+                .optionConfigure(op -> {
+                    op.setPrintSql(false);
+                })
+                .useDatabaseConfigure(new H2DatabaseConfiguration())
+                .build();
+        easyEntityQuery = new DefaultEasyEntityQuery(easyQueryClient);
+
+        jooqDsl = DSL.using(SQLDialect.H2);
+
+        entityManagerFactory = HibernateUtil.createEntityManagerFactory(dataSource);
+    }
+
+    @Benchmark
+    public RenderedSql easyQuerySelectById() {
+        // firstOrNull() limits the query to one row, jOOQ gets the same LIMIT
+        var result = easyEntityQuery.queryable(User.class)
+                .where(u -> u.id().eq(USER_ID))
+                .limit(1)
+                .toSQLResult();
+        return new RenderedSql(result.getSQL(), result.getSqlContext().getParameters());
+    }
+
+    @Benchmark
+    public RenderedSql jooqSelectById() {
+        return rendered(jooqDsl.selectFrom(T_USER)
+                .where(T_USER.ID.eq(USER_ID))
+                .limit(1));
+    }
+
+    @Benchmark
+    public RenderedSql easyQuerySelectList() {
+        var result = easyEntityQuery.queryable(User.class)
+                .where(u -> u.age().ge(25))
+                .orderBy(u -> u.username().desc())
+                .limit(10)
+                .toSQLResult();
+        return new RenderedSql(result.getSQL(), result.getSqlContext().getParameters());
+    }
+
+    @Benchmark
+    public RenderedSql jooqSelectList() {
+        return rendered(jooqDsl.selectFrom(T_USER)
+                .where(T_USER.AGE.ge(25))
+                .orderBy(T_USER.USERNAME.desc())
+                .limit(10));
+    }
+
+    @Benchmark
+    public RenderedSql hibernateSelectList(ThreadState threadState) {
+        return threadState.hqlRenderer.render(
+                "SELECT u FROM HibernateUser u WHERE u.age >= :age ORDER BY u.username DESC",
+                HibernateUser.class, Map.of("age", 25), 10);
+    }
+
+    @Benchmark
+    public RenderedSql easyQueryCount() {
+        var result = easyEntityQuery.queryable(User.class)
+                .where(u -> {
+                    u.age().ge(25);
+                    u.age().le(35);
+                })
+                .selectCount()
+                .toSQLResult();
+        return new RenderedSql(result.getSQL(), result.getSqlContext().getParameters());
+    }
+
+    @Benchmark
+    public RenderedSql jooqCount() {
+        return rendered(jooqDsl.selectCount()
+                .from(T_USER)
+                .where(T_USER.AGE.ge(25).and(T_USER.AGE.le(35))));
+    }
+
+    @Benchmark
+    public RenderedSql hibernateCount(ThreadState threadState) {
+        return threadState.hqlRenderer.render(
+                "SELECT COUNT(u) FROM HibernateUser u WHERE u.age >= :minAge AND u.age <= :maxAge",
+                Long.class, Map.of("minAge", 25, "maxAge", 35), 0);
+    }
+
+    @Benchmark
+    public RenderedSql easyQueryJoinQuery() {
+        var result = easyEntityQuery.queryable(User.class)
+                .innerJoin(Order.class, (u, o) -> u.id().eq(o.userId()))
+                .where((u, o) -> {
+                    o.status().eq(1);
+                    o.amount().ge(new BigDecimal("100"));
+                })
+                .distinct()
+                .limit(20)
+                .toSQLResult();
+        return new RenderedSql(result.getSQL(), result.getSqlContext().getParameters());
+    }
+
+    @Benchmark
+    public RenderedSql jooqJoinQuery() {
+        return rendered(jooqDsl.selectDistinct(T_USER.fields())
+                .from(T_USER)
+                .join(T_ORDER).on(T_USER.ID.eq(T_ORDER.USER_ID))
+                .where(T_ORDER.STATUS.eq(1)
+                                .and(T_ORDER.AMOUNT.ge(new BigDecimal("100"))))
+                .limit(20));
+    }
+
+    @Benchmark
+    public RenderedSql hibernateJoinQuery(ThreadState threadState) {
+        return threadState.hqlRenderer.render(
+                "SELECT DISTINCT u FROM HibernateUser u " +
+                "JOIN HibernateOrder o ON u.id = o.userId " +
+                "WHERE o.status = :status AND o.amount >= :minAmount",
+                HibernateUser.class, Map.of("status", 1, "minAmount", new BigDecimal("100")), 20);
+    }
+
+    @Benchmark
+    public RenderedSql easyQueryAggregation() {
+        var result = easyEntityQuery.queryable(Order.class)
+                .where(o -> o.status().eq(1))
+                .selectCount()
+                .toSQLResult();
+        return new RenderedSql(result.getSQL(), result.getSqlContext().getParameters());
+    }
+
+    @Benchmark
+    public RenderedSql jooqAggregation() {
+        return rendered(jooqDsl.selectCount()
+                .from(T_ORDER)
+                .where(T_ORDER.STATUS.eq(1)));
+    }
+
+    @Benchmark
+    public RenderedSql hibernateAggregation(ThreadState threadState) {
+        return threadState.hqlRenderer.render(
+                "SELECT COUNT(o) FROM HibernateOrder o WHERE o.status = :status",
+                Long.class, Map.of("status", 1), 0);
+    }
+
+    @Benchmark
+    public RenderedSql easyQueryInsertSingle() {
+        User user = new User(USER_ID, "user_" + USER_ID, "user@example.com", 25, "1234567890", "Test Address");
+        var result = easyEntityQuery.insertable(user)
+                .toSQLResult(user);
+        return new RenderedSql(result.getSQL(), result.getSqlContext().getParameters());
+    }
+
+    @Benchmark
+    public RenderedSql jooqInsertSingle() {
+        return rendered(jooqDsl.insertInto(T_USER)
+                .set(T_USER.ID, USER_ID)
+                .set(T_USER.USERNAME, "user_" + USER_ID)
+                .set(T_USER.EMAIL, "user@example.com")
+                .set(T_USER.AGE, 25)
+                .set(T_USER.PHONE, "1234567890")
+                .set(T_USER.ADDRESS, "Test Address"));
+    }
+
+    @Benchmark
+    public RenderedSql easyQueryUpdateById() {
+        var result = easyEntityQuery.updatable(User.class)
+                .setColumns(u -> {
+                    u.age().set(99);
+                })
+                .where(u -> u.id().eq(USER_ID))
+                .toSQLResult();
+        return new RenderedSql(result.getSQL(), result.getSqlContext().getParameters());
+    }
+
+    @Benchmark
+    public RenderedSql jooqUpdateById() {
+        return rendered(jooqDsl.update(T_USER)
+                .set(T_USER.AGE, 99)
+                .where(T_USER.ID.eq(USER_ID)));
+    }
+
+    @Benchmark
+    public RenderedSql hibernateUpdateById(ThreadState threadState) {
+        return threadState.hqlRenderer.render(
+                "UPDATE HibernateUser u SET u.age = :age WHERE u.id = :id",
+                null, Map.of("age", 99, "id", USER_ID), 0);
+    }
+
+    @Benchmark
+    public RenderedSql easyQueryUpdateBatch() {
+        var result = easyEntityQuery.updatable(User.class)
+                .setColumns(u -> {
+                    u.age().set(88);
+                })
+                .where(u -> u.age().ge(50))
+                .toSQLResult();
+        return new RenderedSql(result.getSQL(), result.getSqlContext().getParameters());
+    }
+
+    @Benchmark
+    public RenderedSql jooqUpdateBatch() {
+        return rendered(jooqDsl.update(T_USER)
+                .set(T_USER.AGE, 88)
+                .where(T_USER.AGE.ge(50)));
+    }
+
+    @Benchmark
+    public RenderedSql hibernateUpdateBatch(ThreadState threadState) {
+        return threadState.hqlRenderer.render(
+                "UPDATE HibernateUser u SET u.age = :age WHERE u.age >= :minAge",
+                null, Map.of("age", 88, "minAge", 50), 0);
+    }
+
+    @Benchmark
+    public RenderedSql easyQueryDeleteByCondition() {
+        var result = easyEntityQuery.deletable(User.class)
+                .allowDeleteStatement(true)
+                .where(u -> u.age().ge(40))
+                .toSQLResult();
+        return new RenderedSql(result.getSQL(), result.getSqlContext().getParameters());
+    }
+
+    @Benchmark
+    public RenderedSql jooqDeleteByCondition() {
+        return rendered(jooqDsl.deleteFrom(T_USER)
+                .where(T_USER.AGE.ge(40)));
+    }
+
+    @Benchmark
+    public RenderedSql hibernateDeleteByCondition(ThreadState threadState) {
+        return threadState.hqlRenderer.render(
+                "DELETE FROM HibernateUser u WHERE u.age >= :minAge",
+                null, Map.of("minAge", 40), 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (entityManagerFactory != null && entityManagerFactory.isOpen()) {
+            entityManagerFactory.close();
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.easyquery.benchmark;
+
+import com.easyquery.benchmark.entity.User;
+import com.easyquery.benchmark.jooq.generated.tables.pojos.TUser;
+import com.easyquery.benchmark.jooq.generated.tables.records.TUserRecord;
+import com.easyquery.benchmark.hibernate.HibernateUser;
+import com.easyquery.benchmark.hibernate.HibernateUtil;
+import com.easyquery.benchmark.jdbc.CountingDataSource;
+import com.easyquery.benchmark.jdbc.JdbcCounters;
+import com.easyquery.benchmark.jdbc.PoolType;
+import com.easyquery.benchmark.phase.HibernatePhaseListener;
+import com.easy.query.api.proxy.client.DefaultEasyEntityQuery;
+import com.easy.query.core.basic.jdbc.executor.internal.enumerable.JdbcStreamResult;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.easyquery.benchmark.jooq.generated.Tables.T_USER;
+
+/**
+ * Reads the whole t_user table of {@code rowCount} rows, once materialized as a list and once through
+ * each framework's cursor or stream API, which keeps only {@code fetchSize} rows in memory at a time.
+ * <p>
+ * The {@code rows} counter of {@link JdbcCounters} reports the rows read per second. Run with
+ * {@code -prof gc} for the allocation rate and {@code -prof com.easyquery.benchmark.profile.PeakHeapProfiler}
+ * for the heap the reads retain. The benchmark uses its own pool whose H2 sessions execute queries
+ * lazily: by default H2 copies the complete result into the heap before the first row is returned,
+ * which would hide the difference between streaming and materializing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 10, time = 3)
+@Fork(3)
+@Threads(1)
+public class StreamingBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int rowCount;
+
+    /**
+     * JDBC fetch size of every query, replaces the {@code hibernate.jdbc.fetch_size} of 100 that
+     * {@link HibernateUtil} uses elsewhere.
+     */
+    @Param({"100", "1000", "10000"})
+    public int fetchSize;
+
+    /**
+     * Installs the framework listeners that feed the phase timing profiler
+     * ({@code -prof com.easyquery.benchmark.phase.PhaseProfiler}).
+     */
+    @Param({"false"})
+    public boolean phaseTiming;
+
+    /**
+     * Connection pool behind {@link DatabaseInitializer#getDataSource()}, see {@link PoolType}.
+     */
+    @Param({"HIKARI"})
+    public PoolType pool;
+
+    /**
+     * Maximum number of pooled connections, ignored by {@link PoolType#UNPOOLED}.
+     */
+    @Param({"10"})
+    public int poolSize;
+
+    private DataSource lazyPool;
+    private DataSource dataSource;
+    private DefaultEasyEntityQuery easyEntityQuery;
+    private DSLContext jooqDsl;
+    private EntityManagerFactory entityManagerFactory;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private EntityManager entityManager;
+
+        @Setup(Level.Trial)
+        public void setup(StreamingBenchmark benchmark) {
+            entityManager = benchmark.entityManagerFactory.createEntityManager();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (entityManager != null && entityManager.isOpen()) {
+                entityManager.close();
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        DatabaseInitializer.configurePool(pool, poolSize);
+        DatabaseInitializer.getDataSource();
+        DatabaseInitializer.clearData();
+        FixtureLoader.loadUsers(rowCount, i -> 20 + (i % 50));
+
+        lazyPool = DatabaseInitializer.createDataSource("LAZY_QUERY_EXECUTION=TRUE");
+        dataSource = CountingDataSource.wrap(lazyPool);
+
+        easyEntityQuery = BenchmarkClients.easyEntityQuery(dataSource, phaseTiming);
+
+        jooqDsl = BenchmarkClients.jooq(dataSource, phaseTiming);
+
+        Properties properties = new Properties();
+        properties.put("hibernate.jdbc.fetch_size", String.valueOf(fetchSize));
+        if (phaseTiming) {
+            properties.put("hibernate.session.events.auto", HibernatePhaseListener.class.getName());
+        }
+        entityManagerFactory = HibernateUtil.createEntityManagerFactory(dataSource, properties);
+    }
+
+    @Benchmark
+    public int easyQueryList(Blackhole blackhole, JdbcCounters counters) {
+        List<User> users = easyEntityQuery.queryable(User.class)
+                .toList();
+        for (User user : users) {
+            blackhole.consume(user);
+        }
+        return users.size();
+    }
+
+    @Benchmark
+    public int easyQueryStream(Blackhole blackhole, JdbcCounters counters) throws Exception {
+        int rows = 0;
+        try (JdbcStreamResult<User> result = easyEntityQuery.queryable(User.class)
+                .toStreamResult(fetchSize)) {
+            for (User user : result.getStreamIterable()) {
+                blackhole.consume(user);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public int jooqList(Blackhole blackhole, JdbcCounters counters) {
+        List<TUser> users = jooqDsl.selectFrom(T_USER)
+                .fetchSize(fetchSize)
+                .fetchInto(TUser.class);
+        for (TUser user : users) {
+            blackhole.consume(user);
+        }
+        return users.size();
+    }
+
+    @Benchmark
+    public int jooqFetchLazy(Blackhole blackhole, JdbcCounters counters) {
+        int rows = 0;
+        try (Cursor<TUserRecord> cursor = jooqDsl.selectFrom(T_USER)
+                .fetchSize(fetchSize)
+                .fetchLazy()) {
+            while (cursor.hasNext()) {
+                blackhole.consume(cursor.fetchNextInto(TUser.class));
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public long jooqFetchStream(Blackhole blackhole, JdbcCounters counters) {
+        try (Stream<TUser> users = jooqDsl.selectFrom(T_USER)
+                .fetchSize(fetchSize)
+                .fetchStreamInto(TUser.class)) {
+            return users.peek(blackhole::consume).count();
+        }
+    }
+
+    @Benchmark
+    public int hibernateList(ThreadState threadState, Blackhole blackhole, JdbcCounters counters) {
+        List<HibernateUser> users = threadState.entityManager
+                .createQuery("SELECT u FROM HibernateUser u", HibernateUser.class)
+                .getResultList();
+        for (HibernateUser user : users) {
+            blackhole.consume(user);
+        }
+        threadState.entityManager.clear();
+        return users.size();
+    }
+
+    @Benchmark
+    public int hibernateResultStream(ThreadState threadState, Blackhole blackhole, JdbcCounters counters) {
+        int rows = 0;
+        try (Stream<HibernateUser> users = threadState.entityManager
+                .createQuery("SELECT u FROM HibernateUser u", HibernateUser.class)
+                .getResultStream()) {
+            for (HibernateUser user : (Iterable<HibernateUser>) users::iterator) {
+                blackhole.consume(user);
+                // Streamed entities still enter the persistence context, which must be emptied as we go
+                if (++rows % fetchSize == 0) {
+                    threadState.entityManager.clear();
+                }
+            }
+        }
+        threadState.entityManager.clear();
+        return rows;
+    }
+
+    @Benchmark
+    public int hibernateScroll(ThreadState threadState, Blackhole blackhole, JdbcCounters counters) {
+        Session session = threadState.entityManager.unwrap(Session.class);
+        int rows = 0;
+        try (ScrollableResults<HibernateUser> users = session
+                .createSelectionQuery("SELECT u FROM HibernateUser u", HibernateUser.class)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (users.next()) {
+                blackhole.consume(users.get());
+                if (++rows % fetchSize == 0) {
+                    session.clear();
+                }
+            }
+        }
+        session.clear();
+        return rows;
+    }
+
+    @Benchmark
+    public int jdbcList(Blackhole blackhole, JdbcCounters counters) throws SQLException {
+        List<User> users = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT id, username, email, age, phone, address FROM t_user")) {
+            pstmt.setFetchSize(fetchSize);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    users.add(user(rs));
+                }
+            }
+        }
+        for (User user : users) {
+            blackhole.consume(user);
+        }
+        return users.size();
+    }
+
+    @Benchmark
+    public int jdbcStream(Blackhole blackhole, JdbcCounters counters) throws SQLException {
+        int rows = 0;
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT id, username, email, age, phone, address FROM t_user")) {
+            pstmt.setFetchSize(fetchSize);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    blackhole.consume(user(rs));
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static User user(ResultSet rs) throws SQLException {
+        return new User(
+                rs.getString(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getInt(4),
+                rs.getString(5),
+                rs.getString(6));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (entityManagerFactory != null && entityManagerFactory.isOpen()) {
+            entityManagerFactory.close();
+        }
+        if (lazyPool instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
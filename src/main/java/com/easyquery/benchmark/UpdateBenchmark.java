@@ -3,19 +3,21 @@ package com.easyquery.benchmark;
 import com.easyquery.benchmark.entity.User;
 import com.easyquery.benchmark.hibernate.HibernateUser;
 import com.easyquery.benchmark.hibernate.HibernateUtil;
+import com.easyquery.benchmark.jdbc.JdbcCounters;
+import com.easyquery.benchmark.jdbc.PoolType;
 import com.easy.query.api.proxy.client.DefaultEasyEntityQuery;
-import com.easy.query.core.api.client.EasyQueryClient;
 import com.easy.query.core.basic.jdbc.tx.Transaction;
-import com.easy.query.core.bootstrapper.EasyQueryBootstrapper;
-import com.easy.query.h2.config.H2DatabaseConfiguration;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import org.jooq.DSLContext;
-import org.jooq.SQLDialect;
 import org.jooq.impl.DSL;
 import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
 
-import java.util.UUID;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.concurrent.TimeUnit;
 
 import static com.easyquery.benchmark.jooq.generated.Tables.T_USER;
@@ -30,52 +32,120 @@ import static com.easyquery.benchmark.jooq.generated.Tables.T_USER;
 @Threads(1)
 public class UpdateBenchmark {
 
+    /**
+     * Number of users in t_user, loaded once per trial.
+     */
+    @Param({"100000"})
+    public int userCount;
+
+    /**
+     * Users the batch update changes: the fixture gives exactly this many users an age of 50 or older,
+     * independent of {@link #userCount}.
+     */
+    @Param({"70"})
+    public int batchRows;
+
+    /**
+     * How the update by id picks its users from the whole table, see {@link KeyDistribution}.
+     */
+    @Param({"UNIFORM"})
+    public KeyDistribution keys;
+
+    /**
+     * Installs the framework listeners that feed the phase timing profiler
+     * ({@code -prof com.easyquery.benchmark.phase.PhaseProfiler}).
+     */
+    @Param({"false"})
+    public boolean phaseTiming;
+
+    /**
+     * Connection pool behind {@link DatabaseInitializer#getDataSource()}, see {@link PoolType}.
+     */
+    @Param({"HIKARI"})
+    public PoolType pool;
+
+    /**
+     * Maximum number of pooled connections, ignored by {@link PoolType#UNPOOLED}.
+     */
+    @Param({"10"})
+    public int poolSize;
+
+    private DataSource dataSource;
     private DefaultEasyEntityQuery easyEntityQuery;
     private DSLContext jooqDsl;
-    private EntityManager entityManager;
     private String[] testUserIds;
-    private int userIdIndex = 0;
+
+    /**
+     * Per-thread state so the benchmark can be run with more than one thread:
+     * every thread owns its EntityManager and its own cursor over the test ids.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private EntityManager entityManager;
+        private int startIndex;
+        private int userIdIndex;
+
+        @Setup(Level.Trial)
+        public void setup(UpdateBenchmark benchmark, ThreadParams threadParams) {
+            entityManager = HibernateUtil.createEntityManager(benchmark.phaseTiming);
+            // Spread the cursors so that concurrent threads do not hit the same row in lock step
+            startIndex = threadParams.getThreadIndex() * benchmark.testUserIds.length / threadParams.getThreadCount();
+        }
+
+        @Setup(Level.Iteration)
+        public void setupIteration() {
+            userIdIndex = startIndex;
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (entityManager != null && entityManager.isOpen()) {
+                entityManager.close();
+            }
+        }
+    }
 
     @Setup(Level.Trial)
     public void setup() {
+        DatabaseInitializer.configurePool(pool, poolSize);
         DatabaseInitializer.getDataSource();
         DatabaseInitializer.clearData();
 
-        EasyQueryClient easyQueryClient = EasyQueryBootstrapper.defaultBuilderConfiguration()
-                .setDefaultDataSource(DatabaseInitializer.getDataSource())
-                .optionConfigure(op->{
-                    op.setPrintSql(false);
-                })
-                .useDatabaseConfigure(new H2DatabaseConfiguration())
-                .build();
-        easyEntityQuery = new DefaultEasyEntityQuery(easyQueryClient);
+        easyEntityQuery = BenchmarkClients.easyEntityQuery(DatabaseInitializer.getDataSource(), phaseTiming);
 
-        jooqDsl = DSL.using(DatabaseInitializer.getDataSource(), SQLDialect.H2);
+        jooqDsl = BenchmarkClients.jooq(DatabaseInitializer.getDataSource(), phaseTiming);
 
-        entityManager = HibernateUtil.createEntityManager();
+        dataSource = DatabaseInitializer.getDataSource();
 
         insertTestData();
+        DatabaseInitializer.takeSnapshot();
     }
 
+    /**
+     * Brings back the users the previous iteration updated.
+     */
     @Setup(Level.Iteration)
     public void setupIteration() {
-        userIdIndex = 0;
+        DatabaseInitializer.restoreSnapshot();
     }
 
     private void insertTestData() {
-        testUserIds = new String[50];
-        for (int i = 0; i < 100; i++) {
-            String id = UUID.randomUUID().toString();
-            if (i >= 25 && i < 75) {
-                testUserIds[i - 25] = id;
-            }
-            DatabaseInitializer.insertUserWithJdbc(id, "user_" + i, "user" + i + "@example.com", 20 + i, "1234567890", "Address " + i);
+        if (batchRows > userCount) {
+            throw new IllegalArgumentException("batchRows " + batchRows + " exceeds userCount " + userCount);
+        }
+        FixtureLoader.loadUsers(userCount, i -> i < batchRows ? 50 + (i % 50) : 20 + (i % 30));
+        testUserIds = keys.sampleUserIds(userCount);
+    }
+
+    private static void count(long updated, int expected) {
+        if (updated != expected) {
+            throw new IllegalStateException("Updated " + updated + " rows instead of " + expected);
         }
     }
 
     @Benchmark
-    public long easyQueryUpdateById() {
-        String userId = testUserIds[(userIdIndex++) % testUserIds.length];
+    public long easyQueryUpdateById(ThreadState threadState, JdbcCounters counters) {
+        String userId = testUserIds[(threadState.userIdIndex++) % testUserIds.length];
         try (Transaction transaction = easyEntityQuery.beginTransaction()) {
             long result = easyEntityQuery.updatable(User.class)
                     .setColumns(u -> {
@@ -84,24 +154,27 @@ public class UpdateBenchmark {
                     .where(u -> u.id().eq(userId))
                     .executeRows();
             transaction.commit();
+            count(result, 1);
             return result;
         }
     }
 
     @Benchmark
-    public int jooqUpdateById() {
-        String userId = testUserIds[(userIdIndex++) % testUserIds.length];
-        return jooqDsl.transactionResult(configuration -> {
+    public int jooqUpdateById(ThreadState threadState, JdbcCounters counters) {
+        String userId = testUserIds[(threadState.userIdIndex++) % testUserIds.length];
+        int result = jooqDsl.transactionResult(configuration -> {
             return DSL.using(configuration)
                     .update(T_USER)
                     .set(T_USER.AGE, 99)
                     .where(T_USER.ID.eq(userId))
                     .execute();
         });
+        count(result, 1);
+        return result;
     }
 
     @Benchmark
-    public long easyQueryUpdateBatch() {
+    public long easyQueryUpdateBatch(JdbcCounters counters) {
         try (Transaction transaction = easyEntityQuery.beginTransaction()) {
             long result = easyEntityQuery.updatable(User.class)
                     .setColumns(u -> {
@@ -110,63 +183,106 @@ public class UpdateBenchmark {
                     .where(u -> u.age().ge(50))
                     .executeRows();
             transaction.commit();
+            count(result, batchRows);
             return result;
         }
     }
 
     @Benchmark
-    public int jooqUpdateBatch() {
-        return jooqDsl.transactionResult(configuration -> {
+    public int jooqUpdateBatch(JdbcCounters counters) {
+        int result = jooqDsl.transactionResult(configuration -> {
             return DSL.using(configuration)
                     .update(T_USER)
                     .set(T_USER.AGE, 88)
                     .where(T_USER.AGE.ge(50))
                     .execute();
         });
+        count(result, batchRows);
+        return result;
     }
 
     @Benchmark
-    public int hibernateUpdateById() {
-        String userId = testUserIds[(userIdIndex++) % testUserIds.length];
-        entityManager.getTransaction().begin();
+    public int hibernateUpdateById(ThreadState threadState, JdbcCounters counters) {
+        String userId = testUserIds[(threadState.userIdIndex++) % testUserIds.length];
+        threadState.entityManager.getTransaction().begin();
         try {
-            Query query = entityManager.createQuery("UPDATE HibernateUser u SET u.age = :age WHERE u.id = :id");
+            Query query = threadState.entityManager.createQuery("UPDATE HibernateUser u SET u.age = :age WHERE u.id = :id");
             query.setParameter("age", 99);
             query.setParameter("id", userId);
             int result = query.executeUpdate();
-            entityManager.getTransaction().commit();
+            threadState.entityManager.getTransaction().commit();
+            count(result, 1);
             return result;
         } catch (Exception e) {
-            if (entityManager.getTransaction().isActive()) {
-                entityManager.getTransaction().rollback();
+            if (threadState.entityManager.getTransaction().isActive()) {
+                threadState.entityManager.getTransaction().rollback();
             }
             throw e;
         }
     }
 
     @Benchmark
-    public int hibernateUpdateBatch() {
-        entityManager.getTransaction().begin();
+    public int hibernateUpdateBatch(ThreadState threadState, JdbcCounters counters) {
+        threadState.entityManager.getTransaction().begin();
         try {
-            Query query = entityManager.createQuery("UPDATE HibernateUser u SET u.age = :age WHERE u.age >= :minAge");
+            Query query = threadState.entityManager.createQuery("UPDATE HibernateUser u SET u.age = :age WHERE u.age >= :minAge");
             query.setParameter("age", 88);
             query.setParameter("minAge", 50);
             int result = query.executeUpdate();
-            entityManager.getTransaction().commit();
+            threadState.entityManager.getTransaction().commit();
+            count(result, batchRows);
             return result;
         } catch (Exception e) {
-            if (entityManager.getTransaction().isActive()) {
-                entityManager.getTransaction().rollback();
+            if (threadState.entityManager.getTransaction().isActive()) {
+                threadState.entityManager.getTransaction().rollback();
             }
             throw e;
         }
     }
 
+    @Benchmark
+    public int jdbcUpdateById(ThreadState threadState, JdbcCounters counters) throws SQLException {
+        String userId = testUserIds[(threadState.userIdIndex++) % testUserIds.length];
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement("UPDATE t_user SET age = ? WHERE id = ?")) {
+                pstmt.setInt(1, 99);
+                pstmt.setString(2, userId);
+                int result = pstmt.executeUpdate();
+                conn.commit();
+                count(result, 1);
+                return result;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    @Benchmark
+    public int jdbcUpdateBatch(JdbcCounters counters) throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement("UPDATE t_user SET age = ? WHERE age >= ?")) {
+                pstmt.setInt(1, 88);
+                pstmt.setInt(2, 50);
+                int result = pstmt.executeUpdate();
+                conn.commit();
+                count(result, batchRows);
+                return result;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
     @TearDown(Level.Trial)
     public void tearDown() {
-        if (entityManager != null && entityManager.isOpen()) {
-            entityManager.close();
-        }
         DatabaseInitializer.clearData();
     }
 }
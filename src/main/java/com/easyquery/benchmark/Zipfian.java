@@ -0,0 +1,78 @@
+package com.easyquery.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Zipf distributed keys {@code [0, keyCount)}: key {@code k} is drawn with a probability proportional
+ * to {@code 1 / (k + 1)^exponent}, so key 0 is the hottest. The cumulative distribution is precomputed,
+ * which costs 8 bytes per key, and every draw is a binary search over it.
+ * <p>
+ * Because the hottest keys are known, so is the capacity a cache needs to reach a given hit ratio:
+ * a cache that holds the {@code n} hottest keys serves {@link #coverage(int)} of all draws.
+ */
+public class Zipfian {
+
+    /**
+     * The skew of the YCSB workloads.
+     */
+    public static final double DEFAULT_EXPONENT = 0.99;
+
+    private final double[] cumulative;
+
+    public Zipfian(int keyCount) {
+        this(keyCount, DEFAULT_EXPONENT);
+    }
+
+    public Zipfian(int keyCount, double exponent) {
+        if (keyCount < 1) {
+            throw new IllegalArgumentException("keyCount must be positive: " + keyCount);
+        }
+        cumulative = new double[keyCount];
+        double sum = 0;
+        for (int k = 0; k < keyCount; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < keyCount; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+
+    public int keyCount() {
+        return cumulative.length;
+    }
+
+    /**
+     * Draws the next key from the calling thread's random generator.
+     */
+    public int next() {
+        return next(ThreadLocalRandom.current());
+    }
+
+    public int next(RandomGenerator random) {
+        double u = random.nextDouble();
+        int index = Arrays.binarySearch(cumulative, u);
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+
+    /**
+     * Share of the draws that hit one of the {@code hottest} most frequent keys.
+     */
+    public double coverage(int hottest) {
+        return hottest <= 0 ? 0 : cumulative[Math.min(hottest, cumulative.length) - 1];
+    }
+
+    /**
+     * Smallest number of hottest keys that covers at least {@code hitRatio} of the draws, i.e. the
+     * capacity of a cache that keeps exactly those keys.
+     */
+    public int capacityFor(double hitRatio) {
+        if (hitRatio <= 0) {
+            return 0;
+        }
+        int index = Arrays.binarySearch(cumulative, hitRatio);
+        return Math.min(index >= 0 ? index + 1 : -index, cumulative.length);
+    }
+}
@@ -0,0 +1,64 @@
+package com.easyquery.benchmark.cache;
+
+import com.easyquery.benchmark.hibernate.HibernateUser;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.OptionalLong;
+import java.util.Properties;
+
+/**
+ * The second-level and query cache regions of Hibernate, as size bounded Caffeine caches behind
+ * Hibernate's JCache region factory. {@link #properties()} are the overrides that turn the caches on
+ * for {@link com.easyquery.benchmark.hibernate.HibernateUtil#createEntityManagerFactory}.
+ * <p>
+ * Only {@link HibernateUser} is cacheable. Close the regions after the EntityManagerFactory.
+ */
+public class HibernateCacheRegions implements AutoCloseable {
+
+    /**
+     * The entity region of {@link HibernateUser}.
+     */
+    public static final String USER_REGION = "users";
+
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    private final CacheManager cacheManager;
+
+    /**
+     * @param maxUsers        number of cached users
+     * @param maxQueryResults number of cached query results
+     */
+    public HibernateCacheRegions(long maxUsers, long maxQueryResults) {
+        cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        cacheManager.createCache(USER_REGION, bounded(maxUsers));
+        cacheManager.createCache(QUERY_RESULTS_REGION, bounded(maxQueryResults));
+        // The last write per table, which decides whether a cached query result is stale
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maximumSize) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+
+    public Properties properties() {
+        Properties properties = new Properties();
+        properties.put("hibernate.cache.use_second_level_cache", "true");
+        properties.put("hibernate.cache.use_query_cache", "true");
+        properties.put("hibernate.cache.region.factory_class", "jcache");
+        properties.put("hibernate.javax.cache.cache_manager", cacheManager);
+        properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+        return properties;
+    }
+
+    @Override
+    public void close() {
+        cacheManager.close();
+    }
+}
@@ -0,0 +1,80 @@
+package com.easyquery.benchmark.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.jooq.DSLContext;
+import org.jooq.Query;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockDataProvider;
+import org.jooq.tools.jdbc.MockExecuteContext;
+import org.jooq.tools.jdbc.MockResult;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Result cache for jOOQ, which has none of its own: a {@link MockDataProvider} answers every SELECT from a
+ * Caffeine cache keyed by the rendered SQL and its bind values, and runs the misses on the real database.
+ * Any other statement is executed and clears the whole cache, like a write to a table invalidates
+ * Hibernate's query cache. Writes that bypass the cache evict with {@link #invalidate(Query)} and
+ * {@link #invalidateAll()} instead.
+ */
+public class JooqResultCache implements MockDataProvider {
+
+    private final DSLContext database;
+    private final Cache<List<Object>, Result<Record>> results;
+
+    /**
+     * @param database  the DSLContext that executes the misses and the writes
+     * @param maxResults number of cached results
+     */
+    public JooqResultCache(DSLContext database, long maxResults) {
+        this.database = database;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxResults)
+                .build();
+    }
+
+    /**
+     * A DSLContext whose queries go through this cache.
+     */
+    public DSLContext dsl() {
+        return DSL.using(new MockConnection(this), SQLDialect.H2);
+    }
+
+    /**
+     * Evicts the result of a query built with {@link #dsl()}.
+     */
+    public void invalidate(Query query) {
+        results.invalidate(key(query.getSQL(), query.getBindValues()));
+    }
+
+    public void invalidateAll() {
+        results.invalidateAll();
+    }
+
+    private static List<Object> key(String sql, List<Object> bindings) {
+        return List.of(sql, bindings);
+    }
+
+    @Override
+    public MockResult[] execute(MockExecuteContext ctx) throws SQLException {
+        if (ctx.batch()) {
+            throw new SQLException("Batches are not cached");
+        }
+        String sql = ctx.sql();
+        Object[] bindings = ctx.bindings();
+        if (sql.regionMatches(true, 0, "select", 0, 6)) {
+            Result<Record> result = results.get(key(sql, Arrays.asList(bindings)), key -> database.fetch(sql, bindings));
+            return new MockResult[]{new MockResult(result.size(), result)};
+        }
+        int rows = database.execute(sql, bindings);
+        results.invalidateAll();
+        return new MockResult[]{new MockResult(rows)};
+    }
+}
@@ -0,0 +1,56 @@
+package com.easyquery.benchmark.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Order totals of all users of one age.
+ */
+public class AgeReport {
+
+    private Integer age;
+    private Long userCount;
+    private Double avgTotal;
+    private BigDecimal maxTotal;
+
+    public AgeReport() {
+    }
+
+    public AgeReport(Integer age, Long userCount, Double avgTotal, BigDecimal maxTotal) {
+        this.age = age;
+        this.userCount = userCount;
+        this.avgTotal = avgTotal;
+        this.maxTotal = maxTotal;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public Long getUserCount() {
+        return userCount;
+    }
+
+    public void setUserCount(Long userCount) {
+        this.userCount = userCount;
+    }
+
+    public Double getAvgTotal() {
+        return avgTotal;
+    }
+
+    public void setAvgTotal(Double avgTotal) {
+        this.avgTotal = avgTotal;
+    }
+
+    public BigDecimal getMaxTotal() {
+        return maxTotal;
+    }
+
+    public void setMaxTotal(BigDecimal maxTotal) {
+        this.maxTotal = maxTotal;
+    }
+}
@@ -0,0 +1,46 @@
+package com.easyquery.benchmark.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * An order line with the name of the user who placed it.
+ */
+public class OrderSummary {
+
+    private String username;
+    private String orderNo;
+    private BigDecimal amount;
+
+    public OrderSummary() {
+    }
+
+    public OrderSummary(String username, String orderNo, BigDecimal amount) {
+        this.username = username;
+        this.orderNo = orderNo;
+        this.amount = amount;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getOrderNo() {
+        return orderNo;
+    }
+
+    public void setOrderNo(String orderNo) {
+        this.orderNo = orderNo;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+}
@@ -0,0 +1,56 @@
+package com.easyquery.benchmark.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One of the largest orders of a user, ranked with ROW_NUMBER() per user.
+ */
+public class TopOrder {
+
+    private String userId;
+    private String orderNo;
+    private BigDecimal amount;
+    private Long orderRank;
+
+    public TopOrder() {
+    }
+
+    public TopOrder(String userId, String orderNo, BigDecimal amount, Long orderRank) {
+        this.userId = userId;
+        this.orderNo = orderNo;
+        this.amount = amount;
+        this.orderRank = orderRank;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getOrderNo() {
+        return orderNo;
+    }
+
+    public void setOrderNo(String orderNo) {
+        this.orderNo = orderNo;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public Long getOrderRank() {
+        return orderRank;
+    }
+
+    public void setOrderRank(Long orderRank) {
+        this.orderRank = orderRank;
+    }
+}
@@ -0,0 +1,34 @@
+package com.easyquery.benchmark.dto;
+
+/**
+ * The two columns of a user that a list view or a lookup needs.
+ */
+public class UserName {
+
+    private String id;
+    private String username;
+
+    public UserName() {
+    }
+
+    public UserName(String id, String username) {
+        this.id = id;
+        this.username = username;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+}
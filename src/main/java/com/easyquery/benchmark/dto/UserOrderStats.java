@@ -0,0 +1,56 @@
+package com.easyquery.benchmark.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Order totals of one user, the result of a GROUP BY user_id.
+ */
+public class UserOrderStats {
+
+    private String userId;
+    private Long orderCount;
+    private BigDecimal totalAmount;
+    private Double avgAmount;
+
+    public UserOrderStats() {
+    }
+
+    public UserOrderStats(String userId, Long orderCount, BigDecimal totalAmount, Double avgAmount) {
+        this.userId = userId;
+        this.orderCount = orderCount;
+        this.totalAmount = totalAmount;
+        this.avgAmount = avgAmount;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public Long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(Long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public Double getAvgAmount() {
+        return avgAmount;
+    }
+
+    public void setAvgAmount(Double avgAmount) {
+        this.avgAmount = avgAmount;
+    }
+}
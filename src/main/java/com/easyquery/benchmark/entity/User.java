@@ -2,10 +2,14 @@ package com.easyquery.benchmark.entity;
 
 import com.easy.query.core.annotation.Column;
 import com.easy.query.core.annotation.EntityProxy;
+import com.easy.query.core.annotation.Navigate;
 import com.easy.query.core.annotation.Table;
+import com.easy.query.core.enums.RelationTypeEnum;
 import com.easy.query.core.proxy.ProxyEntityAvailable;
 import com.easyquery.benchmark.entity.proxy.UserProxy;
 
+import java.util.List;
+
 @Table("t_user")
 @EntityProxy
 public class User implements ProxyEntityAvailable<User, UserProxy> {
@@ -28,6 +32,12 @@ public class User implements ProxyEntityAvailable<User, UserProxy> {
     @Column
     private String address;
 
+    /**
+     * Only loaded on request, e.g. with {@code include(u -> u.orders())}.
+     */
+    @Navigate(value = RelationTypeEnum.OneToMany, selfProperty = "id", targetProperty = "userId")
+    private List<Order> orders;
+
     public User() {
     }
 
@@ -87,5 +97,12 @@ public class User implements ProxyEntityAvailable<User, UserProxy> {
     public void setAddress(String address) {
         this.address = address;
     }
-}
 
+    public List<Order> getOrders() {
+        return orders;
+    }
+
+    public void setOrders(List<Order> orders) {
+        this.orders = orders;
+    }
+}
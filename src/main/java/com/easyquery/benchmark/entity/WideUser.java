@@ -0,0 +1,285 @@
+package com.easyquery.benchmark.entity;
+
+import com.easy.query.core.annotation.Column;
+import com.easy.query.core.annotation.EntityProxy;
+import com.easy.query.core.annotation.Table;
+import com.easy.query.core.proxy.ProxyEntityAvailable;
+import com.easyquery.benchmark.entity.proxy.WideUserProxy;
+
+import java.math.BigDecimal;
+
+/**
+ * The t_user columns plus 18 text, number and amount columns (24 in total), for the mapping cost of
+ * wide rows. Only used against the stub driver of {@link com.easyquery.benchmark.MappingBenchmark}.
+ */
+@Table("t_wide_user")
+@EntityProxy
+public class WideUser implements ProxyEntityAvailable<WideUser, WideUserProxy> {
+    
+    @Column(primaryKey = true)
+    private String id;
+    
+    @Column
+    private String username;
+    
+    @Column
+    private String email;
+    
+    @Column
+    private Integer age;
+    
+    @Column
+    private String phone;
+    
+    @Column
+    private String address;
+    
+    @Column
+    private String text1;
+    
+    @Column
+    private String text2;
+    
+    @Column
+    private String text3;
+    
+    @Column
+    private String text4;
+    
+    @Column
+    private String text5;
+    
+    @Column
+    private String text6;
+    
+    @Column
+    private String text7;
+    
+    @Column
+    private String text8;
+    
+    @Column
+    private Integer number1;
+    
+    @Column
+    private Integer number2;
+    
+    @Column
+    private Integer number3;
+    
+    @Column
+    private Integer number4;
+    
+    @Column
+    private Integer number5;
+    
+    @Column
+    private Integer number6;
+    
+    @Column
+    private BigDecimal amount1;
+    
+    @Column
+    private BigDecimal amount2;
+    
+    @Column
+    private BigDecimal amount3;
+    
+    @Column
+    private BigDecimal amount4;
+
+    public WideUser() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public String getText1() {
+        return text1;
+    }
+
+    public void setText1(String text1) {
+        this.text1 = text1;
+    }
+
+    public String getText2() {
+        return text2;
+    }
+
+    public void setText2(String text2) {
+        this.text2 = text2;
+    }
+
+    public String getText3() {
+        return text3;
+    }
+
+    public void setText3(String text3) {
+        this.text3 = text3;
+    }
+
+    public String getText4() {
+        return text4;
+    }
+
+    public void setText4(String text4) {
+        this.text4 = text4;
+    }
+
+    public String getText5() {
+        return text5;
+    }
+
+    public void setText5(String text5) {
+        this.text5 = text5;
+    }
+
+    public String getText6() {
+        return text6;
+    }
+
+    public void setText6(String text6) {
+        this.text6 = text6;
+    }
+
+    public String getText7() {
+        return text7;
+    }
+
+    public void setText7(String text7) {
+        this.text7 = text7;
+    }
+
+    public String getText8() {
+        return text8;
+    }
+
+    public void setText8(String text8) {
+        this.text8 = text8;
+    }
+
+    public Integer getNumber1() {
+        return number1;
+    }
+
+    public void setNumber1(Integer number1) {
+        this.number1 = number1;
+    }
+
+    public Integer getNumber2() {
+        return number2;
+    }
+
+    public void setNumber2(Integer number2) {
+        this.number2 = number2;
+    }
+
+    public Integer getNumber3() {
+        return number3;
+    }
+
+    public void setNumber3(Integer number3) {
+        this.number3 = number3;
+    }
+
+    public Integer getNumber4() {
+        return number4;
+    }
+
+    public void setNumber4(Integer number4) {
+        this.number4 = number4;
+    }
+
+    public Integer getNumber5() {
+        return number5;
+    }
+
+    public void setNumber5(Integer number5) {
+        this.number5 = number5;
+    }
+
+    public Integer getNumber6() {
+        return number6;
+    }
+
+    public void setNumber6(Integer number6) {
+        this.number6 = number6;
+    }
+
+    public BigDecimal getAmount1() {
+        return amount1;
+    }
+
+    public void setAmount1(BigDecimal amount1) {
+        this.amount1 = amount1;
+    }
+
+    public BigDecimal getAmount2() {
+        return amount2;
+    }
+
+    public void setAmount2(BigDecimal amount2) {
+        this.amount2 = amount2;
+    }
+
+    public BigDecimal getAmount3() {
+        return amount3;
+    }
+
+    public void setAmount3(BigDecimal amount3) {
+        this.amount3 = amount3;
+    }
+
+    public BigDecimal getAmount4() {
+        return amount4;
+    }
+
+    public void setAmount4(BigDecimal amount4) {
+        this.amount4 = amount4;
+    }
+}
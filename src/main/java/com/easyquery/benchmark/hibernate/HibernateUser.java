@@ -1,12 +1,19 @@
 package com.easyquery.benchmark.hibernate;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Hibernate entity for User table
+ * <p>
+ * Cacheable, which only takes effect where the second-level cache is enabled (see
+ * {@link com.easyquery.benchmark.cache.HibernateCacheRegions}).
  */
 @Entity
 @Table(name = "t_user")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public class HibernateUser {
     
     @Id
@@ -88,6 +95,3 @@ public class HibernateUser {
         this.address = address;
     }
 }
-
-
-
@@ -0,0 +1,75 @@
+package com.easyquery.benchmark.hibernate;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only view of the User table with its orders, only used by
+ * {@link com.easyquery.benchmark.RelationshipBenchmark} so that {@link HibernateUser} stays
+ * free of the association in all other benchmarks.
+ */
+@Entity
+@Table(name = "t_user")
+@Immutable
+public class HibernateUserWithOrders {
+
+    @Id
+    @Column(name = "id")
+    private String id;
+
+    @Column(name = "username")
+    private String username;
+
+    @Column(name = "email")
+    private String email;
+
+    @Column(name = "age")
+    private Integer age;
+
+    @Column(name = "phone")
+    private String phone;
+
+    @Column(name = "address")
+    private String address;
+
+    /**
+     * Lazy and read only: t_order.user_id is written through {@link HibernateOrder#getUserId()}.
+     */
+    @OneToMany(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", insertable = false, updatable = false)
+    private List<HibernateOrder> orders = new ArrayList<>();
+
+    public HibernateUserWithOrders() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public List<HibernateOrder> getOrders() {
+        return orders;
+    }
+}
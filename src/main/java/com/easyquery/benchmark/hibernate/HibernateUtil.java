@@ -1,6 +1,7 @@
 package com.easyquery.benchmark.hibernate;
 
 import com.easyquery.benchmark.DatabaseInitializer;
+import com.easyquery.benchmark.phase.HibernatePhaseListener;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import org.hibernate.SessionFactory;
@@ -8,11 +9,13 @@ import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
 import org.hibernate.cfg.Configuration;
 import org.hibernate.service.ServiceRegistry;
 
+import javax.sql.DataSource;
 import java.util.Properties;
 
 public class HibernateUtil {
     
     private static volatile EntityManagerFactory entityManagerFactory;
+    private static volatile EntityManagerFactory phaseTimedEntityManagerFactory;
     
     public static EntityManagerFactory getEntityManagerFactory() {
         if (entityManagerFactory == null) {
@@ -25,12 +28,36 @@ public class HibernateUtil {
         return entityManagerFactory;
     }
     
+    /**
+     * Builds a new EntityManagerFactory with the benchmark settings on top of another DataSource,
+     * e.g. the stub driver. The dialect is configured explicitly, so Hibernate is told not to
+     * inspect the JDBC metadata while booting.
+     */
+    public static EntityManagerFactory createEntityManagerFactory(DataSource dataSource) {
+        return createEntityManagerFactory(dataSource, new Properties());
+    }
+    
+    /**
+     * Like {@link #createEntityManagerFactory(DataSource)}, with some of the benchmark settings replaced,
+     * e.g. {@code hibernate.jdbc.fetch_size}.
+     */
+    public static EntityManagerFactory createEntityManagerFactory(DataSource dataSource, Properties overrides) {
+        Properties properties = new Properties();
+        properties.put("hibernate.temp.use_jdbc_metadata_defaults", "false");
+        properties.putAll(overrides);
+        return buildEntityManagerFactory(dataSource, properties);
+    }
+    
     private static EntityManagerFactory buildEntityManagerFactory() {
+        return buildEntityManagerFactory(DatabaseInitializer.getDataSource(), new Properties());
+    }
+    
+    private static EntityManagerFactory buildEntityManagerFactory(DataSource dataSource, Properties overrides) {
         try {
             Configuration configuration = new Configuration();
             
             Properties properties = new Properties();
-            properties.put("hibernate.connection.datasource", DatabaseInitializer.getDataSource());
+            properties.put("hibernate.connection.datasource", dataSource);
             properties.put("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
             properties.put("hibernate.show_sql", "false");
             properties.put("hibernate.format_sql", "false");
@@ -47,10 +74,14 @@ public class HibernateUtil {
             properties.put("hibernate.cache.use_second_level_cache", "false");
             properties.put("hibernate.cache.use_query_cache", "false");
             
+            properties.putAll(overrides);
+            
             configuration.setProperties(properties);
             
             configuration.addAnnotatedClass(HibernateUser.class);
             configuration.addAnnotatedClass(HibernateOrder.class);
+            configuration.addAnnotatedClass(HibernateWideUser.class);
+            configuration.addAnnotatedClass(HibernateUserWithOrders.class);
             
             ServiceRegistry serviceRegistry = new StandardServiceRegistryBuilder()
                     .applySettings(configuration.getProperties())
@@ -68,10 +99,38 @@ public class HibernateUtil {
         return getEntityManagerFactory().createEntityManager();
     }
     
-    public static void shutdown() {
+    /**
+     * With phase timing the EntityManager comes from a second factory whose sessions report their
+     * JDBC calls to the {@link HibernatePhaseListener}.
+     */
+    public static EntityManager createEntityManager(boolean phaseTiming) {
+        if (!phaseTiming) {
+            return createEntityManager();
+        }
+        if (phaseTimedEntityManagerFactory == null) {
+            synchronized (HibernateUtil.class) {
+                if (phaseTimedEntityManagerFactory == null) {
+                    Properties properties = new Properties();
+                    properties.put("hibernate.session.events.auto", HibernatePhaseListener.class.getName());
+                    phaseTimedEntityManagerFactory = buildEntityManagerFactory(DatabaseInitializer.getDataSource(), properties);
+                }
+            }
+        }
+        return phaseTimedEntityManagerFactory.createEntityManager();
+    }
+    
+    /**
+     * Closes the factories; the next {@link #createEntityManager} builds new ones on the current pool.
+     */
+    public static synchronized void shutdown() {
         if (entityManagerFactory != null && entityManagerFactory.isOpen()) {
             entityManagerFactory.close();
         }
+        if (phaseTimedEntityManagerFactory != null && phaseTimedEntityManagerFactory.isOpen()) {
+            phaseTimedEntityManagerFactory.close();
+        }
+        entityManagerFactory = null;
+        phaseTimedEntityManagerFactory = null;
     }
 }
 
@@ -0,0 +1,281 @@
+package com.easyquery.benchmark.hibernate;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Hibernate entity for the wide user table, see {@link com.easyquery.benchmark.entity.WideUser}.
+ */
+@Entity
+@Table(name = "t_wide_user")
+public class HibernateWideUser {
+    
+    @Id
+    @Column(name = "id")
+    private String id;
+    
+    @Column(name = "username")
+    private String username;
+    
+    @Column(name = "email")
+    private String email;
+    
+    @Column(name = "age")
+    private Integer age;
+    
+    @Column(name = "phone")
+    private String phone;
+    
+    @Column(name = "address")
+    private String address;
+    
+    @Column(name = "text1")
+    private String text1;
+    
+    @Column(name = "text2")
+    private String text2;
+    
+    @Column(name = "text3")
+    private String text3;
+    
+    @Column(name = "text4")
+    private String text4;
+    
+    @Column(name = "text5")
+    private String text5;
+    
+    @Column(name = "text6")
+    private String text6;
+    
+    @Column(name = "text7")
+    private String text7;
+    
+    @Column(name = "text8")
+    private String text8;
+    
+    @Column(name = "number1")
+    private Integer number1;
+    
+    @Column(name = "number2")
+    private Integer number2;
+    
+    @Column(name = "number3")
+    private Integer number3;
+    
+    @Column(name = "number4")
+    private Integer number4;
+    
+    @Column(name = "number5")
+    private Integer number5;
+    
+    @Column(name = "number6")
+    private Integer number6;
+    
+    @Column(name = "amount1")
+    private BigDecimal amount1;
+    
+    @Column(name = "amount2")
+    private BigDecimal amount2;
+    
+    @Column(name = "amount3")
+    private BigDecimal amount3;
+    
+    @Column(name = "amount4")
+    private BigDecimal amount4;
+
+    public HibernateWideUser() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public String getText1() {
+        return text1;
+    }
+
+    public void setText1(String text1) {
+        this.text1 = text1;
+    }
+
+    public String getText2() {
+        return text2;
+    }
+
+    public void setText2(String text2) {
+        this.text2 = text2;
+    }
+
+    public String getText3() {
+        return text3;
+    }
+
+    public void setText3(String text3) {
+        this.text3 = text3;
+    }
+
+    public String getText4() {
+        return text4;
+    }
+
+    public void setText4(String text4) {
+        this.text4 = text4;
+    }
+
+    public String getText5() {
+        return text5;
+    }
+
+    public void setText5(String text5) {
+        this.text5 = text5;
+    }
+
+    public String getText6() {
+        return text6;
+    }
+
+    public void setText6(String text6) {
+        this.text6 = text6;
+    }
+
+    public String getText7() {
+        return text7;
+    }
+
+    public void setText7(String text7) {
+        this.text7 = text7;
+    }
+
+    public String getText8() {
+        return text8;
+    }
+
+    public void setText8(String text8) {
+        this.text8 = text8;
+    }
+
+    public Integer getNumber1() {
+        return number1;
+    }
+
+    public void setNumber1(Integer number1) {
+        this.number1 = number1;
+    }
+
+    public Integer getNumber2() {
+        return number2;
+    }
+
+    public void setNumber2(Integer number2) {
+        this.number2 = number2;
+    }
+
+    public Integer getNumber3() {
+        return number3;
+    }
+
+    public void setNumber3(Integer number3) {
+        this.number3 = number3;
+    }
+
+    public Integer getNumber4() {
+        return number4;
+    }
+
+    public void setNumber4(Integer number4) {
+        this.number4 = number4;
+    }
+
+    public Integer getNumber5() {
+        return number5;
+    }
+
+    public void setNumber5(Integer number5) {
+        this.number5 = number5;
+    }
+
+    public Integer getNumber6() {
+        return number6;
+    }
+
+    public void setNumber6(Integer number6) {
+        this.number6 = number6;
+    }
+
+    public BigDecimal getAmount1() {
+        return amount1;
+    }
+
+    public void setAmount1(BigDecimal amount1) {
+        this.amount1 = amount1;
+    }
+
+    public BigDecimal getAmount2() {
+        return amount2;
+    }
+
+    public void setAmount2(BigDecimal amount2) {
+        this.amount2 = amount2;
+    }
+
+    public BigDecimal getAmount3() {
+        return amount3;
+    }
+
+    public void setAmount3(BigDecimal amount3) {
+        this.amount3 = amount3;
+    }
+
+    public BigDecimal getAmount4() {
+        return amount4;
+    }
+
+    public void setAmount4(BigDecimal amount4) {
+        this.amount4 = amount4;
+    }
+}
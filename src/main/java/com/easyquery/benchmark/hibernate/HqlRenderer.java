@@ -0,0 +1,136 @@
+package com.easyquery.benchmark.hibernate;
+
+import com.easyquery.benchmark.RenderedSql;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.metamodel.mapping.MappingModelExpressible;
+import org.hibernate.query.internal.ParameterMetadataImpl;
+import org.hibernate.query.internal.QueryOptionsImpl;
+import org.hibernate.query.internal.QueryParameterBindingsImpl;
+import org.hibernate.query.spi.QueryEngine;
+import org.hibernate.query.spi.QueryOptions;
+import org.hibernate.query.sqm.internal.DomainParameterXref;
+import org.hibernate.query.sqm.internal.SqmUtil;
+import org.hibernate.query.sqm.spi.SqmParameterMappingModelResolutionAccess;
+import org.hibernate.query.sqm.sql.SqmTranslation;
+import org.hibernate.query.sqm.tree.SqmDmlStatement;
+import org.hibernate.query.sqm.tree.SqmStatement;
+import org.hibernate.query.sqm.tree.expression.SqmParameter;
+import org.hibernate.query.sqm.tree.select.SqmSelectStatement;
+import org.hibernate.sql.ast.SqlAstTranslatorFactory;
+import org.hibernate.sql.ast.tree.MutationStatement;
+import org.hibernate.sql.ast.tree.Statement;
+import org.hibernate.sql.ast.tree.select.SelectStatement;
+import org.hibernate.sql.ast.tree.expression.JdbcParameter;
+import org.hibernate.sql.exec.spi.JdbcOperation;
+import org.hibernate.sql.exec.spi.JdbcOperationQueryMutation;
+import org.hibernate.sql.exec.spi.JdbcOperationQuerySelect;
+import org.hibernate.sql.exec.spi.JdbcParameterBinder;
+import org.hibernate.sql.exec.spi.JdbcParameterBindings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Translates HQL into SQL the way Hibernate does before executing a query (HQL to SQM, SQM to SQL AST,
+ * parameter binding, SQL AST to SQL text), but without the query plan caches and without a connection.
+ */
+public class HqlRenderer implements AutoCloseable {
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final QueryEngine queryEngine;
+    private final SqlAstTranslatorFactory sqlAstTranslatorFactory;
+    // Only used to coerce the bound values, it never obtains a connection
+    private final SessionImplementor session;
+
+    public HqlRenderer(EntityManagerFactory entityManagerFactory) {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        queryEngine = sessionFactory.getQueryEngine();
+        sqlAstTranslatorFactory = sessionFactory.getJdbcServices().getJdbcEnvironment().getSqlAstTranslatorFactory();
+        session = sessionFactory.openSession();
+    }
+
+    /**
+     * @param resultType result type of a select, {@code null} for an update or delete
+     * @param parameters values of the named parameters
+     * @param maxResults row limit, 0 for none
+     * @return the SQL text and its bind values
+     */
+    public RenderedSql render(String hql, Class<?> resultType, Map<String, ?> parameters, int maxResults) {
+        SqmStatement<?> sqm = queryEngine.getHqlTranslator().translate(hql, resultType);
+        DomainParameterXref parameterXref = DomainParameterXref.from(sqm);
+        QueryParameterBindingsImpl bindings = QueryParameterBindingsImpl.from(
+                new ParameterMetadataImpl(parameterXref.getQueryParameters()), sessionFactory);
+        parameters.forEach((name, value) -> bindings.getBinding(name).setBindValue(value));
+        QueryOptionsImpl options = new QueryOptionsImpl();
+        if (maxResults > 0) {
+            options.getLimit().setMaxRows(maxResults);
+        }
+
+        if (sqm instanceof SqmSelectStatement<?> select) {
+            SqmTranslation<SelectStatement> translation = queryEngine.getSqmTranslatorFactory()
+                    .createSelectTranslator(select, options, parameterXref, bindings,
+                            session.getLoadQueryInfluencers(), sessionFactory, true)
+                    .translate();
+            JdbcParameterBindings jdbcBindings = jdbcParameterBindings(translation, parameterXref, bindings);
+            JdbcOperationQuerySelect operation = sqlAstTranslatorFactory.buildSelectTranslator(sessionFactory, translation.getSqlAst())
+                    .translate(jdbcBindings, options);
+            return new RenderedSql(operation.getSqlString(), bindValues(operation, jdbcBindings, options));
+        }
+        SqmTranslation<? extends MutationStatement> translation = queryEngine.getSqmTranslatorFactory()
+                .createMutationTranslator((SqmDmlStatement<?>) sqm, options, parameterXref, bindings,
+                        session.getLoadQueryInfluencers(), sessionFactory)
+                .translate();
+        JdbcParameterBindings jdbcBindings = jdbcParameterBindings(translation, parameterXref, bindings);
+        JdbcOperationQueryMutation operation = sqlAstTranslatorFactory.buildMutationTranslator(sessionFactory, translation.getSqlAst())
+                .translate(jdbcBindings, options);
+        return new RenderedSql(operation.getSqlString(), bindValues(operation, jdbcBindings, options));
+    }
+
+    /**
+     * The values in the order of the SQL placeholders. The row limit is not a bound parameter but is
+     * read from the query options when the statement executes.
+     */
+    private static List<Object> bindValues(JdbcOperation operation, JdbcParameterBindings jdbcBindings,
+                                           QueryOptions options) {
+        JdbcParameter offset = operation instanceof JdbcOperationQuerySelect select ? select.getOffsetParameter() : null;
+        JdbcParameter limit = operation instanceof JdbcOperationQuerySelect select ? select.getLimitParameter() : null;
+        List<Object> values = new ArrayList<>(operation.getParameterBinders().size());
+        for (JdbcParameterBinder binder : operation.getParameterBinders()) {
+            if (binder == offset) {
+                values.add(options.getLimit().getFirstRow());
+            } else if (binder == limit) {
+                values.add(options.getLimit().getMaxRows());
+            } else {
+                values.add(jdbcBindings.getBinding((JdbcParameter) binder).getBindValue());
+            }
+        }
+        return values;
+    }
+
+    private JdbcParameterBindings jdbcParameterBindings(SqmTranslation<? extends Statement> translation,
+                                                        DomainParameterXref parameterXref,
+                                                        QueryParameterBindingsImpl bindings) {
+        return SqmUtil.createJdbcParameterBindings(
+                bindings,
+                parameterXref,
+                SqmUtil.generateJdbcParamsXref(parameterXref, translation::getJdbcParamsBySqmParam),
+                sessionFactory.getRuntimeMetamodels().getMappingMetamodel(),
+                translation.getFromClauseAccess()::findTableGroup,
+                new SqmParameterMappingModelResolutionAccess() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public <T> MappingModelExpressible<T> getResolvedMappingModelType(SqmParameter<T> parameter) {
+                        return (MappingModelExpressible<T>) translation.getSqmParameterMappingModelTypeResolutions().get(parameter);
+                    }
+                },
+                session);
+    }
+
+    @Override
+    public void close() {
+        session.close();
+    }
+}
@@ -0,0 +1,96 @@
+package com.easyquery.benchmark.jdbc;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.logging.Logger;
+
+/**
+ * DataSource wrapper that counts the JDBC work of each benchmark thread into its {@link JdbcCounters}.
+ * The counters are looked up once per borrowed connection, every later call is a plain field increment.
+ * Borrowing is also timed, which shows how long threads wait for the pool.
+ * <p>
+ * The wrappers and timestamps cost a little on every borrow and statement. Run the benchmark JVMs with
+ * {@code -Djdbc.counters=false} to measure without them, e.g. to compare with results taken before
+ * the counters existed; the counters then stay at zero.
+ */
+public class CountingDataSource implements DataSource {
+
+    /**
+     * Whether {@link #wrap(DataSource)} counts, unless the JVM runs with {@code -Djdbc.counters=false}.
+     */
+    public static final boolean ENABLED = !"false".equals(System.getProperty("jdbc.counters"));
+
+    private final DataSource delegate;
+
+    public CountingDataSource(DataSource delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * The counting wrapper of the given DataSource, or the DataSource itself if counting is disabled.
+     */
+    public static DataSource wrap(DataSource dataSource) {
+        return ENABLED ? new CountingDataSource(dataSource) : dataSource;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        JdbcCounters counters = JdbcCounters.current();
+        counters.connections++;
+        long start = System.nanoTime();
+        Connection connection = delegate.getConnection();
+        counters.connectionWaitNanos += System.nanoTime() - start;
+        return new CountingConnection(connection, counters);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        JdbcCounters counters = JdbcCounters.current();
+        counters.connections++;
+        long start = System.nanoTime();
+        Connection connection = delegate.getConnection(username, password);
+        counters.connectionWaitNanos += System.nanoTime() - start;
+        return new CountingConnection(connection, counters);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws java.sql.SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws java.sql.SQLException {
+        return iface.isInstance(this) || delegate.isWrapperFor(iface);
+    }
+}
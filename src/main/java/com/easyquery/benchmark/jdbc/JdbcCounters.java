@@ -0,0 +1,56 @@
+package com.easyquery.benchmark.jdbc;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * JDBC work done by one benchmark thread, counted by {@link CountingDataSource} and reported by JMH
+ * as secondary metrics of every benchmark that takes this state as an argument.
+ * <p>
+ * The counters are normalized to time like the primary score, so in a throughput run dividing a
+ * counter by the score gives its count per operation ({@code JdbcCountsReport} does this).
+ * JMH resets the public fields before every iteration.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class JdbcCounters {
+
+    // Threads that do not run a benchmark (fixture loading, framework bootstrapping) count into their own instance
+    private static final ThreadLocal<JdbcCounters> CURRENT = ThreadLocal.withInitial(JdbcCounters::new);
+
+    /** Connections borrowed from the pool. */
+    public long connections;
+    /** Nanoseconds spent in getConnection: waiting for a free pooled connection, or opening one without a pool. */
+    public long connectionWaitNanos;
+    /** Statements created or prepared. */
+    public long statements;
+    /** Statement executions, a batch counts once. */
+    public long executions;
+    /** Entries added to a batch. */
+    public long batchEntries;
+    public long commits;
+    public long rollbacks;
+    /** Calls to setAutoCommit, each one is a round trip on most remote drivers. */
+    public long autoCommitSwitches;
+    /** Rows read from result sets. */
+    public long rows;
+
+    @Setup(Level.Trial)
+    public void register() {
+        CURRENT.set(this);
+    }
+
+    /**
+     * Messages sent to the database: executions, commits, rollbacks and auto-commit switches.
+     */
+    public long roundTrips() {
+        return executions + commits + rollbacks + autoCommitSwitches;
+    }
+
+    static JdbcCounters current() {
+        return CURRENT.get();
+    }
+}
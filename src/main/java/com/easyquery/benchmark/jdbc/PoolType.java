@@ -0,0 +1,63 @@
+package com.easyquery.benchmark.jdbc;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * The connection pools the H2 benchmarks can run on, selected with the {@code pool} parameter.
+ */
+public enum PoolType {
+
+    /**
+     * HikariCP, what most applications use.
+     */
+    HIKARI {
+        @Override
+        public DataSource create(String url, String username, String password, int size) {
+            HikariConfig config = new HikariConfig();
+            config.setJdbcUrl(url);
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(size);
+            config.setMinimumIdle(Math.min(5, size));
+            return new HikariDataSource(config);
+        }
+    },
+
+    /**
+     * No pool at all: every {@code getConnection()} opens a new H2 session, the pool size is ignored.
+     */
+    UNPOOLED {
+        @Override
+        public DataSource create(String url, String username, String password, int size) {
+            return h2(url, username, password);
+        }
+    },
+
+    /**
+     * {@link SimplePool}, a fixed lock-free pool without housekeeping.
+     */
+    SIMPLE {
+        @Override
+        public DataSource create(String url, String username, String password, int size) throws SQLException {
+            return new SimplePool(h2(url, username, password), size);
+        }
+    };
+
+    /**
+     * Creates the pool; pools that hold connections implement {@link AutoCloseable}.
+     */
+    public abstract DataSource create(String url, String username, String password, int size) throws SQLException;
+
+    private static JdbcDataSource h2(String url, String username, String password) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(url);
+        dataSource.setUser(username);
+        dataSource.setPassword(password);
+        return dataSource;
+    }
+}
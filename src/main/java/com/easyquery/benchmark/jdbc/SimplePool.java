@@ -0,0 +1,122 @@
+package com.easyquery.benchmark.jdbc;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * Fixed size connection pool without locks or housekeeping, the lower bound of what pooling can cost.
+ * All connections are opened up front. A borrower claims a free slot with a CAS, starting at a slot
+ * derived from its thread so that threads rarely compete for the same one. When every slot is taken it
+ * polls (spinning briefly, then parking) instead of queueing, so there is no fairness and no hand-off.
+ * Returned connections are only reset to auto-commit; there is no validation, leak detection or eviction.
+ */
+public class SimplePool implements DataSource, AutoCloseable {
+
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final int SPINS = 64;
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    private final Connection[] connections;
+    // 0 = free, 1 = borrowed
+    private final AtomicIntegerArray borrowed;
+
+    public SimplePool(DataSource source, int size) throws SQLException {
+        connections = new Connection[size];
+        borrowed = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            connections[i] = source.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int start = (int) (Thread.currentThread().threadId() % connections.length);
+        long deadline = 0;
+        for (int attempt = 0; ; attempt++) {
+            for (int i = 0; i < connections.length; i++) {
+                int slot = (start + i) % connections.length;
+                if (borrowed.get(slot) == 0 && borrowed.compareAndSet(slot, 0, 1)) {
+                    return new PooledConnection(this, slot, connections[slot]);
+                }
+            }
+            if (deadline == 0) {
+                deadline = System.nanoTime() + TIMEOUT_NANOS;
+            } else if (System.nanoTime() - deadline > 0) {
+                throw new SQLTransientConnectionException("No connection available after 30s, pool size " + connections.length);
+            }
+            if (attempt < SPINS) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    }
+
+    void release(int slot) throws SQLException {
+        Connection connection = connections[slot];
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } finally {
+            borrowed.set(slot, 0);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("The pool only hands out connections of its own user");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return 0;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
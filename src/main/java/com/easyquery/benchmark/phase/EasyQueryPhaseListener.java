@@ -0,0 +1,30 @@
+package com.easyquery.benchmark.phase;
+
+import com.easy.query.core.basic.extension.listener.JdbcExecuteAfterArg;
+import com.easy.query.core.basic.extension.listener.JdbcExecuteBeforeArg;
+import com.easy.query.core.basic.extension.listener.JdbcExecutorListener;
+
+import static com.easyquery.benchmark.phase.PhaseTimer.Phase.EXECUTE;
+
+/**
+ * easy-query's JDBC executor listener wraps the statement execution including parameter binding,
+ * which is recorded as execution; rendering and mapping count as other time.
+ * Registered with {@code replaceService(JdbcExecutorListener.class, EasyQueryPhaseListener.class)}.
+ */
+public class EasyQueryPhaseListener implements JdbcExecutorListener {
+
+    @Override
+    public boolean enable() {
+        return true;
+    }
+
+    @Override
+    public void onExecuteBefore(JdbcExecuteBeforeArg arg) {
+        PhaseTimer.start(EXECUTE);
+    }
+
+    @Override
+    public void onExecuteAfter(JdbcExecuteAfterArg afterArg) {
+        PhaseTimer.stop(EXECUTE);
+    }
+}
@@ -0,0 +1,43 @@
+package com.easyquery.benchmark.phase;
+
+import org.hibernate.SessionEventListener;
+
+import static com.easyquery.benchmark.phase.PhaseTimer.Phase.EXECUTE;
+
+/**
+ * Hibernate's session events only expose the JDBC calls, so preparing and executing statements and
+ * batches is recorded as execution; rendering, binding and mapping count as other time.
+ * Registered through {@code hibernate.session.events.auto}, which instantiates it for every session.
+ */
+public class HibernatePhaseListener implements SessionEventListener {
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        PhaseTimer.start(EXECUTE);
+    }
+
+    @Override
+    public void jdbcPrepareStatementEnd() {
+        PhaseTimer.stop(EXECUTE);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        PhaseTimer.start(EXECUTE);
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        PhaseTimer.stop(EXECUTE);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        PhaseTimer.start(EXECUTE);
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        PhaseTimer.stop(EXECUTE);
+    }
+}
@@ -0,0 +1,56 @@
+package com.easyquery.benchmark.phase;
+
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+
+import static com.easyquery.benchmark.phase.PhaseTimer.Phase.BIND;
+import static com.easyquery.benchmark.phase.PhaseTimer.Phase.EXECUTE;
+import static com.easyquery.benchmark.phase.PhaseTimer.Phase.FETCH;
+import static com.easyquery.benchmark.phase.PhaseTimer.Phase.RENDER;
+
+/**
+ * jOOQ reports every phase. Fetching covers reading the rows into records; mapping the records
+ * into POJOs ({@code fetchInto}) happens after {@code fetchEnd} and counts as other time.
+ */
+public class JooqPhaseListener implements ExecuteListener {
+
+    @Override
+    public void renderStart(ExecuteContext ctx) {
+        PhaseTimer.start(RENDER);
+    }
+
+    @Override
+    public void renderEnd(ExecuteContext ctx) {
+        PhaseTimer.stop(RENDER);
+    }
+
+    @Override
+    public void bindStart(ExecuteContext ctx) {
+        PhaseTimer.start(BIND);
+    }
+
+    @Override
+    public void bindEnd(ExecuteContext ctx) {
+        PhaseTimer.stop(BIND);
+    }
+
+    @Override
+    public void executeStart(ExecuteContext ctx) {
+        PhaseTimer.start(EXECUTE);
+    }
+
+    @Override
+    public void executeEnd(ExecuteContext ctx) {
+        PhaseTimer.stop(EXECUTE);
+    }
+
+    @Override
+    public void fetchStart(ExecuteContext ctx) {
+        PhaseTimer.start(FETCH);
+    }
+
+    @Override
+    public void fetchEnd(ExecuteContext ctx) {
+        PhaseTimer.stop(FETCH);
+    }
+}
@@ -0,0 +1,79 @@
+package com.easyquery.benchmark.phase;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reports the time per operation spent in every {@link PhaseTimer.Phase} as secondary results
+ * ({@code phase.render}, {@code phase.bind}, ...), plus {@code phase.other}: the rest of the
+ * operation, i.e. building the query and whatever a framework's listener does not cover.
+ * <p>
+ * The phases are only recorded when the listeners are installed, i.e. with {@code -p phaseTiming=true}:
+ * <pre>
+ * java -jar target/benchmarks.jar QueryBenchmark -p phaseTiming=true -prof com.easyquery.benchmark.phase.PhaseProfiler
+ * </pre>
+ */
+public class PhaseProfiler implements InternalProfiler {
+
+    private long[] before;
+
+    @Override
+    public String getDescription() {
+        return "Time per operation in each query phase, needs -p phaseTiming=true";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        before = PhaseTimer.totals();
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams,
+                                                       IterationResult result) {
+        long[] after = PhaseTimer.totals();
+        long ops = result.getMetadata().getAllOps();
+        if (ops == 0) {
+            return List.of();
+        }
+
+        List<Result> results = new ArrayList<>();
+        double attributed = 0;
+        for (PhaseTimer.Phase phase : PhaseTimer.phases()) {
+            double perOp = (double) (after[phase.ordinal()] - before[phase.ordinal()]) / ops;
+            attributed += perOp;
+            results.add(phaseResult(phase.name().toLowerCase(Locale.ROOT), perOp));
+        }
+        double total = nanosPerOp(benchmarkParams, result.getPrimaryResult().getScore());
+        if (!Double.isNaN(total)) {
+            results.add(phaseResult("other", Math.max(0, total - attributed)));
+        }
+        return results;
+    }
+
+    /**
+     * Time one thread needs for one operation according to the primary score. Throughput scores are
+     * summed over the threads, time scores are averaged.
+     */
+    private static double nanosPerOp(BenchmarkParams benchmarkParams, double score) {
+        double unitNanos = benchmarkParams.getTimeUnit().toNanos(1);
+        return switch (benchmarkParams.getMode()) {
+            case Throughput -> unitNanos * benchmarkParams.getThreads() / score;
+            case AverageTime, SampleTime -> score * unitNanos;
+            default -> Double.NaN;
+        };
+    }
+
+    private static ScalarResult phaseResult(String phase, double nanosPerOp) {
+        return new ScalarResult("phase." + phase, nanosPerOp, "ns/op", AggregationPolicy.AVG);
+    }
+}
@@ -0,0 +1,61 @@
+package com.easyquery.benchmark.phase;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-thread accumulators of the time spent in each phase of a query, fed by the framework
+ * execution listeners and read by {@link PhaseProfiler}.
+ * <p>
+ * Every thread only ever writes its own accumulator, so recording a phase is two
+ * {@code System.nanoTime()} calls and a release store, without locks or contended atomics.
+ */
+public final class PhaseTimer {
+
+    public enum Phase {
+        RENDER, BIND, EXECUTE, FETCH
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final Queue<PhaseTimer> ALL = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<PhaseTimer> CURRENT = ThreadLocal.withInitial(() -> {
+        PhaseTimer timer = new PhaseTimer();
+        ALL.add(timer);
+        return timer;
+    });
+
+    private final long[] started = new long[PHASES.length];
+    private final AtomicLongArray nanos = new AtomicLongArray(PHASES.length);
+
+    private PhaseTimer() {
+    }
+
+    public static void start(Phase phase) {
+        CURRENT.get().started[phase.ordinal()] = System.nanoTime();
+    }
+
+    public static void stop(Phase phase) {
+        long now = System.nanoTime();
+        PhaseTimer timer = CURRENT.get();
+        int index = phase.ordinal();
+        timer.nanos.setRelease(index, timer.nanos.getPlain(index) + now - timer.started[index]);
+    }
+
+    /**
+     * Nanoseconds recorded so far per phase, summed over all threads.
+     */
+    static long[] totals() {
+        long[] totals = new long[PHASES.length];
+        for (PhaseTimer timer : ALL) {
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += timer.nanos.getAcquire(i);
+            }
+        }
+        return totals;
+    }
+
+    static Phase[] phases() {
+        return PHASES;
+    }
+}
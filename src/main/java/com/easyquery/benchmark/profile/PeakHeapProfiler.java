@@ -0,0 +1,117 @@
+package com.easyquery.benchmark.profile;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reports how much heap an iteration needed, as secondary results in MB:
+ * <ul>
+ *   <li>{@code heap.peak}: the highest heap usage, i.e. the usage right before the fullest collection</li>
+ *   <li>{@code heap.retained}: the highest usage that survived a collection, minus the usage that survived
+ *   the forced collection before the iteration (the fixture). This is what the benchmark keeps reachable,
+ *   e.g. a materialized result list; it is 0 if no collection ran during the iteration.</li>
+ * </ul>
+ * Both are read from the GC notifications, so they cost nothing while the benchmark runs:
+ * <pre>
+ * java -jar target/benchmarks.jar StreamingBenchmark -prof com.easyquery.benchmark.profile.PeakHeapProfiler
+ * </pre>
+ */
+public class PeakHeapProfiler implements InternalProfiler {
+
+    private static final double MB = 1024.0 * 1024.0;
+
+    // A GC report also contains the non-heap pools
+    private static final Set<String> HEAP_POOLS = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .map(MemoryPoolMXBean::getName)
+            .collect(Collectors.toSet());
+
+    private final AtomicLong peakBeforeGc = new AtomicLong();
+    private final AtomicLong peakAfterGc = new AtomicLong();
+    private final NotificationListener listener = this::onGc;
+    private long baseline;
+
+    @Override
+    public String getDescription() {
+        return "Peak and retained heap per iteration, from GC notifications";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        System.gc();
+        baseline = heapUsed();
+        peakBeforeGc.set(baseline);
+        peakAfterGc.set(baseline);
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(listener, null, null);
+            }
+        }
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams,
+                                                       IterationResult result) {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                try {
+                    emitter.removeNotificationListener(listener);
+                } catch (Exception e) {
+                    // Not registered, nothing to remove
+                }
+            }
+        }
+        long peak = Math.max(peakBeforeGc.get(), heapUsed());
+        long retained = Math.max(0, peakAfterGc.get() - baseline);
+        return List.of(
+                new ScalarResult("heap.peak", peak / MB, "MB", AggregationPolicy.MAX),
+                new ScalarResult("heap.retained", retained / MB, "MB", AggregationPolicy.MAX));
+    }
+
+    private void onGc(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        peakBeforeGc.accumulateAndGet(sum(info.getGcInfo().getMemoryUsageBeforeGc()), Math::max);
+        peakAfterGc.accumulateAndGet(sum(info.getGcInfo().getMemoryUsageAfterGc()), Math::max);
+    }
+
+    private static long sum(Map<String, MemoryUsage> pools) {
+        long used = 0;
+        for (String pool : HEAP_POOLS) {
+            MemoryUsage usage = pools.get(pool);
+            if (usage != null) {
+                used += usage.getUsed();
+            }
+        }
+        return used;
+    }
+
+    private static long heapUsed() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,116 @@
+package com.easyquery.benchmark.report;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the bytes allocated per operation, as recorded by the JMH GC profiler ({@code -prof gc},
+ * secondary metric {@code gc.alloc.rate.norm}), against a stored baseline and flags every benchmark
+ * that allocates noticeably more than before.
+ * <p>
+ * Reads {@code results/benchmark-results.json} unless another file is given:
+ * <pre>
+ * java -cp target/benchmarks.jar com.easyquery.benchmark.report.AllocationReport [results.json]
+ * </pre>
+ * The baseline is {@code results/allocation-baseline.json}. It is created from the result when it does
+ * not exist yet and replaced with {@code -Dallocation.updateBaseline=true}; such a run compares nothing
+ * and removes a stale comparison. A benchmark is flagged when
+ * its bytes/op grow by more than {@code -Dallocation.threshold} (default 0.10, i.e. 10%) and by at least
+ * {@code -Dallocation.minBytes} (default 64), so that a single extra small object on an almost
+ * allocation free path does not fail the check. The comparison is written to
+ * {@code results/allocation-comparison.json} and the exit status is 1 if any benchmark was flagged.
+ */
+public class AllocationReport {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private static final Path DEFAULT_INPUT = Path.of("results", "benchmark-results.json");
+    private static final Path BASELINE = Path.of("results", "allocation-baseline.json");
+    private static final Path OUTPUT = Path.of("results", "allocation-comparison.json");
+
+    public static void main(String[] args) throws Exception {
+        Path input = args.length > 0 ? Path.of(args[0]) : DEFAULT_INPUT;
+        double threshold = Double.parseDouble(System.getProperty("allocation.threshold", "0.10"));
+        double minBytes = Double.parseDouble(System.getProperty("allocation.minBytes", "64"));
+
+        Map<String, Double> current = bytesPerOperation(JmhResult.read(input));
+        if (current.isEmpty()) {
+            System.out.println("No " + ALLOCATION_METRIC + " in " + input + ", run the benchmarks with -prof gc");
+            System.exit(1);
+        }
+
+        if (Boolean.getBoolean("allocation.updateBaseline") || !Files.exists(BASELINE)) {
+            Json.writeFile(BASELINE, current);
+            // A comparison against the previous baseline would no longer describe this one
+            Files.deleteIfExists(OUTPUT);
+            System.out.println("Allocation baseline of " + current.size() + " benchmarks written to " + BASELINE
+                    + ", nothing compared");
+            return;
+        }
+        Map<String, Double> baseline = readBaseline();
+
+        List<Map<String, Object>> report = new ArrayList<>();
+        int regressions = 0;
+        System.out.printf("%-60s %14s %14s %9s%n", "Benchmark", "baseline B/op", "B/op", "change");
+        for (Map.Entry<String, Double> entry : current.entrySet()) {
+            Double before = baseline.get(entry.getKey());
+            double after = entry.getValue();
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("benchmark", entry.getKey());
+            row.put("baselineBytesPerOp", before);
+            row.put("bytesPerOp", after);
+            if (before == null) {
+                row.put("status", "new");
+                System.out.printf("%-60s %14s %14.1f %9s%n", entry.getKey(), "-", after, "new");
+            } else {
+                double change = before > 0 ? (after - before) / before : 0;
+                boolean regression = after - before >= minBytes && change > threshold;
+                if (regression) {
+                    regressions++;
+                }
+                row.put("change", change);
+                row.put("status", regression ? "regression" : "ok");
+                System.out.printf("%-60s %14.1f %14.1f %8.1f%%%s%n", entry.getKey(), before, after, change * 100,
+                        regression ? "  <-- REGRESSION" : "");
+            }
+            report.add(row);
+        }
+
+        Json.writeFile(OUTPUT, report);
+        System.out.println();
+        System.out.println("Allocation comparison written to " + OUTPUT);
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) allocate more than %.0f%% above %s%n", regressions, threshold * 100, BASELINE);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Benchmark label -> bytes allocated per operation, for every result recorded with the GC profiler.
+     */
+    private static Map<String, Double> bytesPerOperation(List<JmhResult> results) {
+        Map<String, Double> bytes = new TreeMap<>();
+        for (JmhResult result : results) {
+            JmhResult.Metric metric = result.secondary().get(ALLOCATION_METRIC);
+            if (metric != null && Double.isFinite(metric.score())) {
+                String key = result.label() + (result.threads() > 1 ? " (" + result.threads() + " threads)" : "");
+                bytes.put(key, metric.score());
+            }
+        }
+        return bytes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Double> readBaseline() throws Exception {
+        Map<String, Double> baseline = new TreeMap<>();
+        ((Map<String, Object>) Json.readFile(BASELINE))
+                .forEach((key, value) -> baseline.put(key, ((Number) value).doubleValue()));
+        return baseline;
+    }
+}
@@ -0,0 +1,80 @@
+package com.easyquery.benchmark.report;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reports every framework as a percentage of the hand-written JDBC baseline ({@code jdbc*} methods)
+ * of the same scenario, which is the floor the frameworks are competing against.
+ * <p>
+ * Reads a JMH JSON result file, by default {@code results/benchmark-results.json}:
+ * <pre>
+ * java -cp target/benchmarks.jar com.easyquery.benchmark.report.BaselineReport [results.json]
+ * </pre>
+ * and writes {@code results/baseline-comparison.json}. 100% means as fast as plain JDBC; for time
+ * based modes the ratio is inverted so that lower is always slower.
+ */
+public class BaselineReport {
+
+    private static final Path DEFAULT_INPUT = Path.of("results", "benchmark-results.json");
+    private static final Path OUTPUT = Path.of("results", "baseline-comparison.json");
+
+    public static void main(String[] args) throws Exception {
+        Path input = args.length > 0 ? Path.of(args[0]) : DEFAULT_INPUT;
+
+        Map<String, List<JmhResult>> scenarios = new TreeMap<>();
+        for (JmhResult result : JmhResult.read(input)) {
+            String key = result.scenario() + (result.threads() > 1 ? " (" + result.threads() + " threads)" : "");
+            scenarios.computeIfAbsent(key, k -> new ArrayList<>()).add(result);
+        }
+
+        List<Map<String, Object>> report = new ArrayList<>();
+        System.out.printf("%-60s %-10s %16s %12s%n", "Scenario", "Framework", "Score", "% of JDBC");
+        for (Map.Entry<String, List<JmhResult>> entry : scenarios.entrySet()) {
+            JmhResult baseline = entry.getValue().stream()
+                    .filter(result -> "jdbc".equals(result.framework()))
+                    .findFirst()
+                    .orElse(null);
+            if (baseline == null) {
+                System.out.printf("%-60s (no JDBC baseline)%n", entry.getKey());
+                continue;
+            }
+
+            Map<String, Object> frameworks = new LinkedHashMap<>();
+            for (JmhResult result : entry.getValue()) {
+                double percent = percentOfBaseline(result, baseline);
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("benchmark", result.label());
+                row.put("score", result.primary().score());
+                row.put("scoreError", result.primary().scoreError());
+                row.put("scoreUnit", result.primary().unit());
+                row.put("percentOfBaseline", percent);
+                frameworks.put(result.framework(), row);
+
+                System.out.printf("%-60s %-10s %16.1f %11.1f%%%n", entry.getKey(), result.framework(),
+                        result.primary().score(), percent);
+            }
+
+            Map<String, Object> scenario = new LinkedHashMap<>();
+            scenario.put("scenario", entry.getKey());
+            scenario.put("mode", baseline.mode());
+            scenario.put("frameworks", frameworks);
+            report.add(scenario);
+        }
+
+        Json.writeFile(OUTPUT, report);
+        System.out.println();
+        System.out.println("Baseline comparison written to " + OUTPUT);
+    }
+
+    private static double percentOfBaseline(JmhResult result, JmhResult baseline) {
+        double ratio = result.isThroughput()
+                ? result.primary().score() / baseline.primary().score()
+                : baseline.primary().score() / result.primary().score();
+        return ratio * 100;
+    }
+}
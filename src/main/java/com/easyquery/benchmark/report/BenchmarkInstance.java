@@ -0,0 +1,253 @@
+package com.easyquery.benchmark.report;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One trial of a JMH benchmark class driven outside of JMH, for workloads JMH cannot express (such as
+ * thousands of virtual threads). Honours {@link Param}, {@link State} and the {@link Setup} and
+ * {@link TearDown} fixtures of all levels, so the benchmark methods run exactly as under JMH.
+ * <p>
+ * Thread scoped states belong to a {@link Worker}, which must be created and used on the thread that
+ * calls the benchmark method: states like {@code JdbcCounters} bind themselves to their thread.
+ */
+final class BenchmarkInstance {
+
+    private final Class<?> benchmarkClass;
+    private final Map<String, String> paramOverrides;
+    // Filled while the states are created, thread states are created on the worker threads
+    private final Map<String, String> params = Collections.synchronizedMap(new LinkedHashMap<>());
+    // Scope.Benchmark states in creation order, starting with the benchmark itself
+    private final Map<Class<?>, Object> sharedStates = new LinkedHashMap<>();
+
+    BenchmarkInstance(Class<?> benchmarkClass, Map<String, String> paramOverrides) {
+        this.benchmarkClass = benchmarkClass;
+        this.paramOverrides = paramOverrides;
+    }
+
+    static List<Method> benchmarkMethods(Class<?> benchmarkClass) {
+        return Arrays.stream(benchmarkClass.getMethods())
+                .filter(method -> method.isAnnotationPresent(Benchmark.class))
+                .sorted(Comparator.comparing(Method::getName))
+                .toList();
+    }
+
+    /**
+     * The {@link Param} values this trial runs with: the override if there is one, otherwise the first
+     * declared value.
+     */
+    Map<String, String> params() {
+        synchronized (params) {
+            return new LinkedHashMap<>(params);
+        }
+    }
+
+    /**
+     * Creates the benchmark and runs its trial and iteration setup.
+     */
+    synchronized void setup() throws Throwable {
+        sharedState(benchmarkClass, null);
+    }
+
+    synchronized void tearDown() throws Throwable {
+        List<Object> states = new ArrayList<>(sharedStates.values());
+        for (int i = states.size() - 1; i >= 0; i--) {
+            runFixtures(states.get(i), TearDown.class, Level.Iteration, null);
+            runFixtures(states.get(i), TearDown.class, Level.Trial, null);
+        }
+    }
+
+    /**
+     * Creates the thread scoped states of {@code method} and runs their trial and iteration setup;
+     * call it on the thread that runs the benchmark method.
+     */
+    Worker worker(Method method, int threadIndex, int threadCount) throws Throwable {
+        return new Worker(method, new ThreadParams(threadIndex, threadCount, 0, 1, 0, 1,
+                threadIndex, threadCount, threadIndex, threadCount));
+    }
+
+    final class Worker {
+        private final Method method;
+        private final ThreadParams threadParams;
+        // Scope.Thread states in creation order
+        private final Map<Class<?>, Object> threadStates = new LinkedHashMap<>();
+        private final Object benchmark;
+        private final Object[] arguments;
+        // Resolved once, so that invoke() does no reflective lookups inside the measured call
+        private final List<Fixture> invocationSetups;
+        private final List<Fixture> invocationTearDowns;
+
+        private Worker(Method method, ThreadParams threadParams) throws Throwable {
+            this.method = method;
+            this.threadParams = threadParams;
+            arguments = arguments(method.getParameterTypes(), this);
+            benchmark = sharedStates.get(benchmarkClass);
+            List<Object> states;
+            synchronized (BenchmarkInstance.this) {
+                states = new ArrayList<>(sharedStates.values());
+            }
+            states.addAll(threadStates.values());
+            invocationSetups = fixtures(states, Setup.class, Level.Invocation, this);
+            invocationTearDowns = fixtures(states, TearDown.class, Level.Invocation, this);
+        }
+
+        /**
+         * Calls the benchmark method once, surrounded by the invocation level fixtures.
+         */
+        Object invoke() throws Throwable {
+            for (Fixture fixture : invocationSetups) {
+                fixture.run();
+            }
+            try {
+                return method.invoke(benchmark, arguments);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                for (Fixture fixture : invocationTearDowns) {
+                    fixture.run();
+                }
+            }
+        }
+
+        void close() throws Throwable {
+            List<Object> states = new ArrayList<>(threadStates.values());
+            for (int i = states.size() - 1; i >= 0; i--) {
+                runFixtures(states.get(i), TearDown.class, Level.Iteration, this);
+                runFixtures(states.get(i), TearDown.class, Level.Trial, this);
+            }
+        }
+
+        private Object threadState(Class<?> type) throws Throwable {
+            Object state = threadStates.get(type);
+            if (state == null) {
+                state = newState(type);
+                threadStates.put(type, state);
+                runFixtures(state, Setup.class, Level.Trial, this);
+                runFixtures(state, Setup.class, Level.Iteration, this);
+            }
+            return state;
+        }
+    }
+
+    private synchronized Object sharedState(Class<?> type, Worker worker) throws Throwable {
+        Object state = sharedStates.get(type);
+        if (state == null) {
+            state = newState(type);
+            sharedStates.put(type, state);
+            runFixtures(state, Setup.class, Level.Trial, worker);
+            runFixtures(state, Setup.class, Level.Iteration, worker);
+        }
+        return state;
+    }
+
+    private Object newState(Class<?> type) throws ReflectiveOperationException {
+        Object state = type.getConstructor().newInstance();
+        for (Field field : type.getFields()) {
+            Param param = field.getAnnotation(Param.class);
+            if (param != null) {
+                String value = paramOverrides.getOrDefault(field.getName(), param.value()[0]);
+                field.set(state, convert(value, field.getType()));
+                params.put(field.getName(), value);
+            }
+        }
+        return state;
+    }
+
+    private void runFixtures(Object state, Class<? extends Annotation> fixture, Level level, Worker worker) throws Throwable {
+        for (Method method : state.getClass().getMethods()) {
+            if (isFixture(method, fixture, level)) {
+                new Fixture(state, method, arguments(method.getParameterTypes(), worker)).run();
+            }
+        }
+    }
+
+    /**
+     * The {@code fixture} methods of {@code level} of all {@code states} with their arguments, states
+     * without any are left out.
+     */
+    private List<Fixture> fixtures(List<Object> states, Class<? extends Annotation> fixture, Level level, Worker worker) throws Throwable {
+        List<Fixture> fixtures = new ArrayList<>();
+        for (Object state : states) {
+            for (Method method : state.getClass().getMethods()) {
+                if (isFixture(method, fixture, level)) {
+                    fixtures.add(new Fixture(state, method, arguments(method.getParameterTypes(), worker)));
+                }
+            }
+        }
+        return fixtures;
+    }
+
+    private static boolean isFixture(Method method, Class<? extends Annotation> fixture, Level level) {
+        Annotation annotation = method.getAnnotation(fixture);
+        Level fixtureLevel = annotation instanceof Setup setup ? setup.value()
+                : annotation instanceof TearDown tearDown ? tearDown.value() : null;
+        return fixtureLevel == level;
+    }
+
+    private record Fixture(Object state, Method method, Object[] arguments) {
+
+        void run() throws Throwable {
+            try {
+                method.invoke(state, arguments);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private Object[] arguments(Class<?>[] types, Worker worker) throws Throwable {
+        Object[] arguments = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            Class<?> type = types[i];
+            State state = type.getAnnotation(State.class);
+            if (type == ThreadParams.class && worker != null) {
+                arguments[i] = worker.threadParams;
+            } else if (state != null && state.value() == Scope.Benchmark) {
+                arguments[i] = sharedState(type, worker);
+            } else if (state != null && state.value() == Scope.Thread && worker != null) {
+                arguments[i] = worker.threadState(type);
+            } else {
+                throw new IllegalArgumentException("Cannot provide a " + type.getName() + " outside of JMH");
+            }
+        }
+        return arguments;
+    }
+
+    private static Object convert(String value, Class<?> type) {
+        if (type == int.class) {
+            return Integer.parseInt(value);
+        } else if (type == long.class) {
+            return Long.parseLong(value);
+        } else if (type == double.class) {
+            return Double.parseDouble(value);
+        } else if (type == boolean.class) {
+            return Boolean.parseBoolean(value);
+        } else if (type.isEnum()) {
+            return enumConstant(type, value);
+        }
+        return value;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object enumConstant(Class<?> type, String value) {
+        return Enum.valueOf((Class<? extends Enum>) type, value);
+    }
+}
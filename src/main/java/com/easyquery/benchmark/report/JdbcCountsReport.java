@@ -0,0 +1,75 @@
+package com.easyquery.benchmark.report;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns the {@code JdbcCounters} secondary metrics of a JMH JSON result into counts per operation,
+ * e.g. how many statements, round trips or commits one {@code hibernateInsertSingle} call costs, and
+ * how many nanoseconds it waits for a connection.
+ * <p>
+ * JMH normalizes the counters to time like the primary score, so the count per operation is the
+ * ratio of the two. Reads {@code results/benchmark-results.json} unless another file is given:
+ * <pre>
+ * java -cp target/benchmarks.jar com.easyquery.benchmark.report.JdbcCountsReport [results.json]
+ * </pre>
+ * and writes {@code results/jdbc-counts.json}.
+ */
+public class JdbcCountsReport {
+
+    private static final Path DEFAULT_INPUT = Path.of("results", "benchmark-results.json");
+    private static final Path OUTPUT = Path.of("results", "jdbc-counts.json");
+
+    private static final List<String> COUNTERS = List.of("roundTrips", "connections", "statements", "executions",
+            "batchEntries", "commits", "rollbacks", "autoCommitSwitches", "rows", "connectionWaitNanos");
+
+    public static void main(String[] args) throws Exception {
+        Path input = args.length > 0 ? Path.of(args[0]) : DEFAULT_INPUT;
+
+        List<Map<String, Object>> report = new ArrayList<>();
+        System.out.printf("%-60s %9s %9s %9s %9s %9s %9s %9s %9s %9s %9s%n", "Benchmark",
+                "trips", "conns", "stmts", "execs", "batched", "commits", "rollbcks", "autocmt", "rows", "wait ns");
+        for (JmhResult result : JmhResult.read(input)) {
+            // Runs with -Djdbc.counters=false report every counter as zero
+            if (!result.secondary().containsKey("roundTrips") || result.secondary().get("roundTrips").score() == 0) {
+                continue;
+            }
+
+            Map<String, Object> perOperation = new LinkedHashMap<>();
+            StringBuilder line = new StringBuilder(String.format("%-60s", result.label()));
+            for (String counter : COUNTERS) {
+                JmhResult.Metric metric = result.secondary().get(counter);
+                // Results recorded before a counter was introduced lack it
+                double value = metric != null ? perOperation(result, metric) : 0;
+                perOperation.put(counter, value);
+                line.append(String.format(" %9.2f", value));
+            }
+            System.out.println(line);
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("benchmark", result.label());
+            row.put("scenario", result.scenario());
+            row.put("framework", result.framework());
+            row.put("threads", result.threads());
+            row.put("perOperation", perOperation);
+            report.add(row);
+        }
+
+        Json.writeFile(OUTPUT, report);
+        System.out.println();
+        System.out.println("JDBC counts written to " + OUTPUT);
+    }
+
+    /**
+     * Throughput counters are events per time unit, average time counters are time per event.
+     */
+    private static double perOperation(JmhResult result, JmhResult.Metric counter) {
+        double ratio = result.isThroughput()
+                ? counter.score() / result.primary().score()
+                : result.primary().score() / counter.score();
+        return Double.isFinite(ratio) ? ratio : 0;
+    }
+}
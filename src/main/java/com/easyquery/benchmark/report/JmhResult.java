@@ -0,0 +1,79 @@
+package com.easyquery.benchmark.report;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One entry of a JMH JSON result file ({@code -rf json}), as read back by the report tools.
+ */
+public record JmhResult(String benchmark, String mode, int threads, Map<String, String> params,
+                        Metric primary, Map<String, Metric> secondary) {
+
+    public record Metric(double score, double scoreError, String unit) {
+    }
+
+    public String label() {
+        return ResultLabels.of(benchmark, params);
+    }
+
+    public String scenario() {
+        return ResultLabels.scenario(benchmark, params);
+    }
+
+    public String framework() {
+        return ResultLabels.framework(benchmark);
+    }
+
+    /**
+     * Whether a higher score is better, i.e. the result is a throughput rather than a time.
+     */
+    public boolean isThroughput() {
+        return "thrpt".equals(mode);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static List<JmhResult> read(Path path) throws IOException {
+        List<JmhResult> results = new ArrayList<>();
+        for (Object element : (List<Object>) Json.readFile(path)) {
+            Map<String, Object> entry = (Map<String, Object>) element;
+
+            Map<String, String> params = new LinkedHashMap<>();
+            Object rawParams = entry.get("params");
+            if (rawParams != null) {
+                ((Map<String, Object>) rawParams).forEach((key, value) -> params.put(key, String.valueOf(value)));
+            }
+
+            Map<String, Metric> secondary = new LinkedHashMap<>();
+            Object rawSecondary = entry.get("secondaryMetrics");
+            if (rawSecondary != null) {
+                ((Map<String, Object>) rawSecondary).forEach((key, value) -> secondary.put(key, metric(value)));
+            }
+
+            results.add(new JmhResult(
+                    (String) entry.get("benchmark"),
+                    (String) entry.get("mode"),
+                    ((Number) entry.get("threads")).intValue(),
+                    params,
+                    metric(entry.get("primaryMetric")),
+                    secondary));
+        }
+        return results;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Metric metric(Object value) {
+        Map<String, Object> metric = (Map<String, Object>) value;
+        return new Metric(number(metric.get("score")), number(metric.get("scoreError")), (String) metric.get("scoreUnit"));
+    }
+
+    /**
+     * JMH writes NaN as the string "NaN".
+     */
+    private static double number(Object value) {
+        return value instanceof Number number ? number.doubleValue() : Double.NaN;
+    }
+}
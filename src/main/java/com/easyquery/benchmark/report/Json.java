@@ -0,0 +1,261 @@
+package com.easyquery.benchmark.report;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON reader and writer for the report files under results/, so the project does not need
+ * a JSON library. Supports maps, collections, strings, numbers, booleans and null; parsed objects
+ * become {@link LinkedHashMap}s, arrays {@link ArrayList}s and numbers {@link Double}s.
+ */
+public final class Json {
+
+    private Json() {
+    }
+
+    public static void writeFile(Path path, Object value) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.writeString(path, write(value) + System.lineSeparator());
+    }
+
+    public static Object readFile(Path path) throws IOException {
+        return parse(Files.readString(path));
+    }
+
+    public static Object parse(String json) {
+        Parser parser = new Parser(json);
+        Object value = parser.value();
+        parser.skipWhitespace();
+        if (parser.pos != json.length()) {
+            throw parser.error("Unexpected trailing content");
+        }
+        return value;
+    }
+
+    public static String write(Object value) {
+        StringBuilder sb = new StringBuilder();
+        write(sb, value, 0);
+        return sb.toString();
+    }
+
+    private static void write(StringBuilder sb, Object value, int indent) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof Map<?, ?> map) {
+            if (map.isEmpty()) {
+                sb.append("{}");
+                return;
+            }
+            sb.append("{\n");
+            int i = 0;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                indent(sb, indent + 1);
+                writeString(sb, String.valueOf(entry.getKey()));
+                sb.append(" : ");
+                write(sb, entry.getValue(), indent + 1);
+                sb.append(++i < map.size() ? ",\n" : "\n");
+            }
+            indent(sb, indent);
+            sb.append('}');
+        } else if (value instanceof Collection<?> collection) {
+            if (collection.isEmpty()) {
+                sb.append("[]");
+                return;
+            }
+            sb.append("[\n");
+            int i = 0;
+            for (Object element : collection) {
+                indent(sb, indent + 1);
+                write(sb, element, indent + 1);
+                sb.append(++i < collection.size() ? ",\n" : "\n");
+            }
+            indent(sb, indent);
+            sb.append(']');
+        } else if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            sb.append(Double.isNaN(d) || Double.isInfinite(d) ? "null" : String.valueOf(d));
+        } else if (value instanceof Number || value instanceof Boolean) {
+            sb.append(value);
+        } else {
+            writeString(sb, value.toString());
+        }
+    }
+
+    private static void writeString(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    private static void indent(StringBuilder sb, int indent) {
+        for (int i = 0; i < indent; i++) {
+            sb.append("    ");
+        }
+    }
+
+    private static final class Parser {
+
+        private final String json;
+        private int pos;
+
+        private Parser(String json) {
+            this.json = json;
+        }
+
+        private Object value() {
+            skipWhitespace();
+            if (pos >= json.length()) {
+                throw error("Unexpected end of input");
+            }
+            char c = json.charAt(pos);
+            return switch (c) {
+                case '{' -> object();
+                case '[' -> array();
+                case '"' -> string();
+                case 't' -> literal("true", Boolean.TRUE);
+                case 'f' -> literal("false", Boolean.FALSE);
+                case 'n' -> literal("null", null);
+                default -> number();
+            };
+        }
+
+        private Map<String, Object> object() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return map;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = string();
+                skipWhitespace();
+                expect(':');
+                map.put(key, value());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect('}');
+                    return map;
+                }
+            }
+        }
+
+        private List<Object> array() {
+            List<Object> list = new ArrayList<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == ']') {
+                pos++;
+                return list;
+            }
+            while (true) {
+                list.add(value());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect(']');
+                    return list;
+                }
+            }
+        }
+
+        private String string() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                if (pos >= json.length()) {
+                    throw error("Unterminated string");
+                }
+                char c = json.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char escaped = json.charAt(pos++);
+                switch (escaped) {
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'u' -> {
+                        sb.append((char) Integer.parseInt(json.substring(pos, pos + 4), 16));
+                        pos += 4;
+                    }
+                    default -> sb.append(escaped);
+                }
+            }
+        }
+
+        private Object number() {
+            int start = pos;
+            while (pos < json.length() && "+-0123456789.eE".indexOf(json.charAt(pos)) >= 0) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error("Unexpected character '" + json.charAt(pos) + "'");
+            }
+            return Double.parseDouble(json.substring(start, pos));
+        }
+
+        private Object literal(String literal, Object value) {
+            if (!json.startsWith(literal, pos)) {
+                throw error("Expected " + literal);
+            }
+            pos += literal.length();
+            return value;
+        }
+
+        private void expect(char c) {
+            if (peek() != c) {
+                throw error("Expected '" + c + "'");
+            }
+            pos++;
+        }
+
+        private char peek() {
+            return pos < json.length() ? json.charAt(pos) : 0;
+        }
+
+        private void skipWhitespace() {
+            while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + pos);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.easyquery.benchmark.report;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear histogram of latencies in nanoseconds, in the spirit of HdrHistogram: every power of two
+ * is split into 64 buckets, so any recorded value is reproduced within 1.6% at constant memory and
+ * without allocation. Safe for concurrent recording.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values below 2 * SUB_BUCKETS are stored exactly, each further power of two adds SUB_BUCKETS buckets
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS + SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(index(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    long count() {
+        return count.get();
+    }
+
+    /**
+     * The recorded value at the given percentile, 100 being the exact maximum.
+     */
+    long percentile(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        if (percentile >= 100.0) {
+            return max.get();
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(value(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * p50/p90/p99/p99.9/max and the mean, in microseconds.
+     */
+    Map<String, Object> toReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("count", count());
+        report.put("mean", count() > 0 ? sum.get() / (double) count() / 1000.0 : 0.0);
+        report.put("p50", percentile(50.0) / 1000.0);
+        report.put("p90", percentile(90.0) / 1000.0);
+        report.put("p99", percentile(99.0) / 1000.0);
+        report.put("p99.9", percentile(99.9) / 1000.0);
+        report.put("max", percentile(100.0) / 1000.0);
+        return report;
+    }
+
+    private static int index(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        // Keep the highest SUB_BUCKET_BITS + 1 bits of the value
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS - 1;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /**
+     * The middle of the range of values that share a bucket.
+     */
+    private static long value(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowest = (long) (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lowest + ((1L << shift) >>> 1);
+    }
+}
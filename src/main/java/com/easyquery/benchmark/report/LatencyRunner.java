@@ -0,0 +1,79 @@
+package com.easyquery.benchmark.report;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.util.Statistics;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the selected benchmarks in {@link Mode#SampleTime} and reports the latency distribution of
+ * every framework call instead of the mean throughput.
+ * <p>
+ * Accepts the regular JMH command line, for example:
+ * <pre>
+ * java -cp target/benchmarks.jar com.easyquery.benchmark.report.LatencyRunner DeleteBenchmark -f 1
+ * </pre>
+ * The full JMH result is written to {@code results/latency-results.json} and p50/p90/p99/p99.9/max
+ * per benchmark (in microseconds) to {@code results/latency-percentiles.json}.
+ */
+public class LatencyRunner {
+
+    private static final Path RAW_OUTPUT = Path.of("results", "latency-results.json");
+    private static final Path OUTPUT = Path.of("results", "latency-percentiles.json");
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .mode(Mode.SampleTime)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .resultFormat(ResultFormatType.JSON)
+                .result(RAW_OUTPUT.toString())
+                .build();
+        Files.createDirectories(RAW_OUTPUT.toAbsolutePath().getParent());
+        Collection<RunResult> runResults = new Runner(options).run();
+
+        List<Map<String, Object>> report = new ArrayList<>();
+        System.out.println();
+        System.out.printf("%-60s %10s %10s %10s %10s %10s %12s%n", "Benchmark", "p50", "p90", "p99", "p99.9", "max", "samples");
+        for (RunResult runResult : runResults) {
+            Result<?> result = runResult.getPrimaryResult();
+            Statistics statistics = result.getStatistics();
+            String label = ResultLabels.of(runResult.getParams());
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("benchmark", label);
+            row.put("framework", ResultLabels.framework(runResult.getParams().getBenchmark()));
+            row.put("unit", result.getScoreUnit());
+            row.put("samples", statistics.getN());
+            row.put("mean", statistics.getMean());
+            row.put("p50", statistics.getPercentile(50.0));
+            row.put("p90", statistics.getPercentile(90.0));
+            row.put("p99", statistics.getPercentile(99.0));
+            row.put("p99.9", statistics.getPercentile(99.9));
+            row.put("max", statistics.getMax());
+            report.add(row);
+
+            System.out.printf("%-60s %10.2f %10.2f %10.2f %10.2f %10.2f %12d%n", label,
+                    statistics.getPercentile(50.0), statistics.getPercentile(90.0), statistics.getPercentile(99.0),
+                    statistics.getPercentile(99.9), statistics.getMax(), statistics.getN());
+        }
+
+        Json.writeFile(OUTPUT, report);
+        System.out.println();
+        System.out.println("Latency percentiles (us) written to " + OUTPUT);
+    }
+}
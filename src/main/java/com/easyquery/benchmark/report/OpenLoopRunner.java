@@ -0,0 +1,447 @@
+package com.easyquery.benchmark.report;
+
+import com.easyquery.benchmark.DatabaseInitializer;
+import com.easyquery.benchmark.FixtureLoader;
+import org.openjdk.jmh.annotations.Param;
+
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a mix of the benchmark operations at a fixed arrival rate (open loop) and sweeps the rate
+ * upwards to find the saturation knee of every framework.
+ * <p>
+ * Requests are scheduled at fixed intended start times regardless of how fast earlier ones complete,
+ * and queue for a fixed pool of worker threads like in a server. Latency is measured from the intended
+ * start, so time spent waiting behind slow requests is counted instead of being hidden by a closed
+ * loop that simply sends less (coordinated omission).
+ * <pre>
+ * java -cp target/benchmarks.jar com.easyquery.benchmark.report.OpenLoopRunner [-p name=value]
+ * </pre>
+ * System properties:
+ * <ul>
+ *     <li>{@code openloop.mix}: operations and weights, default
+ *     {@code selectById:70,selectList:15,updateById:10,insertSingle:5}. An operation is the scenario
+ *     of a benchmark method, i.e. {@code selectById} runs {@code QueryBenchmark.<framework>SelectById}</li>
+ *     <li>{@code openloop.frameworks}: default {@code easyQuery,jooq,hibernate,jdbc}</li>
+ *     <li>{@code openloop.rates}: arrival rates in requests per second, default
+ *     {@code 1000,2000,5000,10000,20000,50000,100000}</li>
+ *     <li>{@code openloop.warmup} and {@code openloop.duration}: seconds per rate, default 5 and 10</li>
+ *     <li>{@code openloop.workers}: worker threads, default 16</li>
+ *     <li>{@code openloop.slaMillis}: p99 latency above which a rate counts as saturated, default 10</li>
+ * </ul>
+ * All benchmark classes of the mix run with the same {@code userCount}: the largest of their defaults,
+ * unless {@code -p userCount=...} is given.
+ * <p>
+ * A rate is saturated when fewer than 95% of its requests complete in time or the p99 latency exceeds
+ * the SLA; the sweep of a framework stops at its first saturated rate, and the highest rate before it
+ * is the knee. Results are written to {@code results/open-loop.json}, latencies in microseconds.
+ */
+public class OpenLoopRunner {
+
+    private static final Path OUTPUT = Path.of("results", "open-loop.json");
+    private static final String PACKAGE = "com.easyquery.benchmark.";
+    private static final String USER_COUNT = "userCount";
+    // The trial setups clear the tables and load their own fixture of the shared userCount, so the last
+    // one serves the whole mix: ComplexQueryBenchmark's users and orders include QueryBenchmark's
+    // users, which include the ids UpdateBenchmark updates. checkFixture verifies the result; an
+    // operation that needs the ages of its own fixture, like updateBatch, fails its row count check.
+    private static final List<String> FIXTURE_ORDER = List.of("InsertBenchmark", "DeleteBenchmark",
+            "UpdateBenchmark", "QueryBenchmark", "ComplexQueryBenchmark");
+    private static final int CHECK_CHUNK = 10_000;
+    private static final double COMPLETION_THRESHOLD = 0.95;
+    // Time the backlog of a rate may take to drain before the remaining requests are given up
+    private static final long DRAIN_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    public static void main(String[] args) throws Throwable {
+        Map<String, Integer> mix = parseMix(System.getProperty("openloop.mix",
+                "selectById:70,selectList:15,updateById:10,insertSingle:5"));
+        List<String> frameworks = List.of(System.getProperty("openloop.frameworks", "easyQuery,jooq,hibernate,jdbc").split(","));
+        long[] rates = Arrays.stream(System.getProperty("openloop.rates", "1000,2000,5000,10000,20000,50000,100000").split(","))
+                .mapToLong(s -> Long.parseLong(s.trim()))
+                .sorted()
+                .toArray();
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("openloop.warmup", 5));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("openloop.duration", 10));
+        int workerCount = Integer.getInteger("openloop.workers", 16);
+        double slaMicros = Integer.getInteger("openloop.slaMillis", 10) * 1000.0;
+
+        Map<String, String> params = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("-p".equals(args[i])) {
+                String[] param = args[++i].split("=", 2);
+                params.put(param[0], param[1]);
+            }
+        }
+
+        List<Map<String, Object>> report = new ArrayList<>();
+        for (String framework : frameworks) {
+            System.out.printf("%n%s, mix %s, %d workers%n", framework, mix, workerCount);
+            System.out.printf("%12s %12s %10s %10s %10s %10s %10s%n", "target/s", "achieved/s", "p50", "p90", "p99", "p99.9", "max");
+
+            Operations operations = Operations.setup(framework, mix, params);
+            List<Map<String, Object>> steps = new ArrayList<>();
+            long knee = 0;
+            try (Workers workers = new Workers(operations, workerCount)) {
+                for (long rate : rates) {
+                    Map<String, Object> step = runRate(operations, workers, rate, warmupNanos, durationNanos);
+                    steps.add(step);
+
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> latency = (Map<String, Object>) step.get("latency");
+                    System.out.printf("%12d %12.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n", rate, step.get("achievedRate"),
+                            latency.get("p50"), latency.get("p90"), latency.get("p99"), latency.get("p99.9"), latency.get("max"));
+
+                    boolean saturated = (double) step.get("completedRatio") < COMPLETION_THRESHOLD
+                            || (double) latency.get("p99") > slaMicros;
+                    step.put("saturated", saturated);
+                    if (saturated) {
+                        break;
+                    }
+                    knee = rate;
+                }
+            } finally {
+                operations.tearDown();
+            }
+            System.out.printf("knee: %s%n", knee > 0 ? knee + " requests/s" : "below the lowest rate");
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("framework", framework);
+            result.put("mix", mix);
+            result.put("workers", workerCount);
+            result.put("slaMillis", slaMicros / 1000);
+            result.put("kneeRate", knee);
+            result.put("steps", steps);
+            report.add(result);
+        }
+
+        Json.writeFile(OUTPUT, report);
+        System.out.println();
+        System.out.println("Open loop results (latency in us) written to " + OUTPUT);
+    }
+
+    /**
+     * Schedules requests at {@code rate} per second for the warmup and the measurement, then waits for
+     * the backlog. Requests still queued after {@link #DRAIN_NANOS} are dropped and recorded with the
+     * latency they had accumulated so far, which is a lower bound.
+     */
+    private static Map<String, Object> runRate(Operations operations, Workers workers, long rate,
+                                               long warmupNanos, long durationNanos) throws InterruptedException {
+        double interval = 1e9 / rate;
+        SplittableRandom random = new SplittableRandom(rate);
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+        Step step = new Step(operations.names.size(), end);
+
+        long scheduled = 0;
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * interval);
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = intended >= measureFrom;
+            if (measured) {
+                scheduled++;
+            }
+            workers.pending.incrementAndGet();
+            workers.queue.add(new Request(step, operations.pick(random), intended, measured));
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_NANOS;
+        while (workers.pending.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(1);
+        }
+        List<Request> dropped = new ArrayList<>();
+        workers.queue.drainTo(dropped);
+        workers.pending.addAndGet(-dropped.size());
+        long now = System.nanoTime();
+        for (Request request : dropped) {
+            if (request.measured) {
+                step.record(request.operation, now - request.intended);
+            }
+        }
+        // Requests already taken by a worker still complete normally
+        while (workers.pending.get() > 0) {
+            Thread.sleep(1);
+        }
+
+        long completed = step.completed.get();
+        Map<String, Object> perOperation = new LinkedHashMap<>();
+        for (int i = 0; i < operations.names.size(); i++) {
+            perOperation.put(operations.names.get(i), step.byOperation[i].toReport());
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("targetRate", rate);
+        // Requests that only complete while the backlog drains do not count towards the achieved rate
+        result.put("achievedRate", step.completedInTime.get() * 1e9 / durationNanos);
+        result.put("scheduled", scheduled);
+        result.put("completed", completed);
+        result.put("completedRatio", scheduled > 0 ? (double) completed / scheduled : 0.0);
+        result.put("dropped", dropped.stream().filter(request -> request.measured).count());
+        result.put("errors", step.errors.get());
+        result.put("latency", step.all.toReport());
+        result.put("operations", perOperation);
+        if (step.failure.get() != null) {
+            System.out.println("  first error: " + step.failure.get());
+        }
+        return result;
+    }
+
+    private record Request(Step step, int operation, long intended, boolean measured) {
+    }
+
+    /**
+     * Latencies of the measured requests of one arrival rate.
+     */
+    private static final class Step {
+        private final LatencyHistogram all = new LatencyHistogram();
+        private final LatencyHistogram[] byOperation;
+        private final long end;
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong completedInTime = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private Step(int operationCount, long end) {
+            this.end = end;
+            byOperation = new LatencyHistogram[operationCount];
+            Arrays.setAll(byOperation, i -> new LatencyHistogram());
+        }
+
+        private void record(int operation, long nanos) {
+            all.record(nanos);
+            byOperation[operation].record(nanos);
+        }
+
+        private void complete(int operation, long intended) {
+            long now = System.nanoTime();
+            record(operation, now - intended);
+            completed.incrementAndGet();
+            if (now <= end) {
+                completedInTime.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * The benchmark methods of one framework that make up the mix, with their benchmark instances.
+     */
+    private static final class Operations {
+        private final List<String> names = new ArrayList<>();
+        private final List<Method> methods = new ArrayList<>();
+        private final List<BenchmarkInstance> instances = new ArrayList<>();
+        private final List<BenchmarkInstance> setUp = new ArrayList<>();
+        private int[] cumulativeWeights;
+
+        static Operations setup(String framework, Map<String, Integer> mix, Map<String, String> params) throws Throwable {
+            Operations operations = new Operations();
+            operations.cumulativeWeights = new int[mix.size()];
+            int total = 0;
+            for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+                String methodName = framework + Character.toUpperCase(entry.getKey().charAt(0)) + entry.getKey().substring(1);
+                Method method = null;
+                for (String className : FIXTURE_ORDER) {
+                    Class<?> benchmarkClass = Class.forName(PACKAGE + className);
+                    method = BenchmarkInstance.benchmarkMethods(benchmarkClass).stream()
+                            .filter(candidate -> candidate.getName().equals(methodName))
+                            .findFirst()
+                            .orElse(null);
+                    if (method != null) {
+                        break;
+                    }
+                }
+                if (method == null) {
+                    throw new IllegalArgumentException("No benchmark method " + methodName + " for operation " + entry.getKey());
+                }
+                operations.names.add(entry.getKey());
+                operations.methods.add(method);
+                total += entry.getValue();
+                operations.cumulativeWeights[operations.names.size() - 1] = total;
+            }
+
+            // Every benchmark draws its ids from the same users, so they all load the same number
+            Map<String, String> fixtureParams = new HashMap<>(params);
+            if (!fixtureParams.containsKey(USER_COUNT)) {
+                operations.methods.stream()
+                        .mapToInt(method -> defaultUserCount(method.getDeclaringClass()))
+                        .max()
+                        .ifPresent(userCount -> fixtureParams.put(USER_COUNT, String.valueOf(userCount)));
+            }
+            Map<String, BenchmarkInstance> instancesByClass = new LinkedHashMap<>();
+            for (Method method : operations.methods) {
+                Class<?> benchmarkClass = method.getDeclaringClass();
+                operations.instances.add(instancesByClass.computeIfAbsent(benchmarkClass.getSimpleName(),
+                        k -> new BenchmarkInstance(benchmarkClass, fixtureParams)));
+            }
+
+            for (String className : FIXTURE_ORDER) {
+                BenchmarkInstance instance = instancesByClass.get(className);
+                if (instance != null) {
+                    instance.setup();
+                    operations.setUp.add(instance);
+                }
+            }
+            if (fixtureParams.containsKey(USER_COUNT)) {
+                checkFixture(Integer.parseInt(fixtureParams.get(USER_COUNT)));
+            }
+            return operations;
+        }
+
+        /**
+         * Fails unless every user the benchmarks draw their ids from exists, so no operation of the mix
+         * silently misses its row.
+         */
+        private static void checkFixture(int userCount) throws SQLException {
+            long found = 0;
+            try (Connection conn = DatabaseInitializer.getDataSource().getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement("SELECT COUNT(*) FROM t_user WHERE id = ANY(?)")) {
+                // H2 limits the length of an array parameter
+                for (int from = 0; from < userCount; from += CHECK_CHUNK) {
+                    String[] ids = new String[Math.min(CHECK_CHUNK, userCount - from)];
+                    int first = from;
+                    Arrays.setAll(ids, i -> FixtureLoader.userId(first + i));
+                    pstmt.setArray(1, conn.createArrayOf("VARCHAR", ids));
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        rs.next();
+                        found += rs.getLong(1);
+                    }
+                }
+            }
+            if (found != userCount) {
+                throw new IllegalStateException("The shared fixture has " + found + " of the "
+                        + userCount + " users the benchmarks draw from");
+            }
+        }
+
+        /**
+         * The first declared {@code userCount} of the benchmark class, 0 if it has none.
+         */
+        private static int defaultUserCount(Class<?> benchmarkClass) {
+            try {
+                Param param = benchmarkClass.getField(USER_COUNT).getAnnotation(Param.class);
+                return param != null ? Integer.parseInt(param.value()[0]) : 0;
+            } catch (NoSuchFieldException e) {
+                return 0;
+            }
+        }
+
+        int pick(SplittableRandom random) {
+            int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (value < cumulativeWeights[i]) {
+                    return i;
+                }
+            }
+            throw new IllegalStateException();
+        }
+
+        void tearDown() throws Throwable {
+            for (int i = setUp.size() - 1; i >= 0; i--) {
+                setUp.get(i).tearDown();
+            }
+        }
+    }
+
+    /**
+     * The server side: a fixed pool of threads taking requests from an unbounded queue. Each thread
+     * owns the thread scoped states of every operation.
+     */
+    private static final class Workers implements AutoCloseable {
+        private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+        // Requests queued or running
+        private final AtomicInteger pending = new AtomicInteger();
+        private final List<Thread> threads = new ArrayList<>();
+        private volatile boolean closed;
+
+        private Workers(Operations operations, int count) {
+            for (int i = 0; i < count; i++) {
+                int threadIndex = i;
+                Thread thread = new Thread(() -> work(operations, threadIndex, count), "open-loop-worker-" + i);
+                thread.setDaemon(true);
+                threads.add(thread);
+                thread.start();
+            }
+        }
+
+        private void work(Operations operations, int threadIndex, int threadCount) {
+            BenchmarkInstance.Worker[] workers = new BenchmarkInstance.Worker[operations.methods.size()];
+            while (!closed) {
+                Request request;
+                try {
+                    request = queue.poll(10, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (request == null) {
+                    continue;
+                }
+                try {
+                    int operation = request.operation;
+                    if (workers[operation] == null) {
+                        workers[operation] = operations.instances.get(operation)
+                                .worker(operations.methods.get(operation), threadIndex, threadCount);
+                    }
+                    workers[operation].invoke();
+                    if (request.measured) {
+                        request.step.complete(operation, request.intended);
+                    }
+                } catch (Throwable e) {
+                    request.step.errors.incrementAndGet();
+                    request.step.failure.compareAndSet(null, e);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            }
+            for (BenchmarkInstance.Worker worker : workers) {
+                try {
+                    if (worker != null) {
+                        worker.close();
+                    }
+                } catch (Throwable e) {
+                    System.out.println("Failed to close worker state: " + e);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            closed = true;
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
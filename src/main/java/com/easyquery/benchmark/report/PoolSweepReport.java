@@ -0,0 +1,125 @@
+package com.easyquery.benchmark.report;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares the connection pool configurations of a {@code -p pool=... -p poolSize=...} sweep: for every
+ * scenario, framework and thread count it lists the throughput of each pool next to the time spent
+ * waiting for a connection ({@code connectionWaitNanos} of {@code JdbcCounters}).
+ * <p>
+ * Reads {@code results/benchmark-results.json} unless another file is given:
+ * <pre>
+ * java -cp target/benchmarks.jar com.easyquery.benchmark.report.PoolSweepReport [results.json]
+ * </pre>
+ * and writes {@code results/pool-sweep.json}. The wait share is the fraction of the operation time a
+ * thread spends in {@code getConnection}; a share that grows with the thread count marks a pool that is
+ * too small.
+ */
+public class PoolSweepReport {
+
+    private static final Path DEFAULT_INPUT = Path.of("results", "benchmark-results.json");
+    private static final Path OUTPUT = Path.of("results", "pool-sweep.json");
+
+    private static final String WAIT_COUNTER = "connectionWaitNanos";
+
+    public static void main(String[] args) throws Exception {
+        Path input = args.length > 0 ? Path.of(args[0]) : DEFAULT_INPUT;
+
+        // benchmark label without the pool params, and thread count -> results of all pool configurations
+        Map<String, List<JmhResult>> groups = new TreeMap<>();
+        for (JmhResult result : JmhResult.read(input)) {
+            if (!result.params().containsKey("pool") || !result.secondary().containsKey(WAIT_COUNTER)) {
+                continue;
+            }
+            String key = ResultLabels.of(result.benchmark(), withoutPool(result.params()))
+                    + (result.threads() > 1 ? " (" + result.threads() + " threads)" : "");
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(result);
+        }
+        if (groups.isEmpty()) {
+            System.out.println("No pool sweep in " + input + ", run the H2 benchmarks with -p pool=... -p poolSize=...");
+            System.exit(1);
+        }
+
+        List<Map<String, Object>> report = new ArrayList<>();
+        System.out.printf("%-60s %-9s %6s %16s %14s %8s%n", "Benchmark", "Pool", "Size", "Score", "wait ns/op", "wait");
+        for (Map.Entry<String, List<JmhResult>> group : groups.entrySet()) {
+            List<JmhResult> results = group.getValue();
+            results.sort(Comparator.comparing((JmhResult r) -> r.params().get("pool"))
+                    .thenComparingInt(r -> Integer.parseInt(r.params().getOrDefault("poolSize", "0"))));
+
+            List<Map<String, Object>> configurations = new ArrayList<>();
+            for (JmhResult result : results) {
+                double opNanos = operationNanos(result);
+                double waitNanos = waitNanosPerOperation(result);
+                double waitShare = opNanos > 0 ? waitNanos / opNanos : 0;
+
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("pool", result.params().get("pool"));
+                row.put("poolSize", Integer.parseInt(result.params().getOrDefault("poolSize", "0")));
+                row.put("score", result.primary().score());
+                row.put("scoreError", result.primary().scoreError());
+                row.put("scoreUnit", result.primary().unit());
+                row.put("connectionWaitNanosPerOp", waitNanos);
+                row.put("waitShare", waitShare);
+                configurations.add(row);
+
+                System.out.printf("%-60s %-9s %6s %16.3f %14.0f %7.1f%%%n", group.getKey(), row.get("pool"),
+                        row.get("poolSize"), result.primary().score(), waitNanos, waitShare * 100);
+            }
+
+            JmhResult first = results.get(0);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("benchmark", group.getKey());
+            entry.put("scenario", ResultLabels.scenario(first.benchmark(), withoutPool(first.params())));
+            entry.put("framework", first.framework());
+            entry.put("threads", first.threads());
+            entry.put("configurations", configurations);
+            report.add(entry);
+        }
+
+        Json.writeFile(OUTPUT, report);
+        System.out.println();
+        System.out.println("Pool sweep written to " + OUTPUT);
+    }
+
+    private static Map<String, String> withoutPool(Map<String, String> params) {
+        Map<String, String> rest = new LinkedHashMap<>(params);
+        rest.remove("pool");
+        rest.remove("poolSize");
+        return rest;
+    }
+
+    /**
+     * Like {@link JdbcCountsReport}, the counter is normalized to time like the primary score.
+     */
+    private static double waitNanosPerOperation(JmhResult result) {
+        double counter = result.secondary().get(WAIT_COUNTER).score();
+        double ratio = result.isThroughput()
+                ? counter / result.primary().score()
+                : result.primary().score() / counter;
+        return Double.isFinite(ratio) ? ratio : 0;
+    }
+
+    /**
+     * Wall clock time of one operation on one thread.
+     */
+    private static double operationNanos(JmhResult result) {
+        String unit = result.primary().unit();
+        double score = result.primary().score();
+        String timeUnit = result.isThroughput() ? unit.substring(unit.indexOf('/') + 1) : unit.substring(0, unit.indexOf('/'));
+        double nanos = switch (timeUnit) {
+            case "ns" -> 1;
+            case "us" -> 1e3;
+            case "ms" -> 1e6;
+            case "min" -> 60e9;
+            default -> 1e9;
+        };
+        return result.isThroughput() ? result.threads() * nanos / score : score * nanos;
+    }
+}
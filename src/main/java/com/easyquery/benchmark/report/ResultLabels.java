@@ -0,0 +1,78 @@
+package com.easyquery.benchmark.report;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds the short, human readable names used as keys in the report files,
+ * e.g. {@code QueryBenchmark.jooqSelectById} or {@code QueryBenchmark.jooqSelectById[userCount=1000]}.
+ */
+final class ResultLabels {
+
+    private static final String PACKAGE_PREFIX = "com.easyquery.benchmark.";
+    private static final String[] FRAMEWORKS = {"easyQuery", "jooq", "hibernate", "jdbc"};
+
+    private ResultLabels() {
+    }
+
+    static String of(BenchmarkParams params) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String key : params.getParamsKeys()) {
+            values.put(key, params.getParam(key));
+        }
+        return of(params.getBenchmark(), values);
+    }
+
+    static String of(String benchmark, Map<String, String> params) {
+        return shortName(benchmark) + params(params);
+    }
+
+    /**
+     * The scenario a benchmark measures, shared by all frameworks:
+     * {@code QueryBenchmark.hibernateSelectById} and {@code QueryBenchmark.jdbcSelectById} are both
+     * {@code QueryBenchmark.SelectById}.
+     */
+    static String scenario(String benchmark, Map<String, String> params) {
+        String name = shortName(benchmark);
+        int dot = name.lastIndexOf('.');
+        String method = name.substring(dot + 1);
+        String framework = framework(benchmark);
+        if (method.startsWith(framework)) {
+            method = method.substring(framework.length());
+        }
+        return name.substring(0, dot + 1) + method + params(params);
+    }
+
+    /**
+     * Benchmark methods are named {@code <framework><Scenario>}, e.g. {@code hibernateSelectById}.
+     */
+    static String framework(String benchmark) {
+        String method = benchmark.substring(benchmark.lastIndexOf('.') + 1);
+        for (String framework : FRAMEWORKS) {
+            if (method.startsWith(framework)) {
+                return framework;
+            }
+        }
+        return "other";
+    }
+
+    static String shortName(String benchmark) {
+        return benchmark.startsWith(PACKAGE_PREFIX) ? benchmark.substring(PACKAGE_PREFIX.length()) : benchmark;
+    }
+
+    private static String params(Map<String, String> params) {
+        if (params.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder("[");
+        for (Map.Entry<String, String> entry : params.entrySet()) {
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            sb.append(entry.getKey()).append('=').append(entry.getValue());
+        }
+        return sb.append(']').toString();
+    }
+}
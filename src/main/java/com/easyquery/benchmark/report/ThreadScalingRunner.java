@@ -0,0 +1,94 @@
+package com.easyquery.benchmark.report;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs the selected benchmarks once per thread count and reports how the throughput of every
+ * scenario scales, so lock and connection pool walls show up as a dropping efficiency curve.
+ * <p>
+ * Accepts the regular JMH command line, for example:
+ * <pre>
+ * java -cp target/benchmarks.jar com.easyquery.benchmark.report.ThreadScalingRunner QueryBenchmark -f 1
+ * </pre>
+ * The thread counts default to 1, 2, 4, 8, 16 and 32 and can be changed with
+ * {@code -Dbenchmark.threads=1,4,16}. Results are written to {@code results/thread-scaling.json}.
+ * <p>
+ * Efficiency is the per-thread throughput relative to the per-thread throughput of the smallest
+ * thread count: 1.0 means perfect linear scaling.
+ */
+public class ThreadScalingRunner {
+
+    private static final Path OUTPUT = Path.of("results", "thread-scaling.json");
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        int[] threadCounts = Arrays.stream(System.getProperty("benchmark.threads", "1,2,4,8,16,32").split(","))
+                .mapToInt(s -> Integer.parseInt(s.trim()))
+                .sorted()
+                .toArray();
+
+        // benchmark label -> thread count -> primary result
+        Map<String, TreeMap<Integer, Result<?>>> results = new TreeMap<>();
+        for (int threads : threadCounts) {
+            Options options = new OptionsBuilder()
+                    .parent(cmdOptions)
+                    .mode(Mode.Throughput)
+                    .threads(threads)
+                    .build();
+            for (RunResult runResult : new Runner(options).run()) {
+                results.computeIfAbsent(ResultLabels.of(runResult.getParams()), k -> new TreeMap<>())
+                        .put(threads, runResult.getPrimaryResult());
+            }
+        }
+
+        List<Map<String, Object>> report = new ArrayList<>();
+        System.out.println();
+        System.out.printf("%-60s %8s %16s %16s %10s%n", "Benchmark", "Threads", "ops/s", "ops/s/thread", "Efficiency");
+        for (Map.Entry<String, TreeMap<Integer, Result<?>>> entry : results.entrySet()) {
+            Map.Entry<Integer, Result<?>> base = entry.getValue().firstEntry();
+            double basePerThread = base.getValue().getScore() / base.getKey();
+
+            List<Map<String, Object>> curve = new ArrayList<>();
+            for (Map.Entry<Integer, Result<?>> point : entry.getValue().entrySet()) {
+                int threads = point.getKey();
+                double score = point.getValue().getScore();
+                double perThread = score / threads;
+                double efficiency = perThread / basePerThread;
+
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("threads", threads);
+                row.put("score", score);
+                row.put("scoreError", point.getValue().getScoreError());
+                row.put("scoreUnit", point.getValue().getScoreUnit());
+                row.put("perThread", perThread);
+                row.put("efficiency", efficiency);
+                curve.add(row);
+
+                System.out.printf("%-60s %8d %16.1f %16.1f %10.2f%n", entry.getKey(), threads, score, perThread, efficiency);
+            }
+
+            Map<String, Object> benchmark = new LinkedHashMap<>();
+            benchmark.put("benchmark", entry.getKey());
+            benchmark.put("curve", curve);
+            report.add(benchmark);
+        }
+
+        Json.writeFile(OUTPUT, report);
+        System.out.println();
+        System.out.println("Thread scaling report written to " + OUTPUT);
+    }
+}
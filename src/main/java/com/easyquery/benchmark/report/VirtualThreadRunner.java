@@ -0,0 +1,328 @@
+package com.easyquery.benchmark.report;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.openjdk.jmh.runner.BenchmarkList;
+import org.openjdk.jmh.runner.format.OutputFormatFactory;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Calls the benchmark methods from thousands of virtual threads at once, the way a server with one
+ * virtual thread per request would, all sharing the connection pool of {@code DatabaseInitializer}.
+ * Reports throughput, latency and carrier thread pinning ({@code jdk.VirtualThreadPinned}, recorded
+ * with JFR) per benchmark, so frameworks that block inside {@code synchronized} on their JDBC path
+ * stand out.
+ * <p>
+ * Arguments are benchmark regular expressions as for JMH (default all of {@code QueryBenchmark} and
+ * {@code UpdateBenchmark}) and {@code -p name=value} overrides of the {@code @Param} fields, which
+ * otherwise take their first value:
+ * <pre>
+ * java -cp target/benchmarks.jar com.easyquery.benchmark.report.VirtualThreadRunner QueryBenchmark.*SelectById
+ * </pre>
+ * {@code -Dvirtual.threads} sets the number of virtual threads (default 2000),
+ * {@code -Dvirtual.warmup} and {@code -Dvirtual.duration} the warmup and measurement time in seconds
+ * (default 5 and 10). Results are written to {@code results/virtual-threads.json}, latencies in
+ * microseconds.
+ */
+public class VirtualThreadRunner {
+
+    private static final Path OUTPUT = Path.of("results", "virtual-threads.json");
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int TOP_FRAMES = 5;
+
+    // Virtual thread id -> pinning of the benchmark it runs
+    private static final Map<Long, Pinning> PINNING_BY_THREAD = new ConcurrentHashMap<>();
+
+    public static void main(String[] args) throws Throwable {
+        int threadCount = Integer.getInteger("virtual.threads", 2000);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("virtual.warmup", 5));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("virtual.duration", 10));
+
+        List<String> includes = new ArrayList<>();
+        Map<String, String> params = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("-p".equals(args[i])) {
+                String[] param = args[++i].split("=", 2);
+                params.put(param[0], param[1]);
+            } else {
+                includes.add(args[i]);
+            }
+        }
+        if (includes.isEmpty()) {
+            includes = List.of("\\.QueryBenchmark\\.", "\\.UpdateBenchmark\\.");
+        }
+        // One entry per benchmark method and mode, in the order JMH would run them
+        Set<String> benchmarks = new LinkedHashSet<>();
+        BenchmarkList.defaultList()
+                .find(OutputFormatFactory.createFormatInstance(System.out, VerboseMode.SILENT), includes, List.of())
+                .forEach(entry -> benchmarks.add(entry.getUsername()));
+
+        List<Map<String, Object>> report = new ArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent(PINNED_EVENT, VirtualThreadRunner::onPinned);
+            recording.startAsync();
+
+            for (String benchmark : benchmarks) {
+                int dot = benchmark.lastIndexOf('.');
+                Class<?> benchmarkClass = Class.forName(benchmark.substring(0, dot));
+                Method method = BenchmarkInstance.benchmarkMethods(benchmarkClass).stream()
+                        .filter(candidate -> candidate.getName().equals(benchmark.substring(dot + 1)))
+                        .findFirst()
+                        .orElseThrow();
+                report.add(run(new BenchmarkInstance(benchmarkClass, params), method, threadCount, warmup, duration));
+            }
+
+            // Waits until the pinning events recorded so far have been consumed
+            recording.stop();
+        }
+
+        System.out.println();
+        System.out.printf("%-60s %12s %10s %10s %10s %10s %10s %10s%n", "Benchmark", "ops/s", "p50", "p99", "p99.9",
+                "max", "pinned", "errors");
+        for (Map<String, Object> row : report) {
+            Pinning pinning = (Pinning) row.remove("pinning");
+            row.putAll(pinning.toReport());
+            @SuppressWarnings("unchecked")
+            Map<String, Double> latency = (Map<String, Double>) row.get("latency");
+            System.out.printf("%-60s %12.1f %10.1f %10.1f %10.1f %10.1f %10d %10d%n", row.get("benchmark"),
+                    row.get("throughput"), latency.get("p50"), latency.get("p99"), latency.get("p99.9"),
+                    latency.get("max"), pinning.events.get(), row.get("errors"));
+        }
+
+        Json.writeFile(OUTPUT, report);
+        System.out.println();
+        System.out.println("Virtual thread results (latency in us) written to " + OUTPUT);
+    }
+
+    private static Map<String, Object> run(BenchmarkInstance instance, Method method, int threadCount,
+                                           Duration warmup, Duration duration) throws Throwable {
+        instance.setup();
+        String label = ResultLabels.of(method.getDeclaringClass().getName() + "." + method.getName(), instance.params());
+        System.out.printf("%s on %d virtual threads...%n", label, threadCount);
+
+        Pinning pinning = new Pinning();
+        Workload workload = new Workload(threadCount);
+        List<Thread> threads = new ArrayList<>(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            int threadIndex = i;
+            Thread thread = Thread.ofVirtual()
+                    .name("vt-" + method.getName() + "-" + i)
+                    .unstarted(() -> workload.run(instance, method, threadIndex));
+            PINNING_BY_THREAD.put(thread.threadId(), pinning);
+            threads.add(thread);
+        }
+        threads.forEach(Thread::start);
+
+        workload.ready.await();
+        workload.start.countDown();
+        Thread.sleep(warmup);
+        pinning.from = Instant.now();
+        workload.measureFrom = System.nanoTime();
+        Thread.sleep(duration);
+        workload.stopped = true;
+        long measuredNanos = System.nanoTime() - workload.measureFrom;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        instance.tearDown();
+
+        if (workload.failure.get() != null) {
+            System.out.println("  first error: " + workload.failure.get());
+        }
+
+        long[] latencies = workload.latencies();
+        Arrays.sort(latencies);
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", percentile(latencies, 50.0));
+        latency.put("p90", percentile(latencies, 90.0));
+        latency.put("p99", percentile(latencies, 99.0));
+        latency.put("p99.9", percentile(latencies, 99.9));
+        latency.put("max", percentile(latencies, 100.0));
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("benchmark", label);
+        row.put("framework", ResultLabels.framework(method.getName()));
+        row.put("virtualThreads", threadCount);
+        row.put("carrierThreads", carrierThreads());
+        row.put("operations", latencies.length);
+        row.put("errors", workload.errors.get());
+        row.put("throughput", latencies.length * 1e9 / measuredNanos);
+        row.put("latency", latency);
+        row.put("pinning", pinning);
+        return row;
+    }
+
+    /**
+     * The virtual thread side of one benchmark run: every thread calls the benchmark method in a loop
+     * and keeps the latencies of the calls it started during the measurement.
+     */
+    private static final class Workload {
+        private final CountDownLatch ready;
+        // Nobody starts calling before all states are set up, a thread that pins its carrier could starve the setup
+        private final CountDownLatch start = new CountDownLatch(1);
+        private final long[][] latenciesByThread;
+        private final int[] counts;
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private volatile long measureFrom = Long.MAX_VALUE;
+        private volatile boolean stopped;
+
+        private Workload(int threadCount) {
+            ready = new CountDownLatch(threadCount);
+            latenciesByThread = new long[threadCount][];
+            counts = new int[threadCount];
+        }
+
+        private void run(BenchmarkInstance instance, Method method, int threadIndex) {
+            long[] latencies = new long[256];
+            int count = 0;
+            BenchmarkInstance.Worker worker = null;
+            try {
+                worker = instance.worker(method, threadIndex, latenciesByThread.length);
+            } catch (Throwable e) {
+                fail(e);
+            } finally {
+                ready.countDown();
+            }
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            while (worker != null && !stopped) {
+                long start = System.nanoTime();
+                try {
+                    worker.invoke();
+                } catch (Throwable e) {
+                    fail(e);
+                    continue;
+                }
+                if (start >= measureFrom) {
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - start;
+                }
+            }
+
+            try {
+                if (worker != null) {
+                    worker.close();
+                }
+            } catch (Throwable e) {
+                fail(e);
+            }
+            latenciesByThread[threadIndex] = latencies;
+            counts[threadIndex] = count;
+        }
+
+        private void fail(Throwable e) {
+            errors.incrementAndGet();
+            failure.compareAndSet(null, e);
+        }
+
+        /**
+         * All measured latencies, valid once every thread has been joined.
+         */
+        private long[] latencies() {
+            int total = Arrays.stream(counts).sum();
+            long[] all = new long[total];
+            int offset = 0;
+            for (int i = 0; i < counts.length; i++) {
+                System.arraycopy(latenciesByThread[i], 0, all, offset, counts[i]);
+                offset += counts[i];
+            }
+            return all;
+        }
+    }
+
+    /**
+     * Pinning events of the virtual threads of one benchmark, recorded during its measurement.
+     */
+    private static final class Pinning {
+        private final AtomicLong events = new AtomicLong();
+        private final AtomicLong nanos = new AtomicLong();
+        // First application frame of the pinned stack, i.e. the code that blocked while holding a monitor
+        private final Map<String, AtomicLong> frames = new ConcurrentHashMap<>();
+        private volatile Instant from = Instant.MAX;
+
+        private void record(RecordedEvent event) {
+            if (event.getStartTime().isBefore(from)) {
+                return;
+            }
+            events.incrementAndGet();
+            nanos.addAndGet(event.getDuration().toNanos());
+            frames.computeIfAbsent(pinningFrame(event.getStackTrace()), k -> new AtomicLong()).incrementAndGet();
+        }
+
+        private Map<String, Object> toReport() {
+            Map<String, Object> topFrames = new LinkedHashMap<>();
+            frames.entrySet().stream()
+                    .sorted((a, b) -> Long.compare(b.getValue().get(), a.getValue().get()))
+                    .limit(TOP_FRAMES)
+                    .forEach(entry -> topFrames.put(entry.getKey(), entry.getValue().get()));
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("pinnedEvents", events.get());
+            report.put("pinnedMillis", nanos.get() / 1e6);
+            report.put("pinningFrames", topFrames);
+            return report;
+        }
+    }
+
+    private static void onPinned(RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        Pinning pinning = thread != null ? PINNING_BY_THREAD.get(thread.getJavaThreadId()) : null;
+        if (pinning != null) {
+            pinning.record(event);
+        }
+    }
+
+    private static String pinningFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "(no stack trace)";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (frame.isJavaFrame() && !type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return "(JDK only)";
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1000.0;
+    }
+
+    private static int carrierThreads() {
+        return Integer.getInteger("jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,154 @@
+package com.easyquery.benchmark.stub;
+
+import com.easyquery.benchmark.FixtureLoader;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable result table served by the stub driver: column labels, their JDBC types and the row
+ * values, all built up front so that reading them costs nothing but an array access.
+ */
+public final class CannedResult {
+
+    public static final CannedResult EMPTY = new CannedResult(new String[0], new int[0], new Object[0][]);
+
+    private final String[] labels;
+    private final int[] types;
+    private final Object[][] rows;
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+
+    /**
+     * @param labels column labels
+     * @param types  {@link Types} constant of each column
+     * @param rows   row values, one array per row in column order
+     */
+    public CannedResult(String[] labels, int[] types, Object[][] rows) {
+        if (labels.length != types.length) {
+            throw new IllegalArgumentException("Expected " + labels.length + " column types but got " + types.length);
+        }
+        this.labels = labels.clone();
+        this.types = types.clone();
+        this.rows = rows;
+        for (int i = 0; i < labels.length; i++) {
+            columnIndexes.putIfAbsent(labels[i].toLowerCase(Locale.ROOT), i + 1);
+        }
+    }
+
+    /**
+     * Rows of t_user with the same values {@link FixtureLoader} writes, laid out in the given column
+     * order. Frameworks that read by position need the order their own SQL selects the columns in.
+     */
+    public static CannedResult users(int rowCount, String... columns) {
+        int[] types = new int[columns.length];
+        for (int j = 0; j < columns.length; j++) {
+            types[j] = "age".equals(columns[j]) ? Types.INTEGER : Types.VARCHAR;
+        }
+        Object[][] rows = new Object[rowCount][];
+        for (int i = 0; i < rowCount; i++) {
+            Object[] row = new Object[columns.length];
+            for (int j = 0; j < columns.length; j++) {
+                row[j] = userValue(columns[j], i);
+            }
+            rows[i] = row;
+        }
+        return new CannedResult(columns, types, rows);
+    }
+
+    /**
+     * Rows of t_wide_user: the t_user values of {@link #users} plus the {@code textN}, {@code numberN}
+     * and {@code amountN} columns, laid out in the given column order.
+     */
+    public static CannedResult wideUsers(int rowCount, String... columns) {
+        int[] types = new int[columns.length];
+        for (int j = 0; j < columns.length; j++) {
+            String column = columns[j];
+            types[j] = column.startsWith("amount") ? Types.DECIMAL
+                    : column.equals("age") || column.startsWith("number") ? Types.INTEGER
+                    : Types.VARCHAR;
+        }
+        Object[][] rows = new Object[rowCount][];
+        for (int i = 0; i < rowCount; i++) {
+            Object[] row = new Object[columns.length];
+            for (int j = 0; j < columns.length; j++) {
+                String column = columns[j];
+                if (column.startsWith("text")) {
+                    row[j] = column + "_" + i;
+                } else if (column.startsWith("number")) {
+                    row[j] = i % 1000 + suffix(column);
+                } else if (column.startsWith("amount")) {
+                    row[j] = BigDecimal.valueOf(10050 + (i % 10000) * 100L + suffix(column), 2);
+                } else {
+                    row[j] = userValue(column, i);
+                }
+            }
+            rows[i] = row;
+        }
+        return new CannedResult(columns, types, rows);
+    }
+
+    // The N of textN, numberN and amountN, so a value does not depend on the column order
+    private static int suffix(String column) {
+        int start = column.length();
+        while (start > 0 && Character.isDigit(column.charAt(start - 1))) {
+            start--;
+        }
+        return Integer.parseInt(column.substring(start));
+    }
+
+    private static Object userValue(String column, int i) {
+        return switch (column) {
+            case "id" -> FixtureLoader.userId(i);
+            case "username" -> "user_" + i;
+            case "email" -> "user" + i + "@example.com";
+            case "age" -> 20 + (i % 50);
+            case "phone" -> "1234567890";
+            case "address" -> "Address " + i;
+            default -> throw new IllegalArgumentException("Unknown t_user column " + column);
+        };
+    }
+
+    public int getColumnCount() {
+        return labels.length;
+    }
+
+    public int getRowCount() {
+        return rows.length;
+    }
+
+    /**
+     * @param column 1-based column index
+     */
+    public String getColumnLabel(int column) {
+        return labels[column - 1];
+    }
+
+    /**
+     * @param column 1-based column index
+     */
+    public int getColumnType(int column) {
+        return types[column - 1];
+    }
+
+    Object[] getRow(int row) {
+        return rows[row];
+    }
+
+    /**
+     * 1-based index of the column with the given label, ignoring case like the real drivers do.
+     */
+    public int findColumn(String label) throws SQLException {
+        Integer index = columnIndexes.get(label);
+        if (index == null) {
+            index = columnIndexes.get(label.toLowerCase(Locale.ROOT));
+        }
+        if (index == null) {
+            throw new SQLException("Column " + label + " not found");
+        }
+        return index;
+    }
+}
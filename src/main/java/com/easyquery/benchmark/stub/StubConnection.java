@@ -0,0 +1,314 @@
+package com.easyquery.benchmark.stub;
+
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+/**
+ * Connection of a {@link StubDataSource}. Every statement it creates returns the same
+ * {@link CannedResult}; transactions are accepted and do nothing.
+ */
+public class StubConnection implements Connection {
+
+    private final CannedResult result;
+    private final Properties clientInfo = new Properties();
+    private Map<String, Class<?>> typeMap = new HashMap<>();
+    private boolean autoCommit = true;
+    private boolean readOnly;
+    private boolean closed;
+    private String catalog = "STUB";
+    private String schema = "PUBLIC";
+    private int transactionIsolation = TRANSACTION_READ_COMMITTED;
+    private int holdability = ResultSet.HOLD_CURSORS_OVER_COMMIT;
+    private int networkTimeout;
+
+    public StubConnection(CannedResult result) {
+        this.result = result;
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        return new StubPreparedStatement(this, result);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return new StubPreparedStatement(this, result);
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql) throws SQLException {
+        throw Unsupported.method("Connection.prepareCall");
+    }
+
+    @Override
+    public String nativeSQL(String sql) throws SQLException {
+        return sql;
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        this.autoCommit = autoCommit;
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        return autoCommit;
+    }
+
+    @Override
+    public void commit() throws SQLException {
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+    }
+
+    @Override
+    public void close() throws SQLException {
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return closed;
+    }
+
+    @Override
+    public DatabaseMetaData getMetaData() throws SQLException {
+        return StubDatabaseMetaData.create(this);
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        this.readOnly = readOnly;
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        return readOnly;
+    }
+
+    @Override
+    public void setCatalog(String catalog) throws SQLException {
+        this.catalog = catalog;
+    }
+
+    @Override
+    public String getCatalog() throws SQLException {
+        return catalog;
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws SQLException {
+        this.transactionIsolation = level;
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        return transactionIsolation;
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return null;
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+        return new StubPreparedStatement(this, result);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        return new StubPreparedStatement(this, result);
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        throw Unsupported.method("Connection.prepareCall");
+    }
+
+    @Override
+    public Map<String,Class<?>> getTypeMap() throws SQLException {
+        return typeMap;
+    }
+
+    @Override
+    public void setTypeMap(Map<String,Class<?>> map) throws SQLException {
+        this.typeMap = map;
+    }
+
+    @Override
+    public void setHoldability(int holdability) throws SQLException {
+        this.holdability = holdability;
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        return holdability;
+    }
+
+    @Override
+    public Savepoint setSavepoint() throws SQLException {
+        throw Unsupported.method("Connection.setSavepoint");
+    }
+
+    @Override
+    public Savepoint setSavepoint(String name) throws SQLException {
+        throw Unsupported.method("Connection.setSavepoint");
+    }
+
+    @Override
+    public void rollback(Savepoint savepoint) throws SQLException {
+    }
+
+    @Override
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        return new StubPreparedStatement(this, result);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        return new StubPreparedStatement(this, result);
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        throw Unsupported.method("Connection.prepareCall");
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        return new StubPreparedStatement(this, result);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+        return new StubPreparedStatement(this, result);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+        return new StubPreparedStatement(this, result);
+    }
+
+    @Override
+    public Clob createClob() throws SQLException {
+        throw Unsupported.method("Connection.createClob");
+    }
+
+    @Override
+    public Blob createBlob() throws SQLException {
+        throw Unsupported.method("Connection.createBlob");
+    }
+
+    @Override
+    public NClob createNClob() throws SQLException {
+        throw Unsupported.method("Connection.createNClob");
+    }
+
+    @Override
+    public SQLXML createSQLXML() throws SQLException {
+        throw Unsupported.method("Connection.createSQLXML");
+    }
+
+    @Override
+    public boolean isValid(int timeout) throws SQLException {
+        return !closed;
+    }
+
+    @Override
+    public void setClientInfo(String name, String value) throws SQLClientInfoException {
+        clientInfo.setProperty(name, value);
+    }
+
+    @Override
+    public void setClientInfo(Properties properties) throws SQLClientInfoException {
+        clientInfo.clear();
+        clientInfo.putAll(properties);
+    }
+
+    @Override
+    public String getClientInfo(String name) throws SQLException {
+        return clientInfo.getProperty(name);
+    }
+
+    @Override
+    public Properties getClientInfo() throws SQLException {
+        return clientInfo;
+    }
+
+    @Override
+    public Array createArrayOf(String typeName, Object[] elements) throws SQLException {
+        throw Unsupported.method("Connection.createArrayOf");
+    }
+
+    @Override
+    public Struct createStruct(String typeName, Object[] attributes) throws SQLException {
+        throw Unsupported.method("Connection.createStruct");
+    }
+
+    @Override
+    public void setSchema(String schema) throws SQLException {
+        this.schema = schema;
+    }
+
+    @Override
+    public String getSchema() throws SQLException {
+        return schema;
+    }
+
+    @Override
+    public void abort(Executor executor) throws SQLException {
+        closed = true;
+    }
+
+    @Override
+    public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
+        this.networkTimeout = milliseconds;
+    }
+
+    @Override
+    public int getNetworkTimeout() throws SQLException {
+        return networkTimeout;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws java.sql.SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws java.sql.SQLException {
+        return iface.isInstance(this);
+    }
+}
@@ -0,0 +1,74 @@
+package com.easyquery.benchmark.stub;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.logging.Logger;
+
+/**
+ * In-process DataSource that never touches a database: every query on every connection answers
+ * with the same pre-built {@link CannedResult}, without parsing or even looking at the SQL.
+ * <p>
+ * Plugged into a framework in place of the H2 pool, it leaves only the framework's own work on
+ * the measured path: rendering the statement, binding parameters and mapping the rows.
+ */
+public class StubDataSource implements DataSource {
+
+    private final CannedResult result;
+    private PrintWriter logWriter;
+    private int loginTimeout;
+
+    public StubDataSource(CannedResult result) {
+        this.result = result;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return new StubConnection(result);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return new StubConnection(result);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return logWriter;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        this.logWriter = out;
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        this.loginTimeout = seconds;
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return loginTimeout;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw Unsupported.method("CommonDataSource.getParentLogger");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws java.sql.SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws java.sql.SQLException {
+        return iface.isInstance(this);
+    }
+}
@@ -0,0 +1,95 @@
+package com.easyquery.benchmark.stub;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * DatabaseMetaData of the stub driver. The frameworks only look at it while bootstrapping, so it is
+ * a dynamic proxy that identifies itself as H2, supports no optional feature and answers every
+ * catalog query with an empty result.
+ */
+final class StubDatabaseMetaData implements InvocationHandler {
+
+    private final Connection connection;
+
+    private StubDatabaseMetaData(Connection connection) {
+        this.connection = connection;
+    }
+
+    static DatabaseMetaData create(Connection connection) {
+        return (DatabaseMetaData) Proxy.newProxyInstance(StubDatabaseMetaData.class.getClassLoader(),
+                new Class<?>[]{DatabaseMetaData.class}, new StubDatabaseMetaData(connection));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "getConnection":
+                return connection;
+            case "getDatabaseProductName":
+                return "H2";
+            case "getDatabaseProductVersion":
+                return "2.2.224 (stub)";
+            case "getDatabaseMajorVersion":
+            case "getDriverMajorVersion":
+                return 2;
+            case "getDatabaseMinorVersion":
+            case "getDriverMinorVersion":
+                return 2;
+            case "getDriverName":
+                return "Stub JDBC Driver";
+            case "getDriverVersion":
+                return "1.0";
+            case "getJDBCMajorVersion":
+                return 4;
+            case "getJDBCMinorVersion":
+                return 2;
+            case "getURL":
+                return "jdbc:stub:";
+            case "getIdentifierQuoteString":
+                return "\"";
+            case "getCatalogSeparator":
+                return ".";
+            case "getSearchStringEscape":
+                return "\\";
+            case "getDefaultTransactionIsolation":
+                return Connection.TRANSACTION_READ_COMMITTED;
+            case "getResultSetHoldability":
+                return ResultSet.HOLD_CURSORS_OVER_COMMIT;
+            case "getSQLStateType":
+                return DatabaseMetaData.sqlStateSQL;
+            case "unwrap":
+                throw new SQLException("Not a wrapper for " + ((Class<?>) args[0]).getName());
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "StubDatabaseMetaData";
+            default:
+                break;
+        }
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == String.class) {
+            return "";
+        }
+        if (type == ResultSet.class) {
+            return new StubResultSet(null, CannedResult.EMPTY);
+        }
+        return null;
+    }
+}
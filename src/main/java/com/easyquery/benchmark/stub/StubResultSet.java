@@ -0,0 +1,1051 @@
+package com.easyquery.benchmark.stub;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+
+/**
+ * Forward-only cursor over a {@link CannedResult}. Getters read the pre-built cell values directly,
+ * converting only where the requested type differs from the stored one.
+ */
+public class StubResultSet implements ResultSet {
+
+    private final Statement statement;
+    private final CannedResult result;
+    private int row = -1;
+    private Object[] current;
+    private boolean wasNull;
+    private boolean closed;
+    private int fetchSize;
+
+    public StubResultSet(Statement statement, CannedResult result) {
+        this.statement = statement;
+        this.result = result;
+    }
+
+    private Object value(int columnIndex) throws SQLException {
+        if (current == null) {
+            throw new SQLException("No current row");
+        }
+        if (columnIndex < 1 || columnIndex > current.length) {
+            throw new SQLException("Invalid column index " + columnIndex);
+        }
+        Object value = current[columnIndex - 1];
+        wasNull = value == null;
+        return value;
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        if (closed || ++row >= result.getRowCount()) {
+            current = null;
+            return false;
+        }
+        current = result.getRow(row);
+        return true;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        closed = true;
+        current = null;
+    }
+
+    @Override
+    public boolean wasNull() throws SQLException {
+        return wasNull;
+    }
+
+    @Override
+    public String getString(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        if (value == null) {
+            return false;
+        }
+        return value instanceof Boolean b ? b : ((Number) value).intValue() != 0;
+    }
+
+    @Override
+    public byte getByte(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? 0 : ((Number) value).byteValue();
+    }
+
+    @Override
+    public short getShort(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? 0 : ((Number) value).shortValue();
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    @Override
+    public float getFloat(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? 0 : ((Number) value).floatValue();
+    }
+
+    @Override
+    public double getDouble(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        return value == null ? 0 : ((Number) value).doubleValue();
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
+        throw Unsupported.method("ResultSet.getBigDecimal");
+    }
+
+    @Override
+    public byte[] getBytes(int columnIndex) throws SQLException {
+        return (byte[]) value(columnIndex);
+    }
+
+    @Override
+    public Date getDate(int columnIndex) throws SQLException {
+        return (Date) value(columnIndex);
+    }
+
+    @Override
+    public Time getTime(int columnIndex) throws SQLException {
+        return (Time) value(columnIndex);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex) throws SQLException {
+        return (Timestamp) value(columnIndex);
+    }
+
+    @Override
+    public InputStream getAsciiStream(int columnIndex) throws SQLException {
+        throw Unsupported.method("ResultSet.getAsciiStream");
+    }
+
+    @Override
+    public InputStream getUnicodeStream(int columnIndex) throws SQLException {
+        throw Unsupported.method("ResultSet.getUnicodeStream");
+    }
+
+    @Override
+    public InputStream getBinaryStream(int columnIndex) throws SQLException {
+        throw Unsupported.method("ResultSet.getBinaryStream");
+    }
+
+    @Override
+    public String getString(String columnLabel) throws SQLException {
+        return getString(findColumn(columnLabel));
+    }
+
+    @Override
+    public boolean getBoolean(String columnLabel) throws SQLException {
+        return getBoolean(findColumn(columnLabel));
+    }
+
+    @Override
+    public byte getByte(String columnLabel) throws SQLException {
+        return getByte(findColumn(columnLabel));
+    }
+
+    @Override
+    public short getShort(String columnLabel) throws SQLException {
+        return getShort(findColumn(columnLabel));
+    }
+
+    @Override
+    public int getInt(String columnLabel) throws SQLException {
+        return getInt(findColumn(columnLabel));
+    }
+
+    @Override
+    public long getLong(String columnLabel) throws SQLException {
+        return getLong(findColumn(columnLabel));
+    }
+
+    @Override
+    public float getFloat(String columnLabel) throws SQLException {
+        return getFloat(findColumn(columnLabel));
+    }
+
+    @Override
+    public double getDouble(String columnLabel) throws SQLException {
+        return getDouble(findColumn(columnLabel));
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
+        throw Unsupported.method("ResultSet.getBigDecimal");
+    }
+
+    @Override
+    public byte[] getBytes(String columnLabel) throws SQLException {
+        return getBytes(findColumn(columnLabel));
+    }
+
+    @Override
+    public Date getDate(String columnLabel) throws SQLException {
+        return getDate(findColumn(columnLabel));
+    }
+
+    @Override
+    public Time getTime(String columnLabel) throws SQLException {
+        return getTime(findColumn(columnLabel));
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel) throws SQLException {
+        return getTimestamp(findColumn(columnLabel));
+    }
+
+    @Override
+    public InputStream getAsciiStream(String columnLabel) throws SQLException {
+        throw Unsupported.method("ResultSet.getAsciiStream");
+    }
+
+    @Override
+    public InputStream getUnicodeStream(String columnLabel) throws SQLException {
+        throw Unsupported.method("ResultSet.getUnicodeStream");
+    }
+
+    @Override
+    public InputStream getBinaryStream(String columnLabel) throws SQLException {
+        throw Unsupported.method("ResultSet.getBinaryStream");
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return null;
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+    }
+
+    @Override
+    public String getCursorName() throws SQLException {
+        throw Unsupported.method("ResultSet.getCursorName");
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return new StubResultSetMetaData(result);
+    }
+
+    @Override
+    public Object getObject(int columnIndex) throws SQLException {
+        return value(columnIndex);
+    }
+
+    @Override
+    public Object getObject(String columnLabel) throws SQLException {
+        return getObject(findColumn(columnLabel));
+    }
+
+    @Override
+    public int findColumn(String columnLabel) throws SQLException {
+        return result.findColumn(columnLabel);
+    }
+
+    @Override
+    public Reader getCharacterStream(int columnIndex) throws SQLException {
+        throw Unsupported.method("ResultSet.getCharacterStream");
+    }
+
+    @Override
+    public Reader getCharacterStream(String columnLabel) throws SQLException {
+        throw Unsupported.method("ResultSet.getCharacterStream");
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+        Object value = value(columnIndex);
+        if (value == null || value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+        return getBigDecimal(findColumn(columnLabel));
+    }
+
+    @Override
+    public boolean isBeforeFirst() throws SQLException {
+        return row < 0 && result.getRowCount() > 0;
+    }
+
+    @Override
+    public boolean isAfterLast() throws SQLException {
+        return row >= result.getRowCount() && result.getRowCount() > 0;
+    }
+
+    @Override
+    public boolean isFirst() throws SQLException {
+        return row == 0 && current != null;
+    }
+
+    @Override
+    public boolean isLast() throws SQLException {
+        return row == result.getRowCount() - 1 && current != null;
+    }
+
+    @Override
+    public void beforeFirst() throws SQLException {
+        throw Unsupported.method("ResultSet.beforeFirst");
+    }
+
+    @Override
+    public void afterLast() throws SQLException {
+        throw Unsupported.method("ResultSet.afterLast");
+    }
+
+    @Override
+    public boolean first() throws SQLException {
+        throw Unsupported.method("ResultSet.first");
+    }
+
+    @Override
+    public boolean last() throws SQLException {
+        throw Unsupported.method("ResultSet.last");
+    }
+
+    @Override
+    public int getRow() throws SQLException {
+        return current == null ? 0 : row + 1;
+    }
+
+    @Override
+    public boolean absolute(int row) throws SQLException {
+        throw Unsupported.method("ResultSet.absolute");
+    }
+
+    @Override
+    public boolean relative(int rows) throws SQLException {
+        throw Unsupported.method("ResultSet.relative");
+    }
+
+    @Override
+    public boolean previous() throws SQLException {
+        throw Unsupported.method("ResultSet.previous");
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        if (direction != FETCH_FORWARD) {
+            throw Unsupported.method("ResultSet.setFetchDirection");
+        }
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        return FETCH_FORWARD;
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        fetchSize = rows;
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        return fetchSize;
+    }
+
+    @Override
+    public int getType() throws SQLException {
+        return TYPE_FORWARD_ONLY;
+    }
+
+    @Override
+    public int getConcurrency() throws SQLException {
+        return CONCUR_READ_ONLY;
+    }
+
+    @Override
+    public boolean rowUpdated() throws SQLException {
+        throw Unsupported.method("ResultSet.rowUpdated");
+    }
+
+    @Override
+    public boolean rowInserted() throws SQLException {
+        throw Unsupported.method("ResultSet.rowInserted");
+    }
+
+    @Override
+    public boolean rowDeleted() throws SQLException {
+        throw Unsupported.method("ResultSet.rowDeleted");
+    }
+
+    @Override
+    public void updateNull(int columnIndex) throws SQLException {
+        throw Unsupported.method("ResultSet.updateNull");
+    }
+
+    @Override
+    public void updateBoolean(int columnIndex, boolean x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateBoolean");
+    }
+
+    @Override
+    public void updateByte(int columnIndex, byte x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateByte");
+    }
+
+    @Override
+    public void updateShort(int columnIndex, short x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateShort");
+    }
+
+    @Override
+    public void updateInt(int columnIndex, int x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateInt");
+    }
+
+    @Override
+    public void updateLong(int columnIndex, long x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateLong");
+    }
+
+    @Override
+    public void updateFloat(int columnIndex, float x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateFloat");
+    }
+
+    @Override
+    public void updateDouble(int columnIndex, double x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateDouble");
+    }
+
+    @Override
+    public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateBigDecimal");
+    }
+
+    @Override
+    public void updateString(int columnIndex, String x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateString");
+    }
+
+    @Override
+    public void updateBytes(int columnIndex, byte[] x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateBytes");
+    }
+
+    @Override
+    public void updateDate(int columnIndex, Date x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateDate");
+    }
+
+    @Override
+    public void updateTime(int columnIndex, Time x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateTime");
+    }
+
+    @Override
+    public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateTimestamp");
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream x, int length) throws SQLException {
+        throw Unsupported.method("ResultSet.updateAsciiStream");
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream x, int length) throws SQLException {
+        throw Unsupported.method("ResultSet.updateBinaryStream");
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader x, int length) throws SQLException {
+        throw Unsupported.method("ResultSet.updateCharacterStream");
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x, int scaleOrLength) throws SQLException {
+        throw Unsupported.method("ResultSet.updateObject");
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateObject");
+    }
+
+    @Override
+    public void updateNull(String columnLabel) throws SQLException {
+        throw Unsupported.method("ResultSet.updateNull");
+    }
+
+    @Override
+    public void updateBoolean(String columnLabel, boolean x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateBoolean");
+    }
+
+    @Override
+    public void updateByte(String columnLabel, byte x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateByte");
+    }
+
+    @Override
+    public void updateShort(String columnLabel, short x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateShort");
+    }
+
+    @Override
+    public void updateInt(String columnLabel, int x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateInt");
+    }
+
+    @Override
+    public void updateLong(String columnLabel, long x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateLong");
+    }
+
+    @Override
+    public void updateFloat(String columnLabel, float x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateFloat");
+    }
+
+    @Override
+    public void updateDouble(String columnLabel, double x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateDouble");
+    }
+
+    @Override
+    public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateBigDecimal");
+    }
+
+    @Override
+    public void updateString(String columnLabel, String x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateString");
+    }
+
+    @Override
+    public void updateBytes(String columnLabel, byte[] x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateBytes");
+    }
+
+    @Override
+    public void updateDate(String columnLabel, Date x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateDate");
+    }
+
+    @Override
+    public void updateTime(String columnLabel, Time x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateTime");
+    }
+
+    @Override
+    public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateTimestamp");
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream x, int length) throws SQLException {
+        throw Unsupported.method("ResultSet.updateAsciiStream");
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream x, int length) throws SQLException {
+        throw Unsupported.method("ResultSet.updateBinaryStream");
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader reader, int length) throws SQLException {
+        throw Unsupported.method("ResultSet.updateCharacterStream");
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x, int scaleOrLength) throws SQLException {
+        throw Unsupported.method("ResultSet.updateObject");
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateObject");
+    }
+
+    @Override
+    public void insertRow() throws SQLException {
+        throw Unsupported.method("ResultSet.insertRow");
+    }
+
+    @Override
+    public void updateRow() throws SQLException {
+        throw Unsupported.method("ResultSet.updateRow");
+    }
+
+    @Override
+    public void deleteRow() throws SQLException {
+        throw Unsupported.method("ResultSet.deleteRow");
+    }
+
+    @Override
+    public void refreshRow() throws SQLException {
+        throw Unsupported.method("ResultSet.refreshRow");
+    }
+
+    @Override
+    public void cancelRowUpdates() throws SQLException {
+        throw Unsupported.method("ResultSet.cancelRowUpdates");
+    }
+
+    @Override
+    public void moveToInsertRow() throws SQLException {
+        throw Unsupported.method("ResultSet.moveToInsertRow");
+    }
+
+    @Override
+    public void moveToCurrentRow() throws SQLException {
+        throw Unsupported.method("ResultSet.moveToCurrentRow");
+    }
+
+    @Override
+    public Statement getStatement() throws SQLException {
+        return statement;
+    }
+
+    @Override
+    public Object getObject(int columnIndex, Map<String,Class<?>> map) throws SQLException {
+        throw Unsupported.method("ResultSet.getObject");
+    }
+
+    @Override
+    public Ref getRef(int columnIndex) throws SQLException {
+        throw Unsupported.method("ResultSet.getRef");
+    }
+
+    @Override
+    public Blob getBlob(int columnIndex) throws SQLException {
+        throw Unsupported.method("ResultSet.getBlob");
+    }
+
+    @Override
+    public Clob getClob(int columnIndex) throws SQLException {
+        throw Unsupported.method("ResultSet.getClob");
+    }
+
+    @Override
+    public Array getArray(int columnIndex) throws SQLException {
+        throw Unsupported.method("ResultSet.getArray");
+    }
+
+    @Override
+    public Object getObject(String columnLabel, Map<String,Class<?>> map) throws SQLException {
+        throw Unsupported.method("ResultSet.getObject");
+    }
+
+    @Override
+    public Ref getRef(String columnLabel) throws SQLException {
+        throw Unsupported.method("ResultSet.getRef");
+    }
+
+    @Override
+    public Blob getBlob(String columnLabel) throws SQLException {
+        throw Unsupported.method("ResultSet.getBlob");
+    }
+
+    @Override
+    public Clob getClob(String columnLabel) throws SQLException {
+        throw Unsupported.method("ResultSet.getClob");
+    }
+
+    @Override
+    public Array getArray(String columnLabel) throws SQLException {
+        throw Unsupported.method("ResultSet.getArray");
+    }
+
+    @Override
+    public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+        throw Unsupported.method("ResultSet.getDate");
+    }
+
+    @Override
+    public Date getDate(String columnLabel, Calendar cal) throws SQLException {
+        throw Unsupported.method("ResultSet.getDate");
+    }
+
+    @Override
+    public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+        throw Unsupported.method("ResultSet.getTime");
+    }
+
+    @Override
+    public Time getTime(String columnLabel, Calendar cal) throws SQLException {
+        throw Unsupported.method("ResultSet.getTime");
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+        throw Unsupported.method("ResultSet.getTimestamp");
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
+        throw Unsupported.method("ResultSet.getTimestamp");
+    }
+
+    @Override
+    public URL getURL(int columnIndex) throws SQLException {
+        throw Unsupported.method("ResultSet.getURL");
+    }
+
+    @Override
+    public URL getURL(String columnLabel) throws SQLException {
+        throw Unsupported.method("ResultSet.getURL");
+    }
+
+    @Override
+    public void updateRef(int columnIndex, Ref x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateRef");
+    }
+
+    @Override
+    public void updateRef(String columnLabel, Ref x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateRef");
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, Blob x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateBlob");
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, Blob x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateBlob");
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Clob x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateClob");
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Clob x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateClob");
+    }
+
+    @Override
+    public void updateArray(int columnIndex, Array x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateArray");
+    }
+
+    @Override
+    public void updateArray(String columnLabel, Array x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateArray");
+    }
+
+    @Override
+    public RowId getRowId(int columnIndex) throws SQLException {
+        throw Unsupported.method("ResultSet.getRowId");
+    }
+
+    @Override
+    public RowId getRowId(String columnLabel) throws SQLException {
+        throw Unsupported.method("ResultSet.getRowId");
+    }
+
+    @Override
+    public void updateRowId(int columnIndex, RowId x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateRowId");
+    }
+
+    @Override
+    public void updateRowId(String columnLabel, RowId x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateRowId");
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        return HOLD_CURSORS_OVER_COMMIT;
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return closed;
+    }
+
+    @Override
+    public void updateNString(int columnIndex, String nString) throws SQLException {
+        throw Unsupported.method("ResultSet.updateNString");
+    }
+
+    @Override
+    public void updateNString(String columnLabel, String nString) throws SQLException {
+        throw Unsupported.method("ResultSet.updateNString");
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, NClob nClob) throws SQLException {
+        throw Unsupported.method("ResultSet.updateNClob");
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, NClob nClob) throws SQLException {
+        throw Unsupported.method("ResultSet.updateNClob");
+    }
+
+    @Override
+    public NClob getNClob(int columnIndex) throws SQLException {
+        throw Unsupported.method("ResultSet.getNClob");
+    }
+
+    @Override
+    public NClob getNClob(String columnLabel) throws SQLException {
+        throw Unsupported.method("ResultSet.getNClob");
+    }
+
+    @Override
+    public SQLXML getSQLXML(int columnIndex) throws SQLException {
+        throw Unsupported.method("ResultSet.getSQLXML");
+    }
+
+    @Override
+    public SQLXML getSQLXML(String columnLabel) throws SQLException {
+        throw Unsupported.method("ResultSet.getSQLXML");
+    }
+
+    @Override
+    public void updateSQLXML(int columnIndex, SQLXML xmlObject) throws SQLException {
+        throw Unsupported.method("ResultSet.updateSQLXML");
+    }
+
+    @Override
+    public void updateSQLXML(String columnLabel, SQLXML xmlObject) throws SQLException {
+        throw Unsupported.method("ResultSet.updateSQLXML");
+    }
+
+    @Override
+    public String getNString(int columnIndex) throws SQLException {
+        throw Unsupported.method("ResultSet.getNString");
+    }
+
+    @Override
+    public String getNString(String columnLabel) throws SQLException {
+        throw Unsupported.method("ResultSet.getNString");
+    }
+
+    @Override
+    public Reader getNCharacterStream(int columnIndex) throws SQLException {
+        throw Unsupported.method("ResultSet.getNCharacterStream");
+    }
+
+    @Override
+    public Reader getNCharacterStream(String columnLabel) throws SQLException {
+        throw Unsupported.method("ResultSet.getNCharacterStream");
+    }
+
+    @Override
+    public void updateNCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+        throw Unsupported.method("ResultSet.updateNCharacterStream");
+    }
+
+    @Override
+    public void updateNCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
+        throw Unsupported.method("ResultSet.updateNCharacterStream");
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream x, long length) throws SQLException {
+        throw Unsupported.method("ResultSet.updateAsciiStream");
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream x, long length) throws SQLException {
+        throw Unsupported.method("ResultSet.updateBinaryStream");
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+        throw Unsupported.method("ResultSet.updateCharacterStream");
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream x, long length) throws SQLException {
+        throw Unsupported.method("ResultSet.updateAsciiStream");
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream x, long length) throws SQLException {
+        throw Unsupported.method("ResultSet.updateBinaryStream");
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
+        throw Unsupported.method("ResultSet.updateCharacterStream");
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, InputStream inputStream, long length) throws SQLException {
+        throw Unsupported.method("ResultSet.updateBlob");
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, InputStream inputStream, long length) throws SQLException {
+        throw Unsupported.method("ResultSet.updateBlob");
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Reader reader, long length) throws SQLException {
+        throw Unsupported.method("ResultSet.updateClob");
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Reader reader, long length) throws SQLException {
+        throw Unsupported.method("ResultSet.updateClob");
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, Reader reader, long length) throws SQLException {
+        throw Unsupported.method("ResultSet.updateNClob");
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, Reader reader, long length) throws SQLException {
+        throw Unsupported.method("ResultSet.updateNClob");
+    }
+
+    @Override
+    public void updateNCharacterStream(int columnIndex, Reader x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateNCharacterStream");
+    }
+
+    @Override
+    public void updateNCharacterStream(String columnLabel, Reader reader) throws SQLException {
+        throw Unsupported.method("ResultSet.updateNCharacterStream");
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateAsciiStream");
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateBinaryStream");
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateCharacterStream");
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateAsciiStream");
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream x) throws SQLException {
+        throw Unsupported.method("ResultSet.updateBinaryStream");
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader reader) throws SQLException {
+        throw Unsupported.method("ResultSet.updateCharacterStream");
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, InputStream inputStream) throws SQLException {
+        throw Unsupported.method("ResultSet.updateBlob");
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, InputStream inputStream) throws SQLException {
+        throw Unsupported.method("ResultSet.updateBlob");
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Reader reader) throws SQLException {
+        throw Unsupported.method("ResultSet.updateClob");
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Reader reader) throws SQLException {
+        throw Unsupported.method("ResultSet.updateClob");
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, Reader reader) throws SQLException {
+        throw Unsupported.method("ResultSet.updateNClob");
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, Reader reader) throws SQLException {
+        throw Unsupported.method("ResultSet.updateNClob");
+    }
+
+    @Override
+    public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+        Object value = value(columnIndex);
+        if (value == null || type.isInstance(value)) {
+            return type.cast(value);
+        }
+        if (type == String.class) {
+            return type.cast(value.toString());
+        }
+        if (type == Integer.class) {
+            return type.cast(((Number) value).intValue());
+        }
+        if (type == Long.class) {
+            return type.cast(((Number) value).longValue());
+        }
+        if (type == BigDecimal.class) {
+            return type.cast(getBigDecimal(columnIndex));
+        }
+        throw new SQLException("Cannot convert " + value.getClass().getName() + " to " + type.getName());
+    }
+
+    @Override
+    public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+        return getObject(findColumn(columnLabel), type);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws java.sql.SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws java.sql.SQLException {
+        return iface.isInstance(this);
+    }
+}
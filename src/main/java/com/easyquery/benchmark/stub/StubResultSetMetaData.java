@@ -0,0 +1,148 @@
+package com.easyquery.benchmark.stub;
+
+import java.math.BigDecimal;
+import java.sql.JDBCType;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * Column labels and types of a {@link CannedResult}.
+ */
+public class StubResultSetMetaData implements ResultSetMetaData {
+
+    private final CannedResult result;
+
+    public StubResultSetMetaData(CannedResult result) {
+        this.result = result;
+    }
+
+    @Override
+    public int getColumnCount() throws SQLException {
+        return result.getColumnCount();
+    }
+
+    @Override
+    public boolean isAutoIncrement(int column) throws SQLException {
+        return false;
+    }
+
+    @Override
+    public boolean isCaseSensitive(int column) throws SQLException {
+        return true;
+    }
+
+    @Override
+    public boolean isSearchable(int column) throws SQLException {
+        return true;
+    }
+
+    @Override
+    public boolean isCurrency(int column) throws SQLException {
+        return false;
+    }
+
+    @Override
+    public int isNullable(int column) throws SQLException {
+        return columnNullableUnknown;
+    }
+
+    @Override
+    public boolean isSigned(int column) throws SQLException {
+        return switch (result.getColumnType(column)) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT, Types.DECIMAL, Types.NUMERIC, Types.REAL, Types.FLOAT, Types.DOUBLE -> true;
+            default -> false;
+        };
+    }
+
+    @Override
+    public int getColumnDisplaySize(int column) throws SQLException {
+        return 0;
+    }
+
+    @Override
+    public String getColumnLabel(int column) throws SQLException {
+        return result.getColumnLabel(column);
+    }
+
+    @Override
+    public String getColumnName(int column) throws SQLException {
+        return result.getColumnLabel(column);
+    }
+
+    @Override
+    public String getSchemaName(int column) throws SQLException {
+        return "";
+    }
+
+    @Override
+    public int getPrecision(int column) throws SQLException {
+        return 0;
+    }
+
+    @Override
+    public int getScale(int column) throws SQLException {
+        return 0;
+    }
+
+    @Override
+    public String getTableName(int column) throws SQLException {
+        return "";
+    }
+
+    @Override
+    public String getCatalogName(int column) throws SQLException {
+        return "";
+    }
+
+    @Override
+    public int getColumnType(int column) throws SQLException {
+        return result.getColumnType(column);
+    }
+
+    @Override
+    public String getColumnTypeName(int column) throws SQLException {
+        return JDBCType.valueOf(result.getColumnType(column)).getName();
+    }
+
+    @Override
+    public boolean isReadOnly(int column) throws SQLException {
+        return true;
+    }
+
+    @Override
+    public boolean isWritable(int column) throws SQLException {
+        return false;
+    }
+
+    @Override
+    public boolean isDefinitelyWritable(int column) throws SQLException {
+        return false;
+    }
+
+    @Override
+    public String getColumnClassName(int column) throws SQLException {
+        return switch (result.getColumnType(column)) {
+            case Types.INTEGER -> Integer.class.getName();
+            case Types.BIGINT -> Long.class.getName();
+            case Types.DECIMAL, Types.NUMERIC -> BigDecimal.class.getName();
+            case Types.BOOLEAN -> Boolean.class.getName();
+            case Types.TIMESTAMP -> Timestamp.class.getName();
+            default -> String.class.getName();
+        };
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws java.sql.SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws java.sql.SQLException {
+        return iface.isInstance(this);
+    }
+}
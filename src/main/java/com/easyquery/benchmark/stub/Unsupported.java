@@ -0,0 +1,13 @@
+package com.easyquery.benchmark.stub;
+
+import java.sql.SQLFeatureNotSupportedException;
+
+final class Unsupported {
+
+    private Unsupported() {
+    }
+
+    static SQLFeatureNotSupportedException method(String name) {
+        return new SQLFeatureNotSupportedException(name + " is not supported by the stub driver");
+    }
+}
@@ -23,5 +23,32 @@ CREATE INDEX idx_order_user_id ON t_order(user_id);
 CREATE INDEX idx_order_no ON t_order(order_no);
 CREATE INDEX idx_order_status ON t_order(status);
 
+CREATE TABLE IF NOT EXISTS t_wide_user (
+    id VARCHAR(36) PRIMARY KEY,
+    username VARCHAR(50) NOT NULL,
+    email VARCHAR(100),
+    age INT,
+    phone VARCHAR(20),
+    address VARCHAR(200),
+    text1 VARCHAR(100),
+    text2 VARCHAR(100),
+    text3 VARCHAR(100),
+    text4 VARCHAR(100),
+    text5 VARCHAR(100),
+    text6 VARCHAR(100),
+    text7 VARCHAR(100),
+    text8 VARCHAR(100),
+    number1 INT,
+    number2 INT,
+    number3 INT,
+    number4 INT,
+    number5 INT,
+    number6 INT,
+    amount1 DECIMAL(10, 2),
+    amount2 DECIMAL(10, 2),
+    amount3 DECIMAL(10, 2),
+    amount4 DECIMAL(10, 2)
+);
+
 
 